@@ -0,0 +1,53 @@
+package com.quiz.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated question banks and players for the benchmarks.
+ */
+final class Banks {
+    static final String[] CATEGORIES = {
+        "BWL", "Digitaltechnik", "Elektrotechnik", "Netzwerktechnik", "Datenbanken", "Programmierung"
+    };
+
+    private Banks() {
+    }
+
+    /**
+     * Create a bank with the questions spread evenly over the categories.
+     *
+     * @param size Total number of questions
+     * @return Questions by category
+     */
+    static Map<String, List<Question>> create(int size) {
+        Map<String, List<Question>> bank = new LinkedHashMap<>();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            int count = size / CATEGORIES.length + (c < size % CATEGORIES.length ? 1 : 0);
+            List<Question> questions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                questions.add(new Question(CATEGORIES[c], CATEGORIES[c] + " question " + i + "?",
+                        Arrays.asList("A" + i, "B" + i, "C" + i, "D" + i), i % 4));
+            }
+            bank.put(CATEGORIES[c], questions);
+        }
+        return bank;
+    }
+
+    /**
+     * Create players for a game.
+     *
+     * @param count Number of players
+     * @return The players
+     */
+    static Player[] players(int count) {
+        Player[] players = new Player[count];
+        for (int i = 0; i < count; i++) {
+            players[i] = new Player("Player " + i, "player" + i);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,41 @@
+package com.quiz.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Question accessors used when a question is shown and answered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionBenchmark {
+    private final Question question = new Question("Datenbanken", "Was ist ein Fremdschluessel?",
+            Arrays.asList("Ein Index", "Ein Verweis auf einen Primaerschluessel", "Ein Trigger", "Eine Sicht"), 1);
+    private int answer;
+
+    @Benchmark
+    public List<String> getOptions() {
+        return question.getOptions();
+    }
+
+    @Benchmark
+    public boolean isCorrectAnswer() {
+        answer = (answer + 1) & 3;
+        return question.isCorrectAnswer(answer);
+    }
+}
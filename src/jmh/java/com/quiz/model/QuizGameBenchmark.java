@@ -0,0 +1,88 @@
+package com.quiz.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of creating, saving and loading a game with its question bank.
+ * Saving and loading use Java serialization like the File menu, and the snapshot
+ * codec for comparison. Ten million questions take seconds per save; add them with
+ * {@code -p bankSize=10000000}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QuizGameBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int bankSize;
+
+    private Map<String, List<Question>> bank;
+    private QuizGame game;
+    private byte[] serialized;
+    private byte[] snapshot;
+
+    @Setup(Level.Trial)
+    public void createGame() throws IOException {
+        bank = Banks.create(bankSize);
+        game = new QuizGame(Banks.players(4));
+        game.setQuestionsByCategory(bank);
+        serialized = save();
+        snapshot = GameSnapshotCodec.encode(game, true);
+    }
+
+    @Benchmark
+    public QuizGame construct() {
+        QuizGame created = new QuizGame(Banks.players(4));
+        created.setQuestionsByCategory(bank);
+        return created;
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(game);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public QuizGame load() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (QuizGame) in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshot() {
+        return GameSnapshotCodec.encode(game, true);
+    }
+
+    @Benchmark
+    public QuizGame decodeSnapshot() throws IOException {
+        return GameSnapshotCodec.decode(snapshot);
+    }
+}
@@ -0,0 +1,82 @@
+package com.quiz.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the QuizModel operations run on every turn, at bank sizes from a
+ * hundred to ten million questions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QuizModelBenchmark {
+    // Moves between two fresh games; keeps the undo history from growing without bound
+    private static final int MOVES_PER_GAME = 1024;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int bankSize;
+
+    private Map<String, List<Question>> bank;
+    private QuizModel model;
+    private Question question;
+    private int moves;
+
+    @Setup(Level.Trial)
+    public void createBank() {
+        bank = Banks.create(bankSize);
+        question = bank.get("Datenbanken").get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void startGame() {
+        model = new QuizModel();
+        QuizGame game = new QuizGame(Banks.players(4));
+        game.setQuestionsByCategory(bank);
+        model.setGame(game, 42);
+        moves = 0;
+    }
+
+    @Benchmark
+    public Question getRandomQuestion() {
+        return model.getRandomQuestion("Datenbanken");
+    }
+
+    @Benchmark
+    public boolean submitAnswer() {
+        limitHistory();
+        // Correct answers cost no lives, so the game never ends
+        return model.submitAnswer(question, question.getCorrectOptionIndex());
+    }
+
+    @Benchmark
+    public Player nextTurn() {
+        limitHistory();
+        model.nextTurn();
+        return model.getGame().getCurrentPlayer();
+    }
+
+    private void limitHistory() {
+        if (++moves == MOVES_PER_GAME) {
+            model.setGame(model.getGame(), 42);
+            moves = 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.quiz.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Leaderboard with one million players under a mixed load:
+ * six threads recording results, three asking for ranks and one for the top ten.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LeaderboardBenchmark {
+    private static final int PLAYERS = 1_000_000;
+
+    private Leaderboard leaderboard;
+
+    @Setup(Level.Trial)
+    public void load() {
+        leaderboard = new Leaderboard();
+        for (int i = 0; i < PLAYERS; i++) {
+            leaderboard.record("player-" + i, "Player " + i, i % 3 == 0, i % 11, 10);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = "player-" + random.nextInt(PLAYERS);
+        leaderboard.record(id, id, random.nextBoolean(), random.nextInt(11), 10);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public int rankOf() {
+        return leaderboard.rankOf("player-" + ThreadLocalRandom.current().nextInt(PLAYERS));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<Leaderboard.Standing> top() {
+        return leaderboard.top(10);
+    }
+}
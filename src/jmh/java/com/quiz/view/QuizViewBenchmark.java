@@ -0,0 +1,101 @@
+package com.quiz.view;
+
+import com.quiz.model.Player;
+import com.quiz.model.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the view update paths: displayQuestion, updateScores and clearSelection.
+ * Each update is followed by the layout and painting it causes, drawn into an offscreen image.
+ * The GamePanel is never displayed, so it runs headless and the benchmark thread may own it.
+ * Run with {@code -prof gc} for the bytes allocated per update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class QuizViewBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int QUESTIONS = 64;
+    private static final int PLAYERS = 4;
+
+    private final List<Question> questions = new ArrayList<>();
+    private final Player[] players = new Player[PLAYERS];
+    private GamePanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private int run;
+
+    @Setup
+    public void createPanel() {
+        for (int i = 0; i < QUESTIONS; i++) {
+            StringBuilder text = new StringBuilder("Question " + i + ":");
+            // Mix short questions with long ones that wrap over several lines
+            for (int w = 0; w < (i % 4) * 25; w++) {
+                text.append(" word").append(w);
+            }
+            questions.add(new Question("Programmierung", text.append('?').toString(),
+                    Arrays.asList("Answer A " + i, "Answer B " + i, "Answer C " + i, "Answer D " + i), i % 4));
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new Player("Player " + i, "player" + i);
+        }
+        panel = new GamePanel();
+        panel.setCategories(new String[]{"BWL", "Datenbanken", "Programmierung"});
+        panel.setSize(WIDTH, HEIGHT);
+        RepaintManager.currentManager(panel).setDoubleBufferingEnabled(false);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void disposeGraphics() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public void displayQuestion() {
+        panel.displayQuestion(questions.get(run++ % QUESTIONS));
+        layoutAndPaint();
+    }
+
+    @Benchmark
+    public void updateScores() {
+        Player current = players[run++ % PLAYERS];
+        current.setScore(run % 4);
+        panel.updateScores(players, current);
+        layoutAndPaint();
+    }
+
+    @Benchmark
+    public void clearSelection() {
+        panel.clearSelection();
+        layoutAndPaint();
+    }
+
+    private void layoutAndPaint() {
+        panel.validate();
+        panel.paint(graphics);
+    }
+}
@@ -1,10 +1,27 @@
 package com.quiz;
 
 import com.quiz.controller.QuizController;
+import com.quiz.model.PlayerProfileStore;
+import com.quiz.model.Question;
 import com.quiz.model.QuizModel;
+import com.quiz.util.ConfigManager;
+import com.quiz.util.Metrics;
+import com.quiz.util.QuestionLoader;
+import com.quiz.util.StartupTimer;
 import com.quiz.view.QuizView;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Main entry point for the Quiz Application.
@@ -14,23 +31,83 @@ public class QuizApplication {
 
     /**
      * Main method to start the application.
+     * The window is shown as soon as it is built; the question bank loads in the background
+     * meanwhile. The duration of each startup phase is logged.
      *
      * @param args Command line arguments (not used)
      */
     public static void main(String[] args) {
+        StartupTimer startup = new StartupTimer();
+        startup.recordSinceLaunch("JVM start to main ("
+                + ManagementFactory.getClassLoadingMXBean().getLoadedClassCount() + " classes)");
+
+        // The logging configuration is not in the default location
+        if (System.getProperty("log4j.configurationFile") == null) {
+            System.setProperty("log4j.configurationFile", "config/log4j2.xml");
+        }
+        long loggingStart = startup.start();
+        Logger log = LogManager.getLogger(QuizApplication.class);
+        startup.record("Logging setup", loggingStart);
+        Metrics.registerMBeans();
+
+        // Load the question bank while the window is being built
+        CompletableFuture<Map<String, List<Question>>> bank = CompletableFuture.supplyAsync(() -> {
+            long bankStart = startup.start();
+            try {
+                Map<String, List<Question>> questions = QuestionLoader.loadDirectory(
+                        Paths.get(ConfigManager.getQuestionsPath()), ConfigManager.getQuestionsExtension());
+                startup.record("Question bank load", bankStart);
+                return questions;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
         // Use Event Dispatch Thread for thread safety in Swing
         SwingUtilities.invokeLater(() -> {
+            // Create view and display it right away
+            long uiStart = startup.start();
+            QuizView view = new QuizView();
+            startup.record("UI build", uiStart);
+            view.setVisible(true);
+            startup.recordSinceLaunch("Window visible");
+
             // Create model
+            long modelStart = startup.start();
             QuizModel model = new QuizModel();
-
-            // Create view
-            QuizView view = new QuizView();
+            // Profiles are written on their own thread so finishing a game does not wait for the disk
+            ExecutorService profileWriter = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "profile-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            model.setProfileStore(new PlayerProfileStore(
+                    Paths.get(ConfigManager.getProfilesPath()), ConfigManager.getProfileCacheSize()),
+                    profileWriter, error -> {
+                        log.error("Failed to save player profiles", error);
+                        SwingUtilities.invokeLater(() -> view.showErrorDialog("Error",
+                                "Failed to save player profiles: " + error.getMessage()));
+                    });
 
             // Create controller (binds model and view together)
             new QuizController(model, view);
+            startup.record("Model and controller", modelStart);
 
-            // Display the view
-            view.setVisible(true);
+            bank.whenComplete((questions, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    log.error("Failed to load questions", error);
+                    view.showErrorDialog("Error", "Failed to load questions: " + error.getMessage());
+                } else {
+                    model.setQuestionBank(questions);
+                    if (model.getGame() == null) {
+                        view.setCategories(model.getCategories());
+                    }
+                    log.info("Loaded {} questions in {} categories",
+                            questions.values().stream().mapToInt(List::size).sum(), questions.size());
+                }
+                startup.recordSinceLaunch("Startup complete");
+                log.info("Startup phases:{}{}", System.lineSeparator(), startup.summary());
+            }));
         });
     }
 }
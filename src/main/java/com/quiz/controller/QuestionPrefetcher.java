@@ -0,0 +1,137 @@
+package com.quiz.controller;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizModel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps the next questions of each player ready before they are needed.
+ * Questions are drawn from the model on the event dispatch thread, so sampling stays
+ * deterministic and recorded, while loading them (e.g. from a disk- or network-backed
+ * bank) happens on a background executor. When a player's turn comes, the question is
+ * usually complete already and the event dispatch thread only has to display it.
+ * Questions are only drawn here; the caller reports the ones it shows with
+ * {@link QuizModel#questionServed(Question)}, so dropped questions are not counted as served.
+ * All methods must be called on the event dispatch thread.
+ */
+public class QuestionPrefetcher {
+    private final QuizModel model;
+    private final Executor executor;
+    private final UnaryOperator<Question> loader;
+    private final int depth;
+    private final Map<Integer, Deque<Prefetched>> queues = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for QuestionPrefetcher.
+     *
+     * @param model The model questions are drawn from
+     * @param executor Executor loading the questions
+     * @param loader Completes a drawn question, e.g. by fetching its full text; runs on the executor
+     * @param depth Number of questions to keep ready per player
+     */
+    public QuestionPrefetcher(QuizModel model, Executor executor, UnaryOperator<Question> loader, int depth) {
+        this.model = model;
+        this.executor = executor;
+        this.loader = loader;
+        this.depth = Math.max(1, depth);
+    }
+
+    /**
+     * Get the next question of a player.
+     * The returned future is normally complete; if nothing was prefetched for this
+     * player and category, a question is drawn and loaded now.
+     *
+     * @param playerIndex Index of the player
+     * @param category The category to ask from
+     * @return The question, or a future completing with null if the category has no questions
+     */
+    public CompletableFuture<Question> take(int playerIndex, String category) {
+        Deque<Prefetched> queue = queues.get(playerIndex);
+        if (queue != null) {
+            Prefetched next = queue.poll();
+            if (next != null && next.category.equals(category)) {
+                if (next.question.isDone()) {
+                    hits++;
+                } else {
+                    misses++;
+                }
+                return next.question;
+            }
+            // The player switched categories; the questions drawn for the old one are of no use
+            queue.clear();
+        }
+        misses++;
+        return load(category);
+    }
+
+    /**
+     * Make sure a player has questions ready in a category.
+     *
+     * @param playerIndex Index of the player
+     * @param category The category the player is likely to ask from next
+     */
+    public void prefetch(int playerIndex, String category) {
+        Deque<Prefetched> queue = queues.computeIfAbsent(playerIndex, i -> new ArrayDeque<>());
+        if (!queue.isEmpty() && !queue.peekFirst().category.equals(category)) {
+            queue.clear();
+        }
+        while (queue.size() < depth) {
+            queue.add(new Prefetched(category, load(category)));
+        }
+    }
+
+    /**
+     * Drop all prefetched questions, e.g. when a new game starts or questions were added.
+     */
+    public void clear() {
+        queues.clear();
+    }
+
+    private CompletableFuture<Question> load(String category) {
+        Question drawn = model.drawQuestion(category);
+        if (drawn == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> loader.apply(drawn), executor);
+    }
+
+    /**
+     * Get the number of questions that were ready when they were needed.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of questions that were not ready when they were needed.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * A question drawn for a category, possibly still loading.
+     */
+    private static final class Prefetched {
+        private final String category;
+        private final CompletableFuture<Question> question;
+
+        Prefetched(String category, CompletableFuture<Question> question) {
+            this.category = category;
+            this.question = question;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.quiz.controller;
 
 import com.quiz.model.*;
+import com.quiz.util.ConfigManager;
+import com.quiz.util.FlightEvents;
+import com.quiz.util.Metrics;
 import com.quiz.view.QuizView;
 import com.quiz.view.QuestionEditorDialog;
 
@@ -8,15 +11,28 @@ import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.*;
+import java.util.BitSet;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main controller for the Quiz application.
  * Mediates between Model and View, handling all user interactions.
  */
-public class QuizController implements ActionListener, QuizModel.ModelObserver {
+public class QuizController implements ActionListener, QuizModel.ModelListener {
     private QuizModel model;
     private QuizView view;
     private Question currentQuestion;
+    private Timer answerTimer;
+    private final Queue<ModelEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean viewUpdateScheduled = new AtomicBoolean();
+    private long viewUpdateCount;
+    private final QuestionPrefetcher prefetcher;
+    private int questionRequest;
 
     /**
      * Constructor for QuizController.
@@ -29,12 +45,27 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
         this.view = view;
 
         // Register as observer to model changes
-        model.addObserver(this);
+        model.addModelListener(this);
 
         // Add action listeners to view components
         view.addMenuListener(this);
         view.addButtonListener(this);
 
+        // Answer deadline, restarted whenever a question is displayed
+        int timePerQuestion = ConfigManager.getTimePerQuestion();
+        if (timePerQuestion > 0) {
+            answerTimer = new Timer(timePerQuestion * 1000, e -> handleAnswerTimeout());
+            answerTimer.setRepeats(false);
+        }
+
+        // Questions are loaded ahead on a background thread
+        ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "question-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prefetcher = new QuestionPrefetcher(model, loader, question -> question, ConfigManager.getPrefetchDepth());
+
         // Initial setup
         updateViewFromModel();
     }
@@ -54,7 +85,11 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
             handleExit();
         }
         // Edit Menu
-        else if (source == view.getEditQuestionsItem()) {
+        else if (source == view.getUndoItem()) {
+            handleUndo();
+        } else if (source == view.getRedoItem()) {
+            handleRedo();
+        } else if (source == view.getEditQuestionsItem()) {
             handleEditQuestions();
         } else if (source == view.getSettingsItem()) {
             handleSettings();
@@ -77,21 +112,28 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
      * Handle new game initialization.
      */
     private void handleNewGame() {
-        String[] playerInfo = view.showNewGameDialog();
-
-        if (playerInfo != null && playerInfo.length == 4) {
-            String player1Name = playerInfo[0].trim();
-            String player1NetName = playerInfo[1].trim();
-            String player2Name = playerInfo[2].trim();
-            String player2NetName = playerInfo[3].trim();
-
-            if (player1Name.isEmpty() || player2Name.isEmpty()) {
-                view.showErrorDialog("Error", "Player names cannot be empty");
-                return;
+        int numPlayers = ConfigManager.getNumPlayers();
+        String[] playerInfo = view.showNewGameDialog(numPlayers);
+
+        if (playerInfo != null && playerInfo.length == numPlayers * 2) {
+            String[] names = new String[numPlayers];
+            String[] netNames = new String[numPlayers];
+            for (int i = 0; i < numPlayers; i++) {
+                names[i] = playerInfo[i * 2].trim();
+                netNames[i] = playerInfo[i * 2 + 1].trim();
+                if (names[i].isEmpty()) {
+                    view.showErrorDialog("Error", "Player names cannot be empty");
+                    return;
+                }
             }
 
             // Initialize the game
-            model.initializeGame(player1Name, player1NetName, player2Name, player2NetName);
+            try {
+                model.initializeGame(names, netNames);
+            } catch (UncheckedIOException e) {
+                view.showErrorDialog("Error", "Failed to load player profiles: " + e.getMessage());
+                return;
+            }
             view.showInfoDialog("Success", "Game initialized. Player 1 starts!");
 
             // Load a question from the first category
@@ -108,31 +150,77 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
             return;
         }
 
-        // Try to get a question from the current category (first tab)
-        String[] categories = model.getCategories();
-        if (categories.length == 0) {
+        // Ask from the category of the selected tab
+        String selectedCategory = view.getSelectedCategory();
+        if (selectedCategory == null) {
             view.showErrorDialog("Error", "No categories available");
             return;
         }
 
-        int selectedTab = view.getCategoryTabs().getSelectedIndex();
-        String selectedCategory = categories[Math.max(0, selectedTab)];
+        int request = ++questionRequest;
+        CompletableFuture<Question> next = prefetcher.take(model.getGame().getCurrentPlayerIndex(), selectedCategory);
+        if (next.isDone()) {
+            showQuestion(request, selectedCategory, next);
+        } else {
+            // Still loading; display it as soon as it arrives unless another question was requested meanwhile
+            currentQuestion = null;
+            next.whenComplete((question, error) ->
+                    SwingUtilities.invokeLater(() -> showQuestion(request, selectedCategory, next)));
+        }
+    }
 
-        currentQuestion = model.getRandomQuestion(selectedCategory);
+    /**
+     * Display a loaded question and start preparing the following ones.
+     *
+     * @param request The load request the question belongs to
+     * @param category The category of the question
+     * @param loaded The completed question
+     */
+    private void showQuestion(int request, String category, CompletableFuture<Question> loaded) {
+        if (request != questionRequest || model.getGame() == null) {
+            return;
+        }
+        try {
+            currentQuestion = loaded.join();
+        } catch (RuntimeException e) {
+            view.showErrorDialog("Error", "Failed to load question: " + e.getMessage());
+            return;
+        }
 
         if (currentQuestion == null) {
-            view.showErrorDialog("No Questions", "No questions available in category: " + selectedCategory);
+            view.showErrorDialog("No Questions", "No questions available in category: " + category);
             return;
         }
 
+        model.questionServed(currentQuestion);
         view.displayQuestion(currentQuestion);
         view.clearSelection();
+        if (answerTimer != null) {
+            answerTimer.restart();
+        }
+
+        // The current player may answer again, otherwise it is the next player's turn
+        prefetcher.prefetch(model.getGame().getCurrentPlayerIndex(), category);
+        prefetcher.prefetch(model.getGame().getNextPlayerIndex(), category);
+    }
+
+    /**
+     * Get the prefetcher preparing upcoming questions.
+     *
+     * @return The question prefetcher
+     */
+    public QuestionPrefetcher getPrefetcher() {
+        return prefetcher;
     }
 
     /**
      * Handle answer submission.
      */
     private void handleSubmitAnswer() {
+        if (model.isGameOver()) {
+            view.showInfoDialog("Game Over!", "The game is over. Start a new game to play again.");
+            return;
+        }
         if (currentQuestion == null) {
             view.showErrorDialog("Error", "No question loaded");
             return;
@@ -144,6 +232,7 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
             return;
         }
 
+        stopAnswerTimer();
         boolean isCorrect = model.submitAnswer(currentQuestion, selectedIndex);
 
         if (isCorrect) {
@@ -166,6 +255,37 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
         view.clearSelection();
     }
 
+    /**
+     * Handle a question that was not answered in time.
+     */
+    private void handleAnswerTimeout() {
+        if (currentQuestion == null || model.getGame() == null) {
+            return;
+        }
+
+        currentQuestion = null;
+        model.timeoutAnswer();
+        Player currentPlayer = model.getCurrentPlayer();
+        view.showInfoDialog("Time's up", "Time's up! Lives remaining: " + currentPlayer.getScore());
+
+        if (model.isGameOver()) {
+            Player winner = model.getWinner();
+            view.showInfoDialog("Game Over!", "Game Over! Winner: " + winner.getName());
+            return;
+        }
+
+        loadRandomQuestion();
+    }
+
+    /**
+     * Stop the answer deadline of the current question.
+     */
+    private void stopAnswerTimer() {
+        if (answerTimer != null) {
+            answerTimer.stop();
+        }
+    }
+
     /**
      * Handle next question button.
      */
@@ -175,10 +295,14 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
             return;
         }
 
-        // Switch to next player
+        if (model.isGameOver()) {
+            view.showInfoDialog("Game Over!", "The game is over. Start a new game to play again.");
+            return;
+        }
+
+        // Switch to next player; the view follows through modelEvent
         model.nextTurn();
         loadRandomQuestion();
-        updateViewFromModel();
     }
 
     /**
@@ -195,8 +319,17 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
 
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = fileChooser.getSelectedFile();
+            FlightEvents.GameSaved event = new FlightEvents.GameSaved();
+            event.begin();
+            long start = System.nanoTime();
             try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
                 oos.writeObject(model.getGame());
+                oos.flush();
+                Metrics.SAVE.record(System.nanoTime() - start);
+                if (event.shouldCommit()) {
+                    event.file = file.getPath();
+                    event.commit();
+                }
                 view.showInfoDialog("Success", "Game saved successfully!");
             } catch (IOException e) {
                 view.showErrorDialog("Error", "Failed to save game: " + e.getMessage());
@@ -213,19 +346,30 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
 
         if (result == JFileChooser.APPROVE_OPTION) {
             File file = fileChooser.getSelectedFile();
+            FlightEvents.GameLoaded event = new FlightEvents.GameLoaded();
+            event.begin();
+            long start = System.nanoTime();
             try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
                 QuizGame loadedGame = (QuizGame) ois.readObject();
+                if (loadedGame.getPlayerCount() == 0) {
+                    throw new InvalidObjectException("The saved game has no players");
+                }
                 // Create a new model with the loaded game
-                model.getGame().setPlayer1(loadedGame.getPlayer1());
-                model.getGame().setPlayer2(loadedGame.getPlayer2());
+                model.getGame().setPlayers(loadedGame.getPlayers());
                 model.getGame().setCurrentPlayer(loadedGame.getCurrentPlayer());
                 model.getGame().setCurrentQuestionIndex(loadedGame.getCurrentQuestionIndex());
 
-                // Update view with loaded game
-                updateViewFromModel();
+                // Publish the loaded game; the view follows through modelEvent
+                model.setGame(model.getGame());
+                Metrics.LOAD.record(System.nanoTime() - start);
+                if (event.shouldCommit()) {
+                    event.file = file.getPath();
+                    event.commit();
+                }
                 view.showInfoDialog("Success", "Game loaded successfully!");
                 loadRandomQuestion();
-            } catch (IOException | ClassNotFoundException e) {
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                // Unreadable or invalid saves end up here, including files that hold no game
                 view.showErrorDialog("Error", "Failed to load game: " + e.getMessage());
             }
         }
@@ -240,6 +384,46 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
         }
     }
 
+    /**
+     * Handle undo, e.g. to take back an accidental answer.
+     */
+    private void handleUndo() {
+        if (model.getGame() == null || !model.undo()) {
+            view.showInfoDialog("Undo", "Nothing to undo.");
+            return;
+        }
+        continueAfterHistoryChange();
+    }
+
+    /**
+     * Handle redo.
+     */
+    private void handleRedo() {
+        if (model.getGame() == null || !model.redo()) {
+            view.showInfoDialog("Redo", "Nothing to redo.");
+            return;
+        }
+        continueAfterHistoryChange();
+    }
+
+    /**
+     * Bring the question and its deadline in line with the game after undo or redo.
+     * The question on screen belonged to the state that was left, so the current player gets a new one,
+     * unless the game is over now.
+     */
+    private void continueAfterHistoryChange() {
+        stopAnswerTimer();
+        if (model.isGameOver()) {
+            // Drop the question on screen and any still loading
+            currentQuestion = null;
+            questionRequest++;
+            Player winner = model.getWinner();
+            view.showInfoDialog("Game Over!", "Game Over! Winner: " + (winner == null ? "nobody" : winner.getName()));
+            return;
+        }
+        loadRandomQuestion();
+    }
+
     /**
      * Handle edit questions.
      */
@@ -250,10 +434,9 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
         }
 
         String[] categories = model.getCategories();
-        view.showQuestionEditor(categories);
-
-        // Note: In a real application, you would get the question from the editor
-        // and add it to the model. For now, this is a placeholder.
+        // The editor works on a snapshot; edits reach the game through the model
+        view.showQuestionEditor(categories,
+                new QuestionBankStore(model.getState().getQuestionsByCategory(), categories, model::replaceQuestion));
     }
 
     /**
@@ -271,8 +454,8 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
                 "1. Click 'New Game' to start\n" +
                 "2. Enter player names\n" +
                 "3. Select a category and answer questions\n" +
-                "4. Each wrong answer costs a life\n" +
-                "5. Player with remaining lives wins!";
+                "4. Each wrong or late answer costs a life\n" +
+                "5. The last player with remaining lives wins!";
         view.showInfoDialog("Help", helpText);
     }
 
@@ -281,29 +464,85 @@ public class QuizController implements ActionListener, QuizModel.ModelObserver {
      */
     private void handleAbout() {
         String aboutText = "Quiz Application v1.0\n" +
-                "A two-player educational quiz game\n" +
+                "A multi-player educational quiz game\n" +
                 "Built with Java Swing";
         view.showInfoDialog("About", aboutText);
     }
 
     /**
-     * Update the view to reflect current model state.
+     * Update the view to reflect a model change.
+     * All changes made during one pass of the event dispatch thread are applied together,
+     * behind the current event, touching only the labels that changed.
      */
     @Override
-    public void modelChanged() {
-        updateViewFromModel();
+    public void modelEvent(ModelEvent event) {
+        if (event instanceof ModelEvent.GameReset || event instanceof ModelEvent.QuestionAdded
+                || event instanceof ModelEvent.QuestionReplaced) {
+            // New players or changed questions; questions drawn before are stale
+            if (SwingUtilities.isEventDispatchThread()) {
+                prefetcher.clear();
+            } else {
+                SwingUtilities.invokeLater(prefetcher::clear);
+            }
+        }
+        pendingEvents.add(event);
+        if (viewUpdateScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::applyPendingEvents);
+        }
+    }
+
+    /**
+     * Apply the changes collected since the last view update.
+     */
+    private void applyPendingEvents() {
+        viewUpdateScheduled.set(false);
+        boolean fullRefresh = false;
+        boolean turnChanged = false;
+        BitSet changedScores = new BitSet();
+        ModelEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            if (event instanceof ModelEvent.GameReset) {
+                fullRefresh = true;
+            } else if (event instanceof ModelEvent.ScoreChanged) {
+                changedScores.set(((ModelEvent.ScoreChanged) event).getPlayerIndex());
+            } else if (event instanceof ModelEvent.TurnChanged) {
+                turnChanged = true;
+            }
+            // Added questions and the end of the game do not show in the score panel
+        }
+        if (fullRefresh) {
+            updateViewFromModel();
+        } else if ((turnChanged || !changedScores.isEmpty()) && model.getGame() != null) {
+            viewUpdateCount++;
+            for (int i = changedScores.nextSetBit(0); i >= 0; i = changedScores.nextSetBit(i + 1)) {
+                view.updatePlayerScore(i, model.getGame().getPlayer(i));
+            }
+            if (turnChanged) {
+                view.updateCurrentPlayer(model.getGame().getCurrentPlayer());
+            }
+        }
+    }
+
+    /**
+     * Get the number of times the view was synchronized with the model.
+     *
+     * @return The number of view updates
+     */
+    public long getViewUpdateCount() {
+        return viewUpdateCount;
     }
 
     /**
      * Synchronize view with current model state.
      */
     private void updateViewFromModel() {
+        viewUpdateCount++;
+        view.setCategories(model.getCategories());
         if (model.getGame() != null) {
-            Player player1 = model.getGame().getPlayer1();
-            Player player2 = model.getGame().getPlayer2();
+            Player[] players = model.getGame().getPlayers();
             Player currentPlayer = model.getGame().getCurrentPlayer();
 
-            view.updateScores(player1, player2, currentPlayer);
+            view.updateScores(players, currentPlayer);
         }
     }
 
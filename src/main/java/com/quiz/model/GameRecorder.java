@@ -0,0 +1,87 @@
+package com.quiz.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the commands applied to a QuizModel so the game can be replayed later.
+ * Attach it with {@link QuizModel#setRecorder(GameRecorder)}; recording starts over with
+ * every new game. Like the model, a recorder must only be used by the game's thread.
+ */
+public final class GameRecorder {
+    private byte[] start;
+    private long seed;
+    private List<GameRecording.Command> commands = new ArrayList<>();
+
+    void start(QuizGame game, long seed) {
+        this.start = GameSnapshotCodec.encode(game, false);
+        this.seed = seed;
+        this.commands = new ArrayList<>();
+    }
+
+    void draw(String category, int questionIndex) {
+        add(new GameRecording.Command(GameRecording.CommandType.DRAW, category, questionIndex, -1, null));
+    }
+
+    void answer(String category, int questionIndex, Question question, int answerIndex) {
+        // Questions outside the bank are stored in full
+        add(new GameRecording.Command(GameRecording.CommandType.ANSWER, category, questionIndex, answerIndex,
+                questionIndex < 0 ? question : null));
+    }
+
+    void timeout() {
+        add(new GameRecording.Command(GameRecording.CommandType.TIMEOUT, null, -1, -1, null));
+    }
+
+    void nextTurn() {
+        add(new GameRecording.Command(GameRecording.CommandType.NEXT_TURN, null, -1, -1, null));
+    }
+
+    void reset() {
+        add(new GameRecording.Command(GameRecording.CommandType.RESET, null, -1, -1, null));
+    }
+
+    void addQuestion(String category, Question question) {
+        add(new GameRecording.Command(GameRecording.CommandType.ADD_QUESTION, category, -1, -1, question));
+    }
+
+    void replaceQuestion(String category, int index, Question question) {
+        add(new GameRecording.Command(GameRecording.CommandType.REPLACE_QUESTION, category, index, -1, question));
+    }
+
+    void undo() {
+        add(new GameRecording.Command(GameRecording.CommandType.UNDO, null, -1, -1, null));
+    }
+
+    void redo() {
+        add(new GameRecording.Command(GameRecording.CommandType.REDO, null, -1, -1, null));
+    }
+
+    private void add(GameRecording.Command command) {
+        if (start != null) {
+            commands.add(command);
+        }
+    }
+
+    /**
+     * Check whether a game is being recorded.
+     *
+     * @return true once a game was started with this recorder attached
+     */
+    public boolean isRecording() {
+        return start != null;
+    }
+
+    /**
+     * Get the recording of the current game so far.
+     *
+     * @param finalState The state the game is in now, see {@link QuizModel#getState()}
+     * @return The recording
+     */
+    public GameRecording toRecording(GameState finalState) {
+        if (start == null) {
+            throw new IllegalStateException("No game was recorded");
+        }
+        return new GameRecording(start, seed, new ArrayList<>(commands), GameSnapshotCodec.encode(finalState));
+    }
+}
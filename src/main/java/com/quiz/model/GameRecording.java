@@ -0,0 +1,213 @@
+package com.quiz.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything needed to re-run one game: the starting position, the seed of the question
+ * sampling, every command in order, and the expected final state.
+ * Created by {@link GameRecorder} and re-run by {@link GameReplayer}.
+ */
+public final class GameRecording {
+    private static final int MAGIC = 0x515A5252; // "QZRR"
+    // Version 1 stored the answer index in a single byte
+    private static final byte VERSION = 2;
+
+    /**
+     * Kinds of recorded commands.
+     */
+    enum CommandType {
+        DRAW, ANSWER, TIMEOUT, NEXT_TURN, RESET, ADD_QUESTION, UNDO, REDO, REPLACE_QUESTION
+    }
+
+    /**
+     * One recorded command. Unused fields are -1 or null.
+     */
+    static final class Command {
+        final CommandType type;
+        final String category;
+        final int questionIndex;
+        final int answerIndex;
+        final Question question;
+
+        Command(CommandType type, String category, int questionIndex, int answerIndex, Question question) {
+            this.type = type;
+            this.category = category;
+            this.questionIndex = questionIndex;
+            this.answerIndex = answerIndex;
+            this.question = question;
+        }
+    }
+
+    private final byte[] start;
+    private final long seed;
+    private final List<Command> commands;
+    private final byte[] expectedFinalState;
+
+    GameRecording(byte[] start, long seed, List<Command> commands, byte[] expectedFinalState) {
+        this.start = start;
+        this.seed = seed;
+        this.commands = Collections.unmodifiableList(commands);
+        this.expectedFinalState = expectedFinalState;
+    }
+
+    /**
+     * Get the starting position, encoded with {@link GameSnapshotCodec} without questions.
+     *
+     * @return The encoded starting position
+     */
+    byte[] getStart() {
+        return start;
+    }
+
+    /**
+     * Get the seed the question sampling of the game started from.
+     *
+     * @return The seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    List<Command> getCommands() {
+        return commands;
+    }
+
+    public int getCommandCount() {
+        return commands.size();
+    }
+
+    /**
+     * Check whether a state equals the final state of the recorded game.
+     *
+     * @param state The state to compare
+     * @return true if players, scores and turn are the same
+     */
+    public boolean matchesFinalState(GameState state) {
+        return Arrays.equals(expectedFinalState, GameSnapshotCodec.encode(state));
+    }
+
+    /**
+     * Encode the recording, e.g. to store it with the game result.
+     *
+     * @return The encoded recording
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(start.length + expectedFinalState.length
+                + commands.size() * 4 + 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeInt(start.length);
+            out.write(start);
+            out.writeInt(expectedFinalState.length);
+            out.write(expectedFinalState);
+            out.writeInt(commands.size());
+            for (Command command : commands) {
+                out.writeByte(command.type.ordinal());
+                switch (command.type) {
+                    case DRAW:
+                        GameSnapshotCodec.writeString(out, command.category);
+                        out.writeInt(command.questionIndex);
+                        break;
+                    case ANSWER:
+                        out.writeInt(command.answerIndex);
+                        GameSnapshotCodec.writeString(out, command.category);
+                        out.writeInt(command.questionIndex);
+                        if (command.questionIndex < 0) {
+                            GameSnapshotCodec.writeQuestion(out, command.question);
+                        }
+                        break;
+                    case ADD_QUESTION:
+                        GameSnapshotCodec.writeString(out, command.category);
+                        GameSnapshotCodec.writeQuestion(out, command.question);
+                        break;
+                    case REPLACE_QUESTION:
+                        GameSnapshotCodec.writeString(out, command.category);
+                        out.writeInt(command.questionIndex);
+                        GameSnapshotCodec.writeQuestion(out, command.question);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a recording.
+     *
+     * @param data The encoded recording
+     * @return The recording
+     * @throws IOException If the data is not a valid recording
+     */
+    public static GameRecording fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a game recording");
+            }
+            byte version = in.readByte();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported recording version: " + version);
+            }
+            long seed = in.readLong();
+            byte[] start = new byte[in.readInt()];
+            in.readFully(start);
+            byte[] expectedFinalState = new byte[in.readInt()];
+            in.readFully(expectedFinalState);
+            int count = in.readInt();
+            List<Command> commands = new ArrayList<>(count);
+            CommandType[] types = CommandType.values();
+            for (int i = 0; i < count; i++) {
+                int ordinal = in.readUnsignedByte();
+                if (ordinal >= types.length) {
+                    throw new IOException("Unknown command type: " + ordinal);
+                }
+                CommandType type = types[ordinal];
+                switch (type) {
+                    case DRAW: {
+                        String category = GameSnapshotCodec.readString(in);
+                        commands.add(new Command(type, category, in.readInt(), -1, null));
+                        break;
+                    }
+                    case ANSWER: {
+                        int answerIndex = version == 1 ? in.readByte() : in.readInt();
+                        String category = GameSnapshotCodec.readString(in);
+                        int questionIndex = in.readInt();
+                        Question question = questionIndex < 0 ? GameSnapshotCodec.readQuestion(in, category) : null;
+                        commands.add(new Command(type, category, questionIndex, answerIndex, question));
+                        break;
+                    }
+                    case ADD_QUESTION: {
+                        String category = GameSnapshotCodec.readString(in);
+                        commands.add(new Command(type, category, -1, -1, GameSnapshotCodec.readQuestion(in, category)));
+                        break;
+                    }
+                    case REPLACE_QUESTION: {
+                        String category = GameSnapshotCodec.readString(in);
+                        int questionIndex = in.readInt();
+                        commands.add(new Command(type, category, questionIndex, -1,
+                                GameSnapshotCodec.readQuestion(in, category)));
+                        break;
+                    }
+                    default:
+                        commands.add(new Command(type, null, -1, -1, null));
+                        break;
+                }
+            }
+            return new GameRecording(start, seed, commands, expectedFinalState);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.quiz.model;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-runs a recorded game through a fresh QuizModel, without any user interface,
+ * and checks that it ends the way the original did.
+ */
+public final class GameReplayer {
+
+    private GameReplayer() {
+    }
+
+    /**
+     * Replay a game and verify the result.
+     *
+     * @param recording The recorded game
+     * @param questionBank The question bank the game was played with, or null if all
+     *                     questions were added during the game
+     * @return The final state of the replayed game
+     * @throws ReplayException If the replay diverges from the recording
+     */
+    public static GameState replay(GameRecording recording, Map<String, List<Question>> questionBank) {
+        QuizGame game;
+        try {
+            game = GameSnapshotCodec.decode(recording.getStart());
+        } catch (IOException e) {
+            throw new ReplayException("Invalid starting position", e);
+        }
+        if (questionBank != null) {
+            game.setQuestionsByCategory(questionBank);
+        }
+        QuizModel model = new QuizModel();
+        // The game was counted when it was played
+        model.setInstrumented(false);
+        model.setGame(game, recording.getSeed());
+
+        List<GameRecording.Command> commands = recording.getCommands();
+        for (int i = 0; i < commands.size(); i++) {
+            GameRecording.Command command = commands.get(i);
+            switch (command.type) {
+                case DRAW:
+                    Question drawn = model.drawQuestion(command.category);
+                    if (drawn != questionAt(model, command.category, command.questionIndex)) {
+                        throw new ReplayException("Command " + i + ": drew a different question from "
+                                + command.category);
+                    }
+                    break;
+                case ANSWER:
+                    Question question = command.questionIndex < 0 ? command.question
+                            : questionAt(model, command.category, command.questionIndex);
+                    if (question == null) {
+                        throw new ReplayException("Command " + i + ": question " + command.questionIndex
+                                + " of " + command.category + " does not exist");
+                    }
+                    model.submitAnswer(question, command.answerIndex);
+                    break;
+                case TIMEOUT:
+                    model.timeoutAnswer();
+                    break;
+                case NEXT_TURN:
+                    model.nextTurn();
+                    break;
+                case RESET:
+                    model.resetGame();
+                    break;
+                case ADD_QUESTION:
+                    model.addQuestion(command.category, command.question);
+                    break;
+                case REPLACE_QUESTION:
+                    if (questionAt(model, command.category, command.questionIndex) == null) {
+                        throw new ReplayException("Command " + i + ": question " + command.questionIndex
+                                + " of " + command.category + " does not exist");
+                    }
+                    model.replaceQuestion(command.category, command.questionIndex, command.question);
+                    break;
+                case UNDO:
+                    if (!model.undo()) {
+                        throw new ReplayException("Command " + i + ": nothing to undo");
+                    }
+                    break;
+                case REDO:
+                    if (!model.redo()) {
+                        throw new ReplayException("Command " + i + ": nothing to redo");
+                    }
+                    break;
+                default:
+                    throw new ReplayException("Command " + i + ": unknown type " + command.type);
+            }
+        }
+
+        GameState result = model.getState();
+        if (!recording.matchesFinalState(result)) {
+            throw new ReplayException("Replay ended in a different state: " + result);
+        }
+        return result;
+    }
+
+    private static Question questionAt(QuizModel model, String category, int index) {
+        List<Question> questions = model.getQuestionsForCategory(category);
+        return index >= 0 && index < questions.size() ? questions.get(index) : null;
+    }
+
+    /**
+     * Thrown when a replayed game does not behave like the recorded one.
+     */
+    public static class ReplayException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public ReplayException(String message) {
+            super(message);
+        }
+
+        public ReplayException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
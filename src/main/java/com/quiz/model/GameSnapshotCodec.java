@@ -0,0 +1,189 @@
+package com.quiz.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a QuizGame.
+ * Used for spectator updates and for moving games between processes; unlike Java
+ * serialization the format is explicit, versioned and does not depend on class layout.
+ */
+public final class GameSnapshotCodec {
+    private static final int MAGIC = 0x515A4753; // "QZGS"
+    private static final byte VERSION = 2;
+    private static final byte FLAG_QUESTIONS = 1;
+
+    private GameSnapshotCodec() {
+    }
+
+    /**
+     * Encode the players and turn state of a game.
+     *
+     * @param game The game to encode
+     * @param includeQuestions Whether to include the question bank
+     * @return The encoded snapshot
+     */
+    public static byte[] encode(QuizGame game, boolean includeQuestions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + game.getPlayerCount() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(includeQuestions ? FLAG_QUESTIONS : 0);
+            out.writeInt(game.getPlayerCount());
+            for (int i = 0; i < game.getPlayerCount(); i++) {
+                Player player = game.getPlayer(i);
+                writeString(out, player.getName());
+                writeString(out, player.getNetName());
+                out.writeInt(player.getScore());
+                out.writeInt(player.getCorrectAnswers());
+                out.writeInt(player.getTotalQuestions());
+            }
+            out.writeInt(game.getCurrentPlayerIndex());
+            out.writeInt(game.getCurrentQuestionIndex());
+            if (includeQuestions) {
+                writeQuestions(out, game.getQuestionsByCategory());
+            }
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode the players and turn state of a published game state, without questions.
+     * Produces the same format as {@link #encode(QuizGame, boolean)}, so it can be called
+     * on any thread while the game goes on.
+     *
+     * @param state The state to encode
+     * @return The encoded snapshot
+     */
+    public static byte[] encode(GameState state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + state.getPlayerCount() * 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(0);
+            out.writeInt(state.getPlayerCount());
+            for (int i = 0; i < state.getPlayerCount(); i++) {
+                GameState.PlayerState player = state.getPlayer(i);
+                writeString(out, player.getName());
+                writeString(out, player.getNetName());
+                out.writeInt(player.getScore());
+                out.writeInt(player.getCorrectAnswers());
+                out.writeInt(player.getTotalQuestions());
+            }
+            out.writeInt(state.getCurrentPlayerIndex());
+            out.writeInt(state.getCurrentQuestionIndex());
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a snapshot into a new game.
+     *
+     * @param data The encoded snapshot
+     * @return The decoded game
+     * @throws IOException If the data is not a valid snapshot
+     */
+    public static QuizGame decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a game snapshot");
+            }
+            byte version = in.readByte();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            byte flags = in.readByte();
+            int count = in.readInt();
+            Player[] players = new Player[count];
+            for (int i = 0; i < count; i++) {
+                players[i] = new Player(readString(in), readString(in));
+                players[i].setScore(in.readInt());
+                if (version >= 2) {
+                    players[i].setCorrectAnswers(in.readInt());
+                    players[i].setTotalQuestions(in.readInt());
+                }
+            }
+            QuizGame game = new QuizGame(players);
+            int currentIndex = in.readInt();
+            if (currentIndex >= 0 && currentIndex < count) {
+                game.setCurrentPlayer(players[currentIndex]);
+            }
+            game.setCurrentQuestionIndex(in.readInt());
+            if ((flags & FLAG_QUESTIONS) != 0) {
+                game.setQuestionsByCategory(readQuestions(in));
+            }
+            return game;
+        }
+    }
+
+    private static void writeQuestions(DataOutputStream out, Map<String, List<Question>> questionsByCategory)
+            throws IOException {
+        out.writeInt(questionsByCategory.size());
+        for (Map.Entry<String, List<Question>> entry : questionsByCategory.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Question question : entry.getValue()) {
+                writeQuestion(out, question);
+            }
+        }
+    }
+
+    static void writeQuestion(DataOutputStream out, Question question) throws IOException {
+        writeString(out, question.getText());
+        List<String> options = question.getOptions();
+        out.writeByte(options.size());
+        for (String option : options) {
+            writeString(out, option);
+        }
+        out.writeByte(question.getCorrectOptionIndex());
+    }
+
+    private static Map<String, List<Question>> readQuestions(DataInputStream in) throws IOException {
+        int categoryCount = in.readInt();
+        Map<String, List<Question>> questionsByCategory = new LinkedHashMap<>();
+        for (int c = 0; c < categoryCount; c++) {
+            String category = readString(in);
+            int questionCount = in.readInt();
+            List<Question> questions = new ArrayList<>(questionCount);
+            for (int q = 0; q < questionCount; q++) {
+                questions.add(readQuestion(in, category));
+            }
+            questionsByCategory.put(category, questions);
+        }
+        return questionsByCategory;
+    }
+
+    static Question readQuestion(DataInputStream in, String category) throws IOException {
+        String text = readString(in);
+        int optionCount = in.readUnsignedByte();
+        List<String> options = new ArrayList<>(optionCount);
+        for (int o = 0; o < optionCount; o++) {
+            options.add(readString(in));
+        }
+        return new Question(category, text, options, in.readByte());
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
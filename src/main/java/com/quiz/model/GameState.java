@@ -0,0 +1,243 @@
+package com.quiz.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a game: the players, whose turn it is and whether the game is over.
+ * QuizModel publishes a new snapshot after every change, so any thread can read a consistent
+ * state without locks. A change copies only the small player and turn state; player states
+ * that did not change are shared with the previous snapshot.
+ * The question lists are not copied but shared with the game, which never changes a list it
+ * handed out: adding a question gives its category a new list, so a snapshot keeps the old one.
+ */
+public final class GameState {
+    /** State before any game was started. */
+    public static final GameState EMPTY = new GameState(new PlayerState[0], 0, 0, -1, false,
+            Collections.emptyMap(), 0);
+
+    private final PlayerState[] players;
+    private final int currentPlayerIndex;
+    private final int currentQuestionIndex;
+    private final int winnerIndex;
+    private final boolean gameOver;
+    private final Map<String, List<Question>> questionsByCategory;
+    private final long version;
+
+    private GameState(PlayerState[] players, int currentPlayerIndex, int currentQuestionIndex,
+                      int winnerIndex, boolean gameOver, Map<String, List<Question>> questionsByCategory,
+                      long version) {
+        this.players = players;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentQuestionIndex = currentQuestionIndex;
+        this.winnerIndex = winnerIndex;
+        this.gameOver = gameOver;
+        this.questionsByCategory = questionsByCategory;
+        this.version = version;
+    }
+
+    /**
+     * Take a full snapshot of a game.
+     *
+     * @param game The game, or null for no game
+     * @param version The version of the new state
+     * @return The snapshot
+     */
+    public static GameState of(QuizGame game, long version) {
+        if (game == null) {
+            return new GameState(EMPTY.players, 0, 0, -1, false, EMPTY.questionsByCategory, version);
+        }
+        PlayerState[] players = new PlayerState[game.getPlayerCount()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new PlayerState(game.getPlayer(i));
+        }
+        return new GameState(players, game.getCurrentPlayerIndex(), game.getCurrentQuestionIndex(),
+                game.getWinnerIndex(), game.isGameOver(),
+                questionsOf(game), version);
+    }
+
+    private static Map<String, List<Question>> questionsOf(QuizGame game) {
+        // The lists never change, so copying the map makes the snapshot independent of the game
+        return Collections.unmodifiableMap(new LinkedHashMap<>(game.getQuestionsByCategory()));
+    }
+
+    /**
+     * Derive a state in which one player's score changed.
+     *
+     * @param index Index of the player
+     * @param score The new score
+     * @param correctAnswers The new number of correct answers
+     * @param totalQuestions The new number of answered questions
+     * @param version The version of the new state
+     * @return The new state
+     */
+    public GameState withScore(int index, int score, int correctAnswers, int totalQuestions, long version) {
+        PlayerState[] changed = players.clone();
+        PlayerState old = players[index];
+        changed[index] = new PlayerState(old.name, old.netName, score, correctAnswers, totalQuestions);
+        return new GameState(changed, currentPlayerIndex, currentQuestionIndex, winnerIndex, gameOver,
+                questionsByCategory, version);
+    }
+
+    /**
+     * Derive a state in which the turn passed to another player.
+     *
+     * @param index Index of the player whose turn it is now
+     * @param version The version of the new state
+     * @return The new state
+     */
+    public GameState withCurrentPlayer(int index, long version) {
+        return new GameState(players, index, currentQuestionIndex, winnerIndex, gameOver,
+                questionsByCategory, version);
+    }
+
+    /**
+     * Derive a state in which the game is over.
+     *
+     * @param winnerIndex Index of the winner, or -1 if nobody won
+     * @param version The version of the new state
+     * @return The new state
+     */
+    public GameState withGameOver(int winnerIndex, long version) {
+        return new GameState(players, currentPlayerIndex, currentQuestionIndex, winnerIndex, true,
+                questionsByCategory, version);
+    }
+
+    /**
+     * Derive a state with the question bank a game has now, e.g. after a question was added.
+     *
+     * @param game The game whose questions to take
+     * @param version The version of the new state
+     * @return The new state
+     */
+    public GameState withQuestionsOf(QuizGame game, long version) {
+        return new GameState(players, currentPlayerIndex, currentQuestionIndex, winnerIndex, gameOver,
+                questionsOf(game), version);
+    }
+
+    /**
+     * Get the version of this state. Every published change has a higher version than the one before.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    public PlayerState getPlayer(int index) {
+        return players[index];
+    }
+
+    public List<PlayerState> getPlayers() {
+        return Collections.unmodifiableList(Arrays.asList(players));
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    /**
+     * Get the player whose turn it is.
+     *
+     * @return The current player, or null if there are no players
+     */
+    public PlayerState getCurrentPlayer() {
+        return players.length == 0 ? null : players[currentPlayerIndex];
+    }
+
+    public int getCurrentQuestionIndex() {
+        return currentQuestionIndex;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Get the winner of the game.
+     *
+     * @return The winning player, or null if the game is not over or nobody won
+     */
+    public PlayerState getWinner() {
+        return gameOver && winnerIndex >= 0 ? players[winnerIndex] : null;
+    }
+
+    /**
+     * Get the question bank as of this snapshot.
+     *
+     * @return Read-only questions by category
+     */
+    public Map<String, List<Question>> getQuestionsByCategory() {
+        return questionsByCategory;
+    }
+
+    @Override
+    public String toString() {
+        return "GameState{" +
+                "version=" + version +
+                ", players=" + Arrays.toString(players) +
+                ", currentPlayerIndex=" + currentPlayerIndex +
+                ", gameOver=" + gameOver +
+                '}';
+    }
+
+    /**
+     * Immutable state of one player.
+     */
+    public static final class PlayerState {
+        private final String name;
+        private final String netName;
+        private final int score;
+        private final int correctAnswers;
+        private final int totalQuestions;
+
+        private PlayerState(Player player) {
+            this(player.getName(), player.getNetName(), player.getScore(),
+                    player.getCorrectAnswers(), player.getTotalQuestions());
+        }
+
+        private PlayerState(String name, String netName, int score, int correctAnswers, int totalQuestions) {
+            this.name = name;
+            this.netName = netName;
+            this.score = score;
+            this.correctAnswers = correctAnswers;
+            this.totalQuestions = totalQuestions;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getNetName() {
+            return netName;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public int getTotalQuestions() {
+            return totalQuestions;
+        }
+
+        public boolean isEliminated() {
+            return score <= 0;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + score;
+        }
+    }
+}
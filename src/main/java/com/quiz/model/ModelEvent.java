@@ -0,0 +1,205 @@
+package com.quiz.model;
+
+/**
+ * A single change to the quiz model.
+ * Each event carries only the fields that changed, so listeners can update
+ * or transmit just that part instead of re-reading the whole game.
+ */
+public abstract class ModelEvent {
+
+    private ModelEvent() {
+    }
+
+    /**
+     * The score or answer statistics of one player changed.
+     */
+    public static final class ScoreChanged extends ModelEvent {
+        private final int playerIndex;
+        private final int score;
+        private final int correctAnswers;
+        private final int totalQuestions;
+
+        /**
+         * Constructor for ScoreChanged.
+         *
+         * @param playerIndex Index of the player in turn order
+         * @param score The new score (remaining lives)
+         * @param correctAnswers The new number of correct answers
+         * @param totalQuestions The new number of answered questions
+         */
+        public ScoreChanged(int playerIndex, int score, int correctAnswers, int totalQuestions) {
+            this.playerIndex = playerIndex;
+            this.score = score;
+            this.correctAnswers = correctAnswers;
+            this.totalQuestions = totalQuestions;
+        }
+
+        public int getPlayerIndex() {
+            return playerIndex;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public int getTotalQuestions() {
+            return totalQuestions;
+        }
+
+        @Override
+        public String toString() {
+            return "ScoreChanged{playerIndex=" + playerIndex + ", score=" + score
+                    + ", correctAnswers=" + correctAnswers + ", totalQuestions=" + totalQuestions + "}";
+        }
+    }
+
+    /**
+     * The turn passed to another player.
+     */
+    public static final class TurnChanged extends ModelEvent {
+        private final int playerIndex;
+
+        /**
+         * Constructor for TurnChanged.
+         *
+         * @param playerIndex Index of the player whose turn it is now
+         */
+        public TurnChanged(int playerIndex) {
+            this.playerIndex = playerIndex;
+        }
+
+        public int getPlayerIndex() {
+            return playerIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "TurnChanged{playerIndex=" + playerIndex + "}";
+        }
+    }
+
+    /**
+     * A question was added to the question bank.
+     */
+    public static final class QuestionAdded extends ModelEvent {
+        private final String category;
+        private final Question question;
+
+        /**
+         * Constructor for QuestionAdded.
+         *
+         * @param category The category the question was added to
+         * @param question The new question
+         */
+        public QuestionAdded(String category, Question question) {
+            this.category = category;
+            this.question = question;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public Question getQuestion() {
+            return question;
+        }
+
+        @Override
+        public String toString() {
+            return "QuestionAdded{category='" + category + "'}";
+        }
+    }
+
+    /**
+     * A question of the question bank was replaced, e.g. after it was edited.
+     */
+    public static final class QuestionReplaced extends ModelEvent {
+        private final String category;
+        private final int index;
+        private final Question question;
+
+        /**
+         * Constructor for QuestionReplaced.
+         *
+         * @param category The category of the question
+         * @param index Position of the question in the category
+         * @param question The question now at that position
+         */
+        public QuestionReplaced(String category, int index, Question question) {
+            this.category = category;
+            this.index = index;
+            this.question = question;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Question getQuestion() {
+            return question;
+        }
+
+        @Override
+        public String toString() {
+            return "QuestionReplaced{category='" + category + "', index=" + index + "}";
+        }
+    }
+
+    /**
+     * The game ended.
+     */
+    public static final class GameOver extends ModelEvent {
+        private final int winnerIndex;
+
+        /**
+         * Constructor for GameOver.
+         *
+         * @param winnerIndex Index of the winning player, or -1 if nobody won
+         */
+        public GameOver(int winnerIndex) {
+            this.winnerIndex = winnerIndex;
+        }
+
+        public int getWinnerIndex() {
+            return winnerIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "GameOver{winnerIndex=" + winnerIndex + "}";
+        }
+    }
+
+    /**
+     * The whole game was replaced or reset; listeners should re-read everything.
+     */
+    public static final class GameReset extends ModelEvent {
+        private final int playerCount;
+
+        /**
+         * Constructor for GameReset.
+         *
+         * @param playerCount Number of players in the new game
+         */
+        public GameReset(int playerCount) {
+            this.playerCount = playerCount;
+        }
+
+        public int getPlayerCount() {
+            return playerCount;
+        }
+
+        @Override
+        public String toString() {
+            return "GameReset{playerCount=" + playerCount + "}";
+        }
+    }
+}
@@ -11,6 +11,8 @@ public class Player implements Serializable {
     private String name;
     private String netName;
     private int score;
+    private int correctAnswers;
+    private int totalQuestions;
 
     /**
      * Constructor for Player.
@@ -72,6 +74,43 @@ public class Player implements Serializable {
         this.score++;
     }
 
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(int totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    /**
+     * Count an answered question for the accuracy statistics.
+     *
+     * @param correct Whether the answer was correct
+     */
+    public void recordAnswer(boolean correct) {
+        totalQuestions++;
+        if (correct) {
+            correctAnswers++;
+        }
+    }
+
+    /**
+     * Get the share of correctly answered questions.
+     *
+     * @return The accuracy in percent, 0 if no question was answered
+     */
+    public double getAccuracy() {
+        return totalQuestions == 0 ? 0 : correctAnswers * 100.0 / totalQuestions;
+    }
+
     /**
      * Check if the player has lost all lives.
      *
@@ -87,6 +126,8 @@ public class Player implements Serializable {
                 "name='" + name + '\'' +
                 ", netName='" + netName + '\'' +
                 ", score=" + score +
+                ", correctAnswers=" + correctAnswers +
+                ", totalQuestions=" + totalQuestions +
                 '}';
     }
 }
@@ -0,0 +1,121 @@
+package com.quiz.model;
+
+/**
+ * Long-lived statistics of a player across games, identified by the network name.
+ */
+public class PlayerProfile {
+    private final String netName;
+    private String name;
+    private int gamesPlayed;
+    private int wins;
+    private long correctAnswers;
+    private long totalQuestions;
+
+    /**
+     * Constructor for PlayerProfile.
+     *
+     * @param netName The player's network name, the profile key
+     * @param name The player's display name
+     */
+    public PlayerProfile(String netName, String name) {
+        this.netName = netName;
+        this.name = name;
+    }
+
+    // Getters and setters
+    public String getNetName() {
+        return netName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    public long getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(long correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public long getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(long totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    /**
+     * Add the result of one finished game.
+     *
+     * @param player The player's state at the end of the game
+     * @param won Whether the player won
+     */
+    public void recordGame(Player player, boolean won) {
+        recordGame(player.getCorrectAnswers(), player.getTotalQuestions(), won);
+    }
+
+    /**
+     * Add the result of one finished game.
+     *
+     * @param gameCorrectAnswers Questions the player answered correctly in the game
+     * @param gameTotalQuestions Questions the player answered in the game
+     * @param won Whether the player won
+     */
+    public void recordGame(int gameCorrectAnswers, int gameTotalQuestions, boolean won) {
+        gamesPlayed++;
+        if (won) {
+            wins++;
+        }
+        correctAnswers += gameCorrectAnswers;
+        totalQuestions += gameTotalQuestions;
+    }
+
+    /**
+     * Take back the result of a game added with {@link #recordGame(int, int, boolean)}.
+     *
+     * @param gameCorrectAnswers Questions the player answered correctly in the game
+     * @param gameTotalQuestions Questions the player answered in the game
+     * @param won Whether the player had won
+     */
+    public void retractGame(int gameCorrectAnswers, int gameTotalQuestions, boolean won) {
+        gamesPlayed--;
+        if (won) {
+            wins--;
+        }
+        correctAnswers -= gameCorrectAnswers;
+        totalQuestions -= gameTotalQuestions;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerProfile{" +
+                "netName='" + netName + '\'' +
+                ", name='" + name + '\'' +
+                ", gamesPlayed=" + gamesPlayed +
+                ", wins=" + wins +
+                '}';
+    }
+}
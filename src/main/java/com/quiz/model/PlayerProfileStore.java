@@ -0,0 +1,256 @@
+package com.quiz.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File-backed store of player profiles keyed by network name, fronted by a size-bounded LRU cache.
+ * Each profile is one small file in one of 256 subdirectories, so any number of registered players
+ * can be stored while memory only holds the most recently used ones. Saves write through to disk.
+ * I/O failures are reported as {@link UncheckedIOException}.
+ * Files are read and written under a lock per player rather than one for the whole store,
+ * so one player's disk access does not hold up the others; the cache lock is only held briefly.
+ */
+public class PlayerProfileStore {
+    private static final int FORMAT_VERSION = 1;
+    private static final int KEY_LOCKS = 64;
+
+    private final Path directory;
+    private final Map<String, PlayerProfile> cache;
+    private final Object[] keyLocks = new Object[KEY_LOCKS];
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for PlayerProfileStore.
+     *
+     * @param directory Directory holding the profile files, created on first save
+     * @param cacheCapacity Maximum number of profiles kept in memory
+     */
+    public PlayerProfileStore(Path directory, int cacheCapacity) {
+        this.directory = directory;
+        this.cache = new LinkedHashMap<String, PlayerProfile>(Math.min(cacheCapacity, 1 << 16), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PlayerProfile> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+        for (int i = 0; i < KEY_LOCKS; i++) {
+            keyLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get a profile.
+     *
+     * @param netName The network name
+     * @return The profile, or null if the player is not registered
+     */
+    public PlayerProfile get(String netName) {
+        PlayerProfile profile = cached(netName);
+        if (profile != null) {
+            return profile;
+        }
+        synchronized (lockFor(netName)) {
+            // Another thread may have read it while this one waited
+            profile = cached(netName);
+            if (profile != null) {
+                return profile;
+            }
+            synchronized (this) {
+                misses++;
+            }
+            profile = read(netName);
+            if (profile != null) {
+                synchronized (this) {
+                    cache.put(netName, profile);
+                }
+            }
+            return profile;
+        }
+    }
+
+    private synchronized PlayerProfile cached(String netName) {
+        PlayerProfile profile = cache.get(netName);
+        if (profile != null) {
+            hits++;
+        }
+        return profile;
+    }
+
+    /**
+     * Get a profile, registering the player if needed.
+     *
+     * @param netName The network name
+     * @param name The display name used for a new profile
+     * @return The existing or new profile
+     */
+    public PlayerProfile getOrCreate(String netName, String name) {
+        synchronized (lockFor(netName)) {
+            PlayerProfile profile = get(netName);
+            if (profile == null) {
+                profile = new PlayerProfile(netName, name);
+                save(profile);
+            }
+            return profile;
+        }
+    }
+
+    /**
+     * Persist a profile and keep it cached.
+     *
+     * @param profile The profile to save
+     */
+    public void save(PlayerProfile profile) {
+        String netName = profile.getNetName();
+        synchronized (lockFor(netName)) {
+            Path file = fileFor(netName);
+            Path temp = null;
+            try {
+                Files.createDirectories(file.getParent());
+                temp = Files.createTempFile(file.getParent(), "profile", ".tmp");
+                Files.write(temp, encode(profile));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                deleteQuietly(temp, e);
+                throw new UncheckedIOException("Failed to save profile " + netName, e);
+            }
+            synchronized (this) {
+                cache.put(netName, profile);
+            }
+        }
+    }
+
+    /**
+     * Add the results of a finished game to the profiles of all players with a network name.
+     *
+     * @param game The finished game
+     */
+    public void recordGame(QuizGame game) {
+        recordGame(GameState.of(game, 0));
+    }
+
+    /**
+     * Add the results of a finished game to the profiles of all players with a network name.
+     * The state is immutable, so this can run on another thread than the game.
+     *
+     * @param result The state of the game when it ended
+     */
+    public void recordGame(GameState result) {
+        GameState.PlayerState winner = result.getWinner();
+        for (GameState.PlayerState player : result.getPlayers()) {
+            if (player.getNetName() == null || player.getNetName().isEmpty()) {
+                continue;
+            }
+            synchronized (lockFor(player.getNetName())) {
+                PlayerProfile profile = getOrCreate(player.getNetName(), player.getName());
+                profile.recordGame(player.getCorrectAnswers(), player.getTotalQuestions(), player == winner);
+                save(profile);
+            }
+        }
+    }
+
+    /**
+     * Take the results of a game back out of the profiles, e.g. after the end of the game was undone.
+     *
+     * @param result The state passed to {@link #recordGame(GameState)}
+     */
+    public void retractGame(GameState result) {
+        GameState.PlayerState winner = result.getWinner();
+        for (GameState.PlayerState player : result.getPlayers()) {
+            if (player.getNetName() == null || player.getNetName().isEmpty()) {
+                continue;
+            }
+            synchronized (lockFor(player.getNetName())) {
+                PlayerProfile profile = get(player.getNetName());
+                if (profile != null) {
+                    profile.retractGame(player.getCorrectAnswers(), player.getTotalQuestions(), player == winner);
+                    save(profile);
+                }
+            }
+        }
+    }
+
+    public synchronized int getCachedCount() {
+        return cache.size();
+    }
+
+    public synchronized long getCacheHits() {
+        return hits;
+    }
+
+    public synchronized long getCacheMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the lock guarding a player's file; taken before the cache lock, never while holding it.
+     */
+    private Object lockFor(String netName) {
+        return keyLocks[(netName.hashCode() & 0x7FFFFFFF) % KEY_LOCKS];
+    }
+
+    private Path fileFor(String netName) {
+        String shard = String.format("%02x", netName.hashCode() & 0xFF);
+        String fileName = URLEncoder.encode(netName, StandardCharsets.UTF_8) + ".profile";
+        return directory.resolve(shard).resolve(fileName);
+    }
+
+    private PlayerProfile read(String netName) {
+        try (InputStream file = Files.newInputStream(fileFor(netName));
+             DataInputStream in = new DataInputStream(file)) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported profile format");
+            }
+            PlayerProfile profile = new PlayerProfile(in.readUTF(), in.readUTF());
+            profile.setGamesPlayed(in.readInt());
+            profile.setWins(in.readInt());
+            profile.setCorrectAnswers(in.readLong());
+            profile.setTotalQuestions(in.readLong());
+            return profile;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read profile " + netName, e);
+        }
+    }
+
+    private static void deleteQuietly(Path temp, IOException failure) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static byte[] encode(PlayerProfile profile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(profile.getNetName());
+            out.writeUTF(profile.getName() == null ? "" : profile.getName());
+            out.writeInt(profile.getGamesPlayed());
+            out.writeInt(profile.getWins());
+            out.writeLong(profile.getCorrectAnswers());
+            out.writeLong(profile.getTotalQuestions());
+        }
+        return bytes.toByteArray();
+    }
+}
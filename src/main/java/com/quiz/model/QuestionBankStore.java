@@ -0,0 +1,121 @@
+package com.quiz.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * QuestionStore over an in-memory question bank, numbering the questions
+ * category by category. The numbering is fixed when the store is created;
+ * questions added to the bank afterwards are not part of the store.
+ * The store keeps its own copy of the category lists, so edits never change the
+ * bank it was created from; they are passed on to the {@link Listener} instead.
+ * Pages may be loaded from any thread.
+ */
+public class QuestionBankStore implements QuestionStore {
+    private final List<List<Question>> categories = new ArrayList<>();
+    private final String[] categoryNames;
+    private final int[] offsets;
+    private final int size;
+    private final Listener listener;
+
+    /**
+     * Receives the questions edited in a store, e.g. to apply them to the game.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called after a question of the store was replaced.
+         *
+         * @param category The category of the question
+         * @param index Position of the question in its category
+         * @param question The edited question
+         */
+        void questionReplaced(String category, int index, Question question);
+    }
+
+    /**
+     * Constructor for QuestionBankStore without a listener.
+     *
+     * @param questionsByCategory The question bank
+     * @param categoryOrder Order in which categories are numbered; categories not listed are left out
+     */
+    public QuestionBankStore(Map<String, List<Question>> questionsByCategory, String[] categoryOrder) {
+        this(questionsByCategory, categoryOrder, null);
+    }
+
+    /**
+     * Constructor for QuestionBankStore.
+     *
+     * @param questionsByCategory The question bank
+     * @param categoryOrder Order in which categories are numbered; categories not listed are left out
+     * @param listener Receives every edit, or null
+     */
+    public QuestionBankStore(Map<String, List<Question>> questionsByCategory, String[] categoryOrder,
+                             Listener listener) {
+        this.categoryNames = categoryOrder.clone();
+        this.listener = listener;
+        offsets = new int[categoryOrder.length + 1];
+        int total = 0;
+        for (int i = 0; i < categoryOrder.length; i++) {
+            List<Question> questions = new ArrayList<>(questionsByCategory.getOrDefault(categoryOrder[i], List.of()));
+            categories.add(questions);
+            offsets[i] = total;
+            total += questions.size();
+        }
+        offsets[categoryOrder.length] = total;
+        size = total;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized List<Question> load(int from, int count) {
+        int end = Math.min(size, from + count);
+        List<Question> page = new ArrayList<>(Math.max(0, end - from));
+        if (from >= end) {
+            return page;
+        }
+        int category = categoryOf(from);
+        for (int id = from; id < end; id++) {
+            while (id >= offsets[category + 1]) {
+                category++;
+            }
+            page.add(categories.get(category).get(id - offsets[category]));
+        }
+        return page;
+    }
+
+    @Override
+    public void update(int id, Question question) {
+        int category = categoryOf(id);
+        int index = id - offsets[category];
+        synchronized (this) {
+            categories.get(category).set(index, question);
+        }
+        if (listener != null) {
+            listener.questionReplaced(categoryNames[category], index, question);
+        }
+    }
+
+    private int categoryOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Question " + id + " of " + size);
+        }
+        // Last category starting at or before id; empty categories share their offset with the next one
+        int low = 0;
+        int high = categories.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= id) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,161 @@
+package com.quiz.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the words of a QuestionStore, for filtering large banks quickly.
+ * The index holds question numbers only, never the questions themselves.
+ * It is immutable once built and can be searched from any thread.
+ */
+public final class QuestionSearchIndex {
+    private static final int[] NONE = new int[0];
+
+    private final NavigableMap<String, int[]> postings;
+    private final int size;
+
+    private QuestionSearchIndex(NavigableMap<String, int[]> postings, int size) {
+        this.postings = postings;
+        this.size = size;
+    }
+
+    /**
+     * Build the index by reading the whole store page by page.
+     * Words are taken from the category, the question text and the options.
+     *
+     * @param store The store to index
+     * @param pageSize Number of questions to load at a time
+     * @return The index
+     */
+    public static QuestionSearchIndex build(QuestionStore store, int pageSize) {
+        int size = store.size();
+        Map<String, IntList> building = new HashMap<>();
+        for (int from = 0; from < size; from += pageSize) {
+            List<Question> page = store.load(from, pageSize);
+            for (int i = 0; i < page.size(); i++) {
+                Question question = page.get(i);
+                int id = from + i;
+                addWords(building, question.getCategory(), id);
+                addWords(building, question.getText(), id);
+                if (question.getOptions() != null) {
+                    for (String option : question.getOptions()) {
+                        addWords(building, option, id);
+                    }
+                }
+            }
+        }
+        NavigableMap<String, int[]> postings = new TreeMap<>();
+        for (Map.Entry<String, IntList> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return new QuestionSearchIndex(postings, size);
+    }
+
+    private static void addWords(Map<String, IntList> building, String text, int id) {
+        if (text == null) {
+            return;
+        }
+        for (String word : words(text)) {
+            // Ids arrive in ascending order, so a repeated word in the same question is the last entry
+            IntList ids = building.computeIfAbsent(word, w -> new IntList());
+            if (ids.size == 0 || ids.values[ids.size - 1] != id) {
+                ids.add(id);
+            }
+        }
+    }
+
+    /**
+     * Split text into lower-case words.
+     *
+     * @param text The text
+     * @return The words, possibly with repetitions
+     */
+    static String[] words(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Find the questions containing all words of a query.
+     * The last word also matches longer words starting with it, so results can follow typing.
+     *
+     * @param query The words to look for
+     * @return The matching question numbers in ascending order; all questions for an empty query
+     */
+    public int[] search(String query) {
+        String[] words = words(query);
+        if (words.length == 0) {
+            int[] all = new int[size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        BitSet matches = null;
+        for (int w = 0; w < words.length; w++) {
+            BitSet wordMatches = new BitSet(size);
+            if (w == words.length - 1) {
+                for (int[] ids : postings.subMap(words[w], true, words[w] + Character.MAX_VALUE, false).values()) {
+                    for (int id : ids) {
+                        wordMatches.set(id);
+                    }
+                }
+            } else {
+                for (int id : postings.getOrDefault(words[w], NONE)) {
+                    wordMatches.set(id);
+                }
+            }
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                matches.and(wordMatches);
+            }
+            if (matches.isEmpty()) {
+                return NONE;
+            }
+        }
+        return matches.stream().toArray();
+    }
+
+    /**
+     * Get the number of questions covered by the index.
+     *
+     * @return The number of indexed questions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of distinct words in the index.
+     *
+     * @return The number of words
+     */
+    public int getWordCount() {
+        return postings.size();
+    }
+
+    /**
+     * Growable list of ints, to keep postings free of boxing while building.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
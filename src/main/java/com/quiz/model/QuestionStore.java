@@ -0,0 +1,35 @@
+package com.quiz.model;
+
+import java.util.List;
+
+/**
+ * Random access to a possibly large set of questions, numbered from 0.
+ * Implementations may be slow, e.g. backed by disk or network, so callers
+ * load questions in pages and away from the event dispatch thread.
+ */
+public interface QuestionStore {
+
+    /**
+     * Get the number of questions in the store.
+     *
+     * @return The number of questions
+     */
+    int size();
+
+    /**
+     * Load a page of questions.
+     *
+     * @param from Number of the first question
+     * @param count Maximum number of questions to load
+     * @return The questions from {@code from}, fewer than count at the end of the store
+     */
+    List<Question> load(int from, int count);
+
+    /**
+     * Replace a question.
+     *
+     * @param id Number of the question
+     * @param question The new question
+     */
+    void update(int id, Question question);
+}
@@ -1,8 +1,15 @@
 package com.quiz.model;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,12 +19,8 @@ import java.util.Map;
 public class QuizGame implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private Player player1;
-    private Player player2;
-    private Player currentPlayer;
-    private int currentQuestionIndex;
-    private Map<String, List<Question>> questionsByCategory;
-    private String[] categories = {
+    // Categories of a game created without a question bank
+    private static final String[] DEFAULT_CATEGORIES = {
         "BWL",
         "Digitaltechnik",
         "Elektrotechnik",
@@ -26,6 +29,17 @@ public class QuizGame implements Serializable {
         "Programmierung"
     };
 
+    private Player[] players;
+    // Ring of players still in the game, as indices into players; rebuilt from the scores when read
+    private transient int[] nextActive;
+    private transient int[] prevActive;
+    private transient int activeCount;
+    private int currentIndex;
+    private transient int winnerIndex;
+    private int currentQuestionIndex;
+    private Map<String, List<Question>> questionsByCategory;
+    private String[] categories = DEFAULT_CATEGORIES;
+
     /**
      * Constructor for QuizGame.
      *
@@ -33,51 +47,118 @@ public class QuizGame implements Serializable {
      * @param player2 Second player
      */
     public QuizGame(Player player1, Player player2) {
-        this.player1 = player1;
-        this.player2 = player2;
-        this.currentPlayer = player1;
-        this.currentQuestionIndex = 0;
+        this(new Player[]{player1, player2});
+    }
+
+    /**
+     * Constructor for QuizGame with any number of players.
+     * The first player starts.
+     *
+     * @param players The players in turn order
+     */
+    public QuizGame(Player[] players) {
         this.questionsByCategory = new HashMap<>();
 
         // Initialize empty question lists for each category
         for (String category : categories) {
             questionsByCategory.put(category, new ArrayList<>());
         }
+        setPlayers(players);
     }
 
     /**
      * Default constructor.
      */
     public QuizGame() {
-        this.questionsByCategory = new HashMap<>();
-        for (String category : categories) {
-            questionsByCategory.put(category, new ArrayList<>());
-        }
+        this(new Player[0]);
     }
 
     // Getters and setters
+    public Player[] getPlayers() {
+        return players.clone();
+    }
+
+    /**
+     * Replace all players. The first player becomes the current player.
+     *
+     * @param players The players in turn order
+     */
+    public void setPlayers(Player[] players) {
+        this.players = players.clone();
+        this.nextActive = new int[players.length];
+        this.prevActive = new int[players.length];
+        this.currentIndex = 0;
+        rebuildRing();
+    }
+
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    public Player getPlayer(int index) {
+        return players[index];
+    }
+
     public Player getPlayer1() {
-        return player1;
+        return players.length > 0 ? players[0] : null;
     }
 
     public void setPlayer1(Player player1) {
-        this.player1 = player1;
+        setPlayerAt(0, player1);
     }
 
     public Player getPlayer2() {
-        return player2;
+        return players.length > 1 ? players[1] : null;
     }
 
     public void setPlayer2(Player player2) {
-        this.player2 = player2;
+        setPlayerAt(1, player2);
     }
 
     public Player getCurrentPlayer() {
-        return currentPlayer;
+        return players.length > 0 ? players[currentIndex] : null;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentIndex;
     }
 
     public void setCurrentPlayer(Player player) {
-        this.currentPlayer = player;
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                currentIndex = i;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the player whose turn comes after the current one.
+     *
+     * @return The index of the next active player
+     */
+    public int getNextPlayerIndex() {
+        return activeCount > 0 ? nextActive[currentIndex] : currentIndex;
+    }
+
+    /**
+     * Get the number of players that have not been eliminated.
+     *
+     * @return The number of active players
+     */
+    public int getActivePlayerCount() {
+        return activeCount;
+    }
+
+    private void setPlayerAt(int index, Player player) {
+        if (index >= players.length) {
+            Player[] grown = Arrays.copyOf(players, index + 1);
+            players = grown;
+            nextActive = new int[grown.length];
+            prevActive = new int[grown.length];
+        }
+        players[index] = player;
+        rebuildRing();
     }
 
     public int getCurrentQuestionIndex() {
@@ -88,12 +169,36 @@ public class QuizGame implements Serializable {
         this.currentQuestionIndex = index;
     }
 
+    /**
+     * Get the question bank of this game.
+     * The game never changes a question list once it has handed it out; adding a question
+     * replaces the list of its category. Lists taken earlier therefore stay as they were.
+     *
+     * @return Read-only view of the questions by category
+     */
     public Map<String, List<Question>> getQuestionsByCategory() {
-        return questionsByCategory;
+        return Collections.unmodifiableMap(questionsByCategory);
     }
 
+    /**
+     * Replace the question bank of this game.
+     * The lists may be shared with other games; the game never changes them, so neither may the caller.
+     * The categories of the game become the keys of the map, in its iteration order.
+     *
+     * @param questionsByCategory Questions by category
+     */
+    public void setQuestionsByCategory(Map<String, List<Question>> questionsByCategory) {
+        this.questionsByCategory = new LinkedHashMap<>(questionsByCategory);
+        this.categories = questionsByCategory.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Get the categories of the question bank.
+     *
+     * @return Category names
+     */
     public String[] getCategories() {
-        return categories;
+        return categories.clone();
     }
 
     /**
@@ -108,64 +213,233 @@ public class QuizGame implements Serializable {
 
     /**
      * Add a question to a specific category.
+     * The category gets a new list, so snapshots holding the old one do not change.
      *
      * @param category The category name
      * @param question The question to add
      */
     public void addQuestion(String category, Question question) {
-        if (questionsByCategory.containsKey(category)) {
-            questionsByCategory.get(category).add(question);
+        List<Question> questions = questionsByCategory.get(category);
+        if (questions != null) {
+            List<Question> grown = new ArrayList<>(questions.size() + 1);
+            grown.addAll(questions);
+            grown.add(question);
+            questionsByCategory.put(category, Collections.unmodifiableList(grown));
         }
     }
 
     /**
-     * Switch to the other player's turn.
+     * Replace a question of a specific category, e.g. after it was edited.
+     * Like {@link #addQuestion(String, Question)}, the category gets a new list.
+     *
+     * @param category The category name
+     * @param index Position of the question in the category
+     * @param question The question to put in its place
+     * @throws IndexOutOfBoundsException If the category has no question at that position
+     */
+    public void replaceQuestion(String category, int index, Question question) {
+        List<Question> questions = questionsByCategory.getOrDefault(category, List.of());
+        if (index < 0 || index >= questions.size()) {
+            throw new IndexOutOfBoundsException("Question " + index + " of " + category);
+        }
+        List<Question> replaced = new ArrayList<>(questions);
+        replaced.set(index, question);
+        questionsByCategory.put(category, Collections.unmodifiableList(replaced));
+    }
+
+    /**
+     * Switch to the next player still in the game.
      */
     public void switchPlayer() {
-        if (currentPlayer == player1) {
-            currentPlayer = player2;
-        } else {
-            currentPlayer = player1;
+        if (activeCount > 0) {
+            currentIndex = nextActive[currentIndex];
+        }
+    }
+
+    /**
+     * Take a life from the current player and drop them from the turn order once eliminated.
+     * Scores should be lowered through this method so the active ring stays in sync.
+     */
+    public void penalizeCurrentPlayer() {
+        Player player = getCurrentPlayer();
+        if (player == null || player.isEliminated()) {
+            return;
+        }
+        player.decreaseScore();
+        if (player.isEliminated()) {
+            unlink(currentIndex);
         }
     }
 
     /**
-     * Check if the game is over (one player has been eliminated).
+     * Check if the game is over (at most one player is left, or the only player is out).
      *
      * @return true if game is over, false otherwise
      */
     public boolean isGameOver() {
-        return player1.isEliminated() || player2.isEliminated();
+        if (players.length == 0) {
+            return false;
+        }
+        return activeCount <= (players.length > 1 ? 1 : 0);
     }
 
     /**
      * Get the winner of the game.
      *
-     * @return The player with remaining lives, or null if game is not over
+     * @return The last player with remaining lives, or null if game is not over
      */
     public Player getWinner() {
-        if (!isGameOver()) {
+        if (!isGameOver() || activeCount == 0) {
             return null;
         }
-        return player1.isEliminated() ? player2 : player1;
+        return players[winnerIndex];
+    }
+
+    /**
+     * Get the position of the winner in turn order.
+     *
+     * @return The index of the winner, or -1 if there is none
+     */
+    public int getWinnerIndex() {
+        return getWinner() == null ? -1 : winnerIndex;
     }
 
     /**
-     * Reset the game for a new round.
+     * Reset the game for a new round, including the players' answer statistics.
      */
     public void reset() {
-        player1.setScore(3);
-        player2.setScore(3);
-        currentPlayer = player1;
+        for (Player player : players) {
+            player.setScore(3);
+            player.setCorrectAnswers(0);
+            player.setTotalQuestions(0);
+        }
+        currentIndex = 0;
         currentQuestionIndex = 0;
+        rebuildRing();
+    }
+
+    /**
+     * Put the players and turn back to a state published earlier.
+     * The players must be the same as when the state was taken.
+     *
+     * @param state The state to return to
+     */
+    void restore(GameState state) {
+        if (state.getPlayerCount() != players.length) {
+            throw new IllegalArgumentException("State has " + state.getPlayerCount()
+                    + " players, game has " + players.length);
+        }
+        for (int i = 0; i < players.length; i++) {
+            GameState.PlayerState saved = state.getPlayer(i);
+            players[i].setScore(saved.getScore());
+            players[i].setCorrectAnswers(saved.getCorrectAnswers());
+            players[i].setTotalQuestions(saved.getTotalQuestions());
+        }
+        currentIndex = state.getCurrentPlayerIndex();
+        currentQuestionIndex = state.getCurrentQuestionIndex();
+        rebuildRing();
+    }
+
+    /**
+     * Recompute the ring of active players from the player scores.
+     * Needed after scores were changed directly on the Player objects.
+     */
+    public void rebuildRing() {
+        activeCount = 0;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < players.length; i++) {
+            if (!isActive(i)) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            } else {
+                nextActive[last] = i;
+                prevActive[i] = last;
+            }
+            last = i;
+            activeCount++;
+        }
+        if (first >= 0) {
+            nextActive[last] = first;
+            prevActive[first] = last;
+            winnerIndex = first;
+        }
+        // Eliminated players point at the next active player after them,
+        // so a turn can still move on from an eliminated current player
+        int following = first;
+        for (int i = players.length - 1; i >= 0 && first >= 0; i--) {
+            if (isActive(i)) {
+                following = i;
+            } else {
+                nextActive[i] = following;
+            }
+        }
+    }
+
+    private boolean isActive(int index) {
+        return players[index] != null && !players[index].isEliminated();
+    }
+
+    private void unlink(int index) {
+        int prev = prevActive[index];
+        int next = nextActive[index];
+        nextActive[prev] = next;
+        prevActive[next] = prev;
+        // nextActive[index] is kept so switchPlayer can leave the eliminated player
+        activeCount--;
+        if (activeCount == 1) {
+            winnerIndex = next;
+        }
+    }
+
+    /**
+     * Read a saved game, including games saved before QuizGame supported more than two players.
+     * Those stored player1, player2 and currentPlayer instead of the players array.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        ObjectStreamClass saved = fields.getObjectStreamClass();
+        if (saved.getField("players") != null) {
+            players = (Player[]) fields.get("players", null);
+            currentIndex = fields.get("currentIndex", 0);
+        } else {
+            Player player1 = (Player) fields.get("player1", null);
+            Player player2 = (Player) fields.get("player2", null);
+            players = Arrays.stream(new Player[]{player1, player2})
+                    .filter(player -> player != null)
+                    .toArray(Player[]::new);
+            currentIndex = players.length > 1 && fields.get("currentPlayer", null) == player2 ? 1 : 0;
+        }
+        currentQuestionIndex = fields.get("currentQuestionIndex", 0);
+        @SuppressWarnings("unchecked")
+        Map<String, List<Question>> questions = (Map<String, List<Question>>) fields.get("questionsByCategory", null);
+        questionsByCategory = questions;
+        categories = (String[]) fields.get("categories", null);
+
+        if (players == null || Arrays.asList(players).contains(null)) {
+            throw new InvalidObjectException("Saved game has no valid players");
+        }
+        if (players.length > 0 && (currentIndex < 0 || currentIndex >= players.length)) {
+            throw new InvalidObjectException("Saved game has no valid current player");
+        }
+        if (questionsByCategory == null) {
+            questionsByCategory = new HashMap<>();
+        }
+        if (categories == null) {
+            categories = DEFAULT_CATEGORIES;
+        }
+        nextActive = new int[players.length];
+        prevActive = new int[players.length];
+        rebuildRing();
     }
 
     @Override
     public String toString() {
         return "QuizGame{" +
-                "player1=" + player1 +
-                ", player2=" + player2 +
-                ", currentPlayer=" + currentPlayer +
+                "players=" + Arrays.toString(players) +
+                ", currentPlayer=" + getCurrentPlayer() +
                 ", categories=" + categories.length +
                 '}';
     }
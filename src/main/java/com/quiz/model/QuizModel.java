@@ -1,28 +1,85 @@
 package com.quiz.model;
 
+import com.quiz.util.FlightEvents;
+import com.quiz.util.Metrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Central model for the Quiz application.
  * Manages game state and provides interface for the controller.
  */
 public class QuizModel {
+    private static final Logger log = LogManager.getLogger(QuizModel.class);
+
+    // Draws remembered for serving and recording answers; enough for the questions prefetched for every player
+    private static final int RECENT_DRAWS = 64;
+
     private QuizGame game;
-    private List<ModelObserver> observers;
+    private final List<ObserverRegistration> observers;
+    private volatile Executor dispatchExecutor;
+    private int batchDepth;
+    private final List<ModelEvent> pendingEvents = new ArrayList<>();
+    private volatile GameState state = GameState.EMPTY;
+    private final AtomicLong notificationCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private PlayerProfileStore profileStore;
+    private Executor profileExecutor;
+    private Consumer<RuntimeException> profileErrorHandler;
+    // Result of the current game as written to the profiles, taken back if the end is undone
+    private GameState recordedResult;
+    private Random seeds = new Random();
+    private Random random = new Random();
+    private long gameSeed;
+    private GameRecorder recorder;
+    // Whether the model counts in the application metrics and emits flight recorder events
+    private boolean instrumented = true;
+    private final Question[] recentQuestions = new Question[RECENT_DRAWS];
+    private final String[] recentCategories = new String[RECENT_DRAWS];
+    private final int[] recentIndexes = new int[RECENT_DRAWS];
+    private int drawCount;
+    private HistoryEntry undoHistory;
+    private HistoryEntry redoHistory;
+    private Map<String, List<Question>> questionBank;
 
     /**
      * Interface for observers to listen to model changes.
+     * Observers are told that something changed, once per notification, and re-read the game.
      */
     public interface ModelObserver {
         void modelChanged();
     }
 
+    /**
+     * Interface for listeners interested in what exactly changed.
+     */
+    public interface ModelListener {
+        /**
+         * Called for every change, in the order the changes happened.
+         *
+         * @param event The change
+         */
+        void modelEvent(ModelEvent event);
+    }
+
     /**
      * Constructor for QuizModel.
      */
     public QuizModel() {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -35,10 +92,135 @@ public class QuizModel {
      */
     public void initializeGame(String player1Name, String player1NetName,
                                 String player2Name, String player2NetName) {
-        Player p1 = new Player(player1Name, player1NetName);
-        Player p2 = new Player(player2Name, player2NetName);
-        this.game = new QuizGame(p1, p2);
-        notifyObservers();
+        initializeGame(new String[]{player1Name, player2Name},
+                new String[]{player1NetName, player2NetName});
+    }
+
+    /**
+     * Initialize a new game with any number of players.
+     *
+     * @param names Player names in turn order
+     * @param netNames Network names, parallel to names
+     */
+    public void initializeGame(String[] names, String[] netNames) {
+        if (names.length != netNames.length) {
+            throw new IllegalArgumentException("names and netNames must have the same length");
+        }
+        Player[] players = new Player[names.length];
+        for (int i = 0; i < names.length; i++) {
+            players[i] = new Player(names[i], netNames[i]);
+            if (profileStore != null && netNames[i] != null && !netNames[i].isEmpty()) {
+                // Registers new players and keeps active ones in the profile cache, off the game's thread
+                String netName = netNames[i];
+                String name = names[i];
+                writeProfiles(store -> store.getOrCreate(netName, name));
+            }
+        }
+        QuizGame newGame = new QuizGame(players);
+        if (questionBank != null) {
+            // Games share the bank's lists; questions added during a game go into new lists of that game
+            newGame.setQuestionsByCategory(questionBank);
+        }
+        setGame(newGame);
+    }
+
+    /**
+     * Set the questions new games start with, e.g. once the question files are loaded.
+     * Games already running keep their questions.
+     *
+     * @param questionBank Questions by category, or null to start games without questions
+     */
+    public void setQuestionBank(Map<String, List<Question>> questionBank) {
+        this.questionBank = questionBank;
+    }
+
+    public Map<String, List<Question>> getQuestionBank() {
+        return questionBank;
+    }
+
+    /**
+     * Replace the current game, e.g. with a loaded or migrated one.
+     * The game gets a fresh question sampling seed.
+     *
+     * @param game The game to continue
+     */
+    public void setGame(QuizGame game) {
+        setGame(game, seeds.nextLong());
+    }
+
+    /**
+     * Replace the current game and sample its questions from the given seed,
+     * so the same commands lead to the same game.
+     *
+     * @param game The game to continue
+     * @param seed Seed of the question sampling
+     */
+    public void setGame(QuizGame game, long seed) {
+        this.game = game;
+        this.recordedResult = null;
+        this.gameSeed = seed;
+        this.random = new Random(seed);
+        this.undoHistory = null;
+        this.redoHistory = null;
+        forgetDraws();
+        if (recorder != null && game != null) {
+            recorder.start(game, seed);
+        }
+        if (game != null) {
+            gameStarted(false);
+        }
+        notifyObservers(new ModelEvent.GameReset(game == null ? 0 : game.getPlayerCount()));
+    }
+
+    private void forgetDraws() {
+        Arrays.fill(recentQuestions, null);
+        drawCount = 0;
+    }
+
+    /**
+     * Seed the generator the per-game sampling seeds are taken from.
+     * With a fixed seed, a model plays out the same way for the same commands.
+     *
+     * @param seed The seed
+     */
+    public void setRandomSeed(long seed) {
+        this.seeds = new Random(seed);
+    }
+
+    /**
+     * Get the seed the question sampling of the current game started from.
+     *
+     * @return The seed
+     */
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+     * Record the commands of this and all following games.
+     * Commands are recorded when they are applied, not when they are notified.
+     *
+     * @param recorder The recorder, or null to stop recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder != null && game != null) {
+            recorder.start(game, gameSeed);
+        }
+    }
+
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Keep this model out of the application metrics and flight recorder events,
+     * e.g. when it re-runs a recorded game that was already counted when it was played.
+     *
+     * @param instrumented false to count nothing this model does
+     */
+    void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
     }
 
     /**
@@ -50,6 +232,16 @@ public class QuizModel {
         return game;
     }
 
+    /**
+     * Get an immutable snapshot of the game as of the last notification.
+     * Safe to call from any thread; the snapshot never changes once obtained.
+     *
+     * @return The latest game state
+     */
+    public GameState getState() {
+        return state;
+    }
+
     /**
      * Get the current player.
      *
@@ -61,18 +253,81 @@ public class QuizModel {
     }
 
     /**
-     * Get a random question from a specific category.
+     * Get a random question from a specific category and count it as served.
      *
      * @param category The category name
      * @return A random question from the category, or null if no questions exist
      */
     public Question getRandomQuestion(String category) {
+        Question question = drawQuestion(category);
+        if (question != null) {
+            questionServed(question);
+        }
+        return question;
+    }
+
+    /**
+     * Draw a random question from a category without showing it yet, e.g. to load it ahead.
+     * The draw is part of the game's sampling sequence and recorded as such, but only
+     * {@link #questionServed(Question)} counts the question as served.
+     *
+     * @param category The category name
+     * @return A random question from the category, or null if no questions exist
+     */
+    public Question drawQuestion(String category) {
+        long start = System.nanoTime();
         List<Question> questions = game.getQuestionsForCategory(category);
         if (questions.isEmpty()) {
             return null;
         }
-        int randomIndex = (int) (Math.random() * questions.size());
-        return questions.get(randomIndex);
+        int randomIndex = random.nextInt(questions.size());
+        Question question = questions.get(randomIndex);
+        if (recorder != null) {
+            recorder.draw(category, randomIndex);
+        }
+        int slot = drawCount++ & (RECENT_DRAWS - 1);
+        recentQuestions[slot] = question;
+        recentCategories[slot] = category;
+        recentIndexes[slot] = randomIndex;
+        if (instrumented) {
+            Metrics.QUESTIONS_DRAWN.increment();
+            Metrics.QUESTION_SELECTION.record(System.nanoTime() - start);
+        }
+        return question;
+    }
+
+    /**
+     * Count a drawn question as served, once it is shown to a player.
+     *
+     * @param question The question, as returned by {@link #drawQuestion(String)}
+     */
+    public void questionServed(Question question) {
+        if (!instrumented) {
+            return;
+        }
+        Metrics.QUESTIONS_SERVED.increment();
+        FlightEvents.QuestionServed event = new FlightEvents.QuestionServed();
+        if (event.shouldCommit()) {
+            int slot = recentDrawOf(question);
+            event.category = slot < 0 ? question.getCategory() : recentCategories[slot];
+            event.questionIndex = slot < 0 ? -1 : recentIndexes[slot];
+            event.commit();
+        }
+    }
+
+    /**
+     * Find a question among the recent draws, newest first.
+     *
+     * @return The slot of the draw, or -1 if it was not drawn recently
+     */
+    private int recentDrawOf(Question question) {
+        for (int i = 1; i <= Math.min(drawCount, RECENT_DRAWS); i++) {
+            int slot = (drawCount - i) & (RECENT_DRAWS - 1);
+            if (recentQuestions[slot] == question) {
+                return slot;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -83,28 +338,329 @@ public class QuizModel {
      * @return true if the answer is correct, false otherwise
      */
     public boolean submitAnswer(Question question, int answerIndex) {
+        FlightEvents.AnswerSubmitted event = new FlightEvents.AnswerSubmitted();
+        event.begin();
+        long start = System.nanoTime();
         boolean isCorrect = question.isCorrectAnswer(answerIndex);
-
-        if (!isCorrect) {
-            game.getCurrentPlayer().decreaseScore();
+        Player answering = game.getCurrentPlayer();
+        if (recorder != null) {
+            recordAnswer(question, answerIndex);
         }
 
-        notifyObservers();
+        saveUndoPoint();
+        boolean wasOver = game.isGameOver();
+        beginBatch();
+        try {
+            game.getCurrentPlayer().recordAnswer(isCorrect);
+            if (!isCorrect) {
+                game.penalizeCurrentPlayer();
+            }
+            scoreChanged(wasOver);
+        } finally {
+            endBatch();
+        }
+        if (!instrumented) {
+            return isCorrect;
+        }
+        Metrics.ANSWER_SUBMISSION.record(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.category = question.getCategory();
+            event.player = answering.getName();
+            event.correct = isCorrect;
+            event.commit();
+        }
         return isCorrect;
     }
 
+    /**
+     * Handle a question the current player did not answer in time.
+     * A timeout costs a life just like a wrong answer.
+     */
+    public void timeoutAnswer() {
+        if (recorder != null) {
+            recorder.timeout();
+        }
+        saveUndoPoint();
+        boolean wasOver = game.isGameOver();
+        beginBatch();
+        try {
+            game.getCurrentPlayer().recordAnswer(false);
+            game.penalizeCurrentPlayer();
+            scoreChanged(wasOver);
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Record an answer by the position of its question in the bank, if it is there.
+     * Questions are normally answered shortly after they were drawn, so their position is
+     * looked up among the recent draws; only other questions are searched for in the bank.
+     */
+    private void recordAnswer(Question question, int answerIndex) {
+        int slot = recentDrawOf(question);
+        if (slot >= 0) {
+            recorder.answer(recentCategories[slot], recentIndexes[slot], question, answerIndex);
+            return;
+        }
+        if (question.getCategory() != null) {
+            int index = indexOf(game.getQuestionsForCategory(question.getCategory()), question);
+            if (index >= 0) {
+                recorder.answer(question.getCategory(), index, question, answerIndex);
+                return;
+            }
+        }
+        for (Map.Entry<String, List<Question>> entry : game.getQuestionsByCategory().entrySet()) {
+            int index = indexOf(entry.getValue(), question);
+            if (index >= 0) {
+                recorder.answer(entry.getKey(), index, question, answerIndex);
+                return;
+            }
+        }
+        recorder.answer(question.getCategory(), -1, question, answerIndex);
+    }
+
+    private static int indexOf(List<Question> questions, Question question) {
+        for (int i = 0; i < questions.size(); i++) {
+            if (questions.get(i) == question) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Publish the new score of the current player, and the end of the game if that answer decided it.
+     *
+     * @param wasOver Whether the game was over before the answer
+     */
+    private void scoreChanged(boolean wasOver) {
+        Player player = game.getCurrentPlayer();
+        notifyObservers(new ModelEvent.ScoreChanged(game.getCurrentPlayerIndex(), player.getScore(),
+                player.getCorrectAnswers(), player.getTotalQuestions()));
+        if (!wasOver && game.isGameOver()) {
+            gameEnded();
+        }
+    }
+
+    /**
+     * Count the end of the game, store its result in the player profiles and publish it.
+     */
+    private void gameEnded() {
+        if (instrumented) {
+            Metrics.GAMES_FINISHED.increment();
+            FlightEvents.GameEnded ended = new FlightEvents.GameEnded();
+            if (ended.shouldCommit()) {
+                ended.players = game.getPlayerCount();
+                ended.winner = game.getWinner() == null ? null : game.getWinner().getName();
+                ended.commit();
+            }
+        }
+        if (profileStore != null) {
+            GameState result = GameState.of(game, 0);
+            recordedResult = result;
+            writeProfiles(store -> store.recordGame(result));
+        }
+        notifyObservers(new ModelEvent.GameOver(game.getWinnerIndex()));
+    }
+
+    /**
+     * Take back the end of the game after the deciding action was undone,
+     * so the profiles get the result the game really ends with.
+     */
+    private void gameResumed() {
+        if (instrumented) {
+            Metrics.GAMES_FINISHED.decrement();
+        }
+        GameState result = recordedResult;
+        recordedResult = null;
+        if (result != null && profileStore != null) {
+            writeProfiles(store -> store.retractGame(result));
+        }
+    }
+
+    /**
+     * Count a started game and emit its flight recorder event.
+     *
+     * @param reset Whether an existing game was started over
+     */
+    private void gameStarted(boolean reset) {
+        if (!instrumented) {
+            return;
+        }
+        Metrics.GAMES_STARTED.increment();
+        FlightEvents.GameStarted event = new FlightEvents.GameStarted();
+        if (event.shouldCommit()) {
+            event.players = game.getPlayerCount();
+            event.seed = gameSeed;
+            event.reset = reset;
+            event.commit();
+        }
+    }
+
+    /**
+     * Set the store keeping player profiles across games.
+     * Results are written on the thread changing the model, and write failures are thrown from there.
+     *
+     * @param profileStore The profile store, or null to keep no profiles
+     */
+    public void setProfileStore(PlayerProfileStore profileStore) {
+        setProfileStore(profileStore, null, null);
+    }
+
+    /**
+     * Set the store keeping player profiles across games, written on an executor so the
+     * game does not wait for the disk. Writes are handed over in order, so the executor
+     * should run one task at a time.
+     *
+     * @param profileStore The profile store, or null to keep no profiles
+     * @param executor The executor writing the profiles, or null to write on the thread changing the model
+     * @param errorHandler Receives failed writes, on the writing thread; null to throw them
+     */
+    public void setProfileStore(PlayerProfileStore profileStore, Executor executor,
+                                Consumer<RuntimeException> errorHandler) {
+        this.profileStore = profileStore;
+        this.profileExecutor = executor;
+        this.profileErrorHandler = errorHandler;
+    }
+
+    public PlayerProfileStore getProfileStore() {
+        return profileStore;
+    }
+
+    private void writeProfiles(Consumer<PlayerProfileStore> write) {
+        PlayerProfileStore store = profileStore;
+        Consumer<RuntimeException> errorHandler = profileErrorHandler;
+        Runnable task = () -> {
+            try {
+                write.accept(store);
+            } catch (RuntimeException e) {
+                if (errorHandler == null) {
+                    throw e;
+                }
+                errorHandler.accept(e);
+            }
+        };
+        if (profileExecutor == null) {
+            task.run();
+        } else {
+            profileExecutor.execute(task);
+        }
+    }
+
     /**
      * Switch to the next player's turn.
      */
     public void nextTurn() {
+        if (recorder != null) {
+            recorder.nextTurn();
+        }
+        saveUndoPoint();
         game.switchPlayer();
-        notifyObservers();
+        notifyObservers(new ModelEvent.TurnChanged(game.getCurrentPlayerIndex()));
+    }
+
+    /**
+     * Take back the last answer, timeout, turn switch or reset.
+     * Undo history is kept per game and starts over with every new game,
+     * and with a reset after the game was over.
+     *
+     * @return true if something was undone
+     */
+    public boolean undo() {
+        if (undoHistory == null) {
+            return false;
+        }
+        requireNoBatch();
+        if (recorder != null) {
+            recorder.undo();
+        }
+        redoHistory = new HistoryEntry(state, redoHistory);
+        GameState target = undoHistory.state;
+        undoHistory = undoHistory.previous;
+        restore(target);
+        return true;
+    }
+
+    /**
+     * Apply the last undone action again.
+     *
+     * @return true if something was redone
+     */
+    public boolean redo() {
+        if (redoHistory == null) {
+            return false;
+        }
+        requireNoBatch();
+        if (recorder != null) {
+            recorder.redo();
+        }
+        undoHistory = new HistoryEntry(state, undoHistory);
+        GameState target = redoHistory.state;
+        redoHistory = redoHistory.previous;
+        restore(target);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return undoHistory != null;
+    }
+
+    public boolean canRedo() {
+        return redoHistory != null;
+    }
+
+    /**
+     * Get the number of actions that can be undone.
+     *
+     * @return The depth of the undo history
+     */
+    public int getUndoDepth() {
+        return undoHistory == null ? 0 : undoHistory.depth;
+    }
+
+    /**
+     * Remember the published state before an undoable action.
+     * Published states are immutable and share unchanged players, so each entry only
+     * costs the history node itself; several actions in one batch form one undo step.
+     */
+    private void saveUndoPoint() {
+        if (undoHistory == null || undoHistory.state != state) {
+            undoHistory = new HistoryEntry(state, undoHistory);
+        }
+        redoHistory = null;
+    }
+
+    /**
+     * Put the game back to a state from the history.
+     * Going back before the end of the game takes its result back; going forward to it ends the game again.
+     */
+    private void restore(GameState target) {
+        boolean wasOver = game.isGameOver();
+        game.restore(target);
+        beginBatch();
+        try {
+            notifyObservers(new ModelEvent.GameReset(game.getPlayerCount()));
+            if (!wasOver && game.isGameOver()) {
+                gameEnded();
+            } else if (wasOver && !game.isGameOver()) {
+                gameResumed();
+            }
+        } finally {
+            endBatch();
+        }
+    }
+
+    private void requireNoBatch() {
+        if (batchDepth > 0) {
+            throw new IllegalStateException("Cannot undo or redo inside a batch");
+        }
     }
 
     /**
      * Check if the game is over.
      *
-     * @return true if one player has been eliminated
+     * @return true if at most one player is left
      */
     public boolean isGameOver() {
         return game != null && game.isGameOver();
@@ -128,8 +684,29 @@ public class QuizModel {
      */
     public void addQuestion(String category, Question question) {
         if (game != null) {
+            if (recorder != null) {
+                recorder.addQuestion(category, question);
+            }
             game.addQuestion(category, question);
-            notifyObservers();
+            notifyObservers(new ModelEvent.QuestionAdded(category, question));
+        }
+    }
+
+    /**
+     * Replace a question of the game, e.g. after it was edited.
+     *
+     * @param category The category of the question
+     * @param index Position of the question in the category
+     * @param question The question to put in its place
+     * @throws IndexOutOfBoundsException If the category has no question at that position
+     */
+    public void replaceQuestion(String category, int index, Question question) {
+        if (game != null) {
+            game.replaceQuestion(category, index, question);
+            if (recorder != null) {
+                recorder.replaceQuestion(category, index, question);
+            }
+            notifyObservers(new ModelEvent.QuestionReplaced(category, index, question));
         }
     }
 
@@ -146,21 +723,25 @@ public class QuizModel {
 
     /**
      * Get all question categories.
+     * Before the first game, these are the categories of the question bank, if set.
      *
      * @return Array of category names
      */
     public String[] getCategories() {
-        if (game == null) return new String[0];
+        if (game == null) {
+            return questionBank == null ? new String[0] : questionBank.keySet().toArray(new String[0]);
+        }
         return game.getCategories();
     }
 
     /**
      * Register an observer to listen to model changes.
+     * Safe to call from any thread, also while observers are being notified.
      *
      * @param observer The observer to register
      */
     public void addObserver(ModelObserver observer) {
-        observers.add(observer);
+        observers.add(new ObserverRegistration(observer, events -> observer.modelChanged()));
     }
 
     /**
@@ -169,15 +750,225 @@ public class QuizModel {
      * @param observer The observer to unregister
      */
     public void removeObserver(ModelObserver observer) {
-        observers.remove(observer);
+        observers.removeIf(registration -> registration.key == observer);
+    }
+
+    /**
+     * Register a listener receiving typed change events.
+     * Safe to call from any thread, also while listeners are being notified.
+     *
+     * @param listener The listener to register
+     */
+    public void addModelListener(ModelListener listener) {
+        observers.add(new ObserverRegistration(listener, events -> {
+            for (ModelEvent event : events) {
+                listener.modelEvent(event);
+            }
+        }));
     }
 
     /**
-     * Notify all observers of model changes.
+     * Unregister a listener.
+     *
+     * @param listener The listener to unregister
      */
-    private void notifyObservers() {
-        for (ModelObserver observer : observers) {
-            observer.modelChanged();
+    public void removeModelListener(ModelListener listener) {
+        observers.removeIf(registration -> registration.key == listener);
+    }
+
+    /**
+     * Deliver notifications on an executor instead of the thread changing the model.
+     * Each observer still sees its notifications one at a time and in order,
+     * but a slow observer no longer delays the game or the other observers.
+     *
+     * @param executor The executor to dispatch on, or null to notify synchronously
+     */
+    public void setDispatchExecutor(Executor executor) {
+        this.dispatchExecutor = executor;
+    }
+
+    /**
+     * Start a batch of changes. Observers are notified once when the outermost batch ends,
+     * and only if something changed. Batches nest.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * End a batch of changes started with {@link #beginBatch()}.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endBatch without beginBatch");
+        }
+        if (--batchDepth == 0 && !pendingEvents.isEmpty()) {
+            List<ModelEvent> events = new ArrayList<>(pendingEvents);
+            pendingEvents.clear();
+            deliver(events);
+        }
+    }
+
+    /**
+     * Run several changes as one batch, notifying observers at most once.
+     *
+     * @param changes The changes to apply
+     */
+    public void runBatch(Runnable changes) {
+        beginBatch();
+        try {
+            changes.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    /**
+     * Get the number of notification rounds delivered to the observers.
+     *
+     * @return The number of notifications
+     */
+    public long getNotificationCount() {
+        return notificationCount.get();
+    }
+
+    /**
+     * Get the number of changes folded into the notification at the end of a batch.
+     *
+     * @return The number of notifications saved by batching
+     */
+    public long getCoalescedNotificationCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Notify all observers of a model change, or remember it while a batch is open.
+     *
+     * @param event The change
+     */
+    private void notifyObservers(ModelEvent event) {
+        if (batchDepth > 0) {
+            if (!pendingEvents.isEmpty()) {
+                coalescedCount.incrementAndGet();
+            }
+            pendingEvents.add(event);
+            return;
+        }
+        deliver(List.of(event));
+    }
+
+    /**
+     * Deliver one notification with all its events to every observer.
+     *
+     * @param events The changes, in order
+     */
+    private void deliver(List<ModelEvent> events) {
+        state = apply(state, events);
+        notificationCount.incrementAndGet();
+        Executor executor = dispatchExecutor;
+        for (ObserverRegistration registration : observers) {
+            if (executor == null) {
+                dispatch(registration, events);
+            } else {
+                registration.dispatch(() -> dispatch(registration, events), executor);
+            }
+        }
+    }
+
+    private static void dispatch(ObserverRegistration registration, List<ModelEvent> events) {
+        long start = System.nanoTime();
+        try {
+            registration.sink.accept(events);
+        } catch (RuntimeException e) {
+            // A failing observer must not keep the others, or its own later notifications, from being delivered
+            log.error("Observer failed to handle {}", events, e);
+        } finally {
+            Metrics.OBSERVER_DISPATCH.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Derive the next published state from the previous one and the changes since.
+     *
+     * @param previous The last published state
+     * @param events The changes, in order
+     * @return The new state
+     */
+    private GameState apply(GameState previous, List<ModelEvent> events) {
+        long version = previous.getVersion() + 1;
+        GameState next = previous;
+        for (ModelEvent event : events) {
+            if (event instanceof ModelEvent.GameReset) {
+                next = GameState.of(game, version);
+            } else if (event instanceof ModelEvent.ScoreChanged) {
+                ModelEvent.ScoreChanged score = (ModelEvent.ScoreChanged) event;
+                next = next.withScore(score.getPlayerIndex(), score.getScore(),
+                        score.getCorrectAnswers(), score.getTotalQuestions(), version);
+            } else if (event instanceof ModelEvent.TurnChanged) {
+                next = next.withCurrentPlayer(((ModelEvent.TurnChanged) event).getPlayerIndex(), version);
+            } else if (event instanceof ModelEvent.GameOver) {
+                next = next.withGameOver(((ModelEvent.GameOver) event).getWinnerIndex(), version);
+            } else if (event instanceof ModelEvent.QuestionAdded || event instanceof ModelEvent.QuestionReplaced) {
+                next = next.withQuestionsOf(game, version);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Node of a persistent stack of states; pushing shares the whole rest of the stack.
+     */
+    private static final class HistoryEntry {
+        private final GameState state;
+        private final HistoryEntry previous;
+        private final int depth;
+
+        HistoryEntry(GameState state, HistoryEntry previous) {
+            this.state = state;
+            this.previous = previous;
+            this.depth = previous == null ? 1 : previous.depth + 1;
+        }
+    }
+
+    /**
+     * A registered observer or listener with its own queue, so asynchronous notifications
+     * for one observer never overlap or overtake each other.
+     */
+    private static final class ObserverRegistration {
+        private final Object key;
+        private final Consumer<List<ModelEvent>> sink;
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        ObserverRegistration(Object key, Consumer<List<ModelEvent>> sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+
+        void dispatch(Runnable notification, Executor executor) {
+            pending.add(notification);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(() -> drain(executor));
+            }
+        }
+
+        private void drain(Executor executor) {
+            Runnable notification;
+            try {
+                while ((notification = pending.poll()) != null) {
+                    try {
+                        notification.run();
+                    } catch (RuntimeException e) {
+                        log.error("Notification failed", e);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Pick up notifications queued after the last poll but before the flag was cleared
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(() -> drain(executor));
+            }
         }
     }
 
@@ -186,8 +977,20 @@ public class QuizModel {
      */
     public void resetGame() {
         if (game != null) {
+            if (recorder != null) {
+                recorder.reset();
+            }
+            if (game.isGameOver()) {
+                // The finished game stays in the profiles, so the new round cannot be undone into it
+                undoHistory = null;
+                redoHistory = null;
+            } else {
+                saveUndoPoint();
+            }
             game.reset();
-            notifyObservers();
+            recordedResult = null;
+            gameStarted(true);
+            notifyObservers(new ModelEvent.GameReset(game.getPlayerCount()));
         }
     }
 }
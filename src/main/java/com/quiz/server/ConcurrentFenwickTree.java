@@ -0,0 +1,61 @@
+package com.quiz.server;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size Fenwick (binary indexed) tree of counts with lock-free updates.
+ * Both point updates and prefix sums are O(log n). Concurrent updates never get lost;
+ * a prefix sum taken while updates are in flight may include some of them but not others.
+ */
+class ConcurrentFenwickTree {
+    private final AtomicIntegerArray tree;
+
+    /**
+     * Constructor for ConcurrentFenwickTree.
+     *
+     * @param size Number of slots, indexed 0 to size - 1
+     */
+    ConcurrentFenwickTree(int size) {
+        this.tree = new AtomicIntegerArray(size + 1);
+    }
+
+    /**
+     * Add to the count of one slot.
+     *
+     * @param index The slot
+     * @param delta The amount to add
+     */
+    void add(int index, int delta) {
+        for (int i = index + 1; i < tree.length(); i += i & -i) {
+            tree.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * Sum the counts of slots 0 to index inclusive.
+     *
+     * @param index The last slot to include
+     * @return The sum
+     */
+    int prefixSum(int index) {
+        int sum = 0;
+        for (int i = Math.min(index + 1, tree.length() - 1); i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Sum the counts of all slots above index.
+     *
+     * @param index The slot to start after
+     * @return The sum
+     */
+    int suffixSumAbove(int index) {
+        return prefixSum(tree.length() - 2) - prefixSum(index);
+    }
+
+    int size() {
+        return tree.length() - 1;
+    }
+}
@@ -0,0 +1,219 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Elo ratings for all registered players, stored in primitive arrays indexed by player id.
+ * Batches of results are split into waves in which no player appears twice; the games of a
+ * wave are rated in parallel without locks, and waves run in order. Because every player's
+ * games stay in their original order, a parallel batch gives exactly the same ratings as
+ * rating the games one by one.
+ */
+public class EloRatingEngine {
+    /** Rating of a player without games. */
+    public static final double DEFAULT_RATING = 1500.0;
+    /** Default maximum rating change per game. */
+    public static final double DEFAULT_K_FACTOR = 32.0;
+
+    private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+    private final ConcurrentMap<String, Integer> playerIds = new ConcurrentHashMap<>();
+    private final double initialRating;
+    private final double kFactor;
+    private double[] ratings;
+    private int[] gamesPlayed;
+    private int playerCount;
+
+    /**
+     * Constructor for EloRatingEngine with default rating and K-factor.
+     */
+    public EloRatingEngine() {
+        this(1024, DEFAULT_RATING, DEFAULT_K_FACTOR);
+    }
+
+    /**
+     * Constructor for EloRatingEngine.
+     *
+     * @param expectedPlayers Initial capacity of the rating arrays
+     * @param initialRating Rating of a new player
+     * @param kFactor Maximum rating change per game
+     */
+    public EloRatingEngine(int expectedPlayers, double initialRating, double kFactor) {
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+        this.ratings = new double[Math.max(16, expectedPlayers)];
+        this.gamesPlayed = new int[ratings.length];
+    }
+
+    /**
+     * Get the id of a player, registering them with the initial rating if needed.
+     * Not safe to call while a batch is being rated.
+     *
+     * @param playerId Stable player id, e.g. the net name
+     * @return The index of the player in the rating arrays
+     */
+    public synchronized int idOf(String playerId) {
+        Integer id = playerIds.get(playerId);
+        if (id != null) {
+            return id;
+        }
+        if (playerCount == ratings.length) {
+            int capacity = ratings.length * 2;
+            ratings = Arrays.copyOf(ratings, capacity);
+            gamesPlayed = Arrays.copyOf(gamesPlayed, capacity);
+        }
+        ratings[playerCount] = initialRating;
+        playerIds.put(playerId, playerCount);
+        return playerCount++;
+    }
+
+    public double getRating(int id) {
+        return ratings[id];
+    }
+
+    /**
+     * Get the rating of a player.
+     *
+     * @param playerId The player id
+     * @return The rating, or the initial rating for unknown players
+     */
+    public double getRating(String playerId) {
+        Integer id = playerIds.get(playerId);
+        return id == null ? initialRating : ratings[id];
+    }
+
+    public int getGamesPlayed(int id) {
+        return gamesPlayed[id];
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Rate a finished game. In games with more than two players, the winner is
+     * rated as having beaten every other player.
+     *
+     * @param game The finished game
+     */
+    public void recordGame(QuizGame game) {
+        Player winner = game.getWinner();
+        if (winner == null) {
+            return;
+        }
+        int winnerId = idOf(Leaderboard.playerId(winner));
+        for (int i = 0; i < game.getPlayerCount(); i++) {
+            Player player = game.getPlayer(i);
+            if (player != winner) {
+                rate(winnerId, idOf(Leaderboard.playerId(player)));
+            }
+        }
+    }
+
+    /**
+     * Rate a single game.
+     *
+     * @param winner Id of the winner
+     * @param loser Id of the loser
+     */
+    public void rate(int winner, int loser) {
+        double expected = 1.0 / (1.0 + Math.pow(10.0, (ratings[loser] - ratings[winner]) / 400.0));
+        double delta = kFactor * (1.0 - expected);
+        ratings[winner] += delta;
+        ratings[loser] -= delta;
+        gamesPlayed[winner]++;
+        gamesPlayed[loser]++;
+    }
+
+    /**
+     * Rate a batch of games in parallel, with the same result as rating them in order.
+     *
+     * @param winners Winner id of each game
+     * @param losers Loser id of each game, parallel to winners
+     * @param count Number of games to rate from the start of the arrays
+     * @param pool Pool running the waves
+     */
+    public void rateBatch(int[] winners, int[] losers, int count, ForkJoinPool pool) {
+        // wave of a game = one after the last wave either player appeared in
+        int[] lastWave = new int[playerCount];
+        int[] wave = new int[count];
+        int waves = 0;
+        for (int g = 0; g < count; g++) {
+            int w = Math.max(lastWave[winners[g]], lastWave[losers[g]]) + 1;
+            lastWave[winners[g]] = w;
+            lastWave[losers[g]] = w;
+            wave[g] = w;
+            waves = Math.max(waves, w);
+        }
+
+        // Counting sort of the game indices by wave
+        int[] waveStart = new int[waves + 2];
+        for (int g = 0; g < count; g++) {
+            waveStart[wave[g] + 1]++;
+        }
+        for (int w = 1; w < waveStart.length; w++) {
+            waveStart[w] += waveStart[w - 1];
+        }
+        int[] order = new int[count];
+        int[] fill = Arrays.copyOf(waveStart, waveStart.length);
+        for (int g = 0; g < count; g++) {
+            order[fill[wave[g]]++] = g;
+        }
+
+        for (int w = 1; w <= waves; w++) {
+            int from = waveStart[w];
+            int to = waveStart[w + 1];
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                rateRange(order, winners, losers, from, to);
+            } else {
+                pool.invoke(new WaveTask(order, winners, losers, from, to));
+            }
+        }
+    }
+
+    private void rateRange(int[] order, int[] winners, int[] losers, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int g = order[i];
+            rate(winners[g], losers[g]);
+        }
+    }
+
+    /**
+     * Rates a slice of one wave; slices never share a player.
+     */
+    private final class WaveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] order;
+        private final int[] winners;
+        private final int[] losers;
+        private final int from;
+        private final int to;
+
+        WaveTask(int[] order, int[] winners, int[] losers, int from, int to) {
+            this.order = order;
+            this.winners = winners;
+            this.losers = losers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                rateRange(order, winners, losers, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new WaveTask(order, winners, losers, from, mid),
+                    new WaveTask(order, winners, losers, mid, to));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.quiz.server;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizModel;
+
+/**
+ * A single hosted game on the server side.
+ * A session is owned by exactly one shard and must only be touched from that shard's thread.
+ */
+public class GameSession {
+    private final String id;
+    private final QuizModel model;
+    private Question currentQuestion;
+    private HashedWheelTimer.Timeout answerDeadline;
+    private long questionSequence;
+    private boolean resultReported;
+
+    /**
+     * Constructor for GameSession.
+     *
+     * @param id The session id
+     * @param model The model holding the game state of this session
+     */
+    public GameSession(String id, QuizModel model) {
+        this.id = id;
+        this.model = model;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public QuizModel getModel() {
+        return model;
+    }
+
+    public Question getCurrentQuestion() {
+        return currentQuestion;
+    }
+
+    public long getQuestionSequence() {
+        return questionSequence;
+    }
+
+    /**
+     * Serve a new question, cancelling the deadline of the previous one.
+     *
+     * @param question The question now being answered
+     * @return The sequence number identifying this serve
+     */
+    long serve(Question question) {
+        cancelAnswerDeadline();
+        currentQuestion = question;
+        return ++questionSequence;
+    }
+
+    /**
+     * Finish the current question, cancelling its deadline.
+     *
+     * @return The question that was being answered, or null if none
+     */
+    Question finishQuestion() {
+        cancelAnswerDeadline();
+        Question question = currentQuestion;
+        currentQuestion = null;
+        return question;
+    }
+
+    /**
+     * Mark the result of a finished game as reported.
+     *
+     * @return true the first time it is called
+     */
+    boolean markResultReported() {
+        if (resultReported) {
+            return false;
+        }
+        resultReported = true;
+        return true;
+    }
+
+    void setAnswerDeadline(HashedWheelTimer.Timeout answerDeadline) {
+        this.answerDeadline = answerDeadline;
+    }
+
+    /**
+     * Cancel the deadline of the current question, e.g. when the session leaves its shard.
+     * The question stays open.
+     */
+    void cancelAnswerDeadline() {
+        if (answerDeadline != null) {
+            answerDeadline.cancel();
+            answerDeadline = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GameSession{" +
+                "id='" + id + '\'' +
+                ", game=" + model.getGame() +
+                '}';
+    }
+}
@@ -0,0 +1,304 @@
+package com.quiz.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Timer for large numbers of short-lived deadlines, such as per-question answer timeouts.
+ * Timeouts are hashed into a ring of buckets by their deadline tick; a single worker thread
+ * advances one bucket per tick and fires whatever expired. Scheduling and cancelling are O(1)
+ * and allocate a single node per timeout, at the cost of firing up to one tick late.
+ */
+public class HashedWheelTimer {
+    /**
+     * Handle for a scheduled task.
+     */
+    public interface Timeout {
+        /**
+         * Cancel the task if it has not run yet.
+         *
+         * @return true if the task was cancelled by this call
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Constructor for HashedWheelTimer with 100ms ticks and 512 buckets.
+     */
+    public HashedWheelTimer() {
+        this(100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Constructor for HashedWheelTimer.
+     *
+     * @param tickDuration Duration of one tick, i.e. the timer resolution
+     * @param unit Unit of the tick duration
+     * @param ticksPerWheel Number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this::runWorker, "hashed-wheel-timer");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Schedule a task. The task runs on the timer thread and must be short,
+     * typically handing the real work to another queue.
+     *
+     * @param task The task to run when the delay has passed
+     * @param delay The delay
+     * @param unit Unit of the delay
+     * @return A handle to cancel the task
+     * @throws IllegalStateException If the timer was stopped
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        startIfNeeded();
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+        if (stopped && pendingTimeouts.remove(timeout)) {
+            // Stopped while scheduling; the worker will never see the task
+            throw new IllegalStateException("Timer stopped");
+        }
+        return timeout;
+    }
+
+    /**
+     * Stop the timer. Tasks that have not fired yet are dropped, and new ones are rejected.
+     *
+     * @throws InterruptedException If interrupted while waiting for the worker
+     */
+    public void stop() throws InterruptedException {
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        worker.interrupt();
+        worker.join();
+    }
+
+    private void startIfNeeded() {
+        if (!running) {
+            synchronized (this) {
+                if (stopped) {
+                    throw new IllegalStateException("Timer stopped");
+                }
+                if (!running) {
+                    startTime = System.nanoTime();
+                    running = true;
+                    worker.start();
+                }
+            }
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            if (waitForNextTick() < 0) {
+                break;
+            }
+            processCancelledTimeouts();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state == WheelTimeout.ST_CANCELLED) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // Deadlines already in the past go into the current bucket
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A scheduled task, also acting as its own node in the bucket's linked list.
+     */
+    private static final class WheelTimeout implements Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+        private long remainingRounds;
+
+        // Only touched by the worker thread
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // A failing task must not kill the timer thread
+                Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed to one wheel slot.
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Global ranking of players by wins, then accuracy, fed by finished games.
+ * Standings are kept in a concurrent skip list for top-K queries, keyed by a single packed long
+ * so ordering never has to dereference the standing itself, and the rank of a player is
+ * counted in Fenwick trees over wins and accuracy, so both queries are O(log n) and updates for
+ * different players never block each other. Players with equal wins and accuracy share a rank
+ * and are listed in order of their first recorded game.
+ * Readers running during an update may briefly see a player's old and new standing disagree.
+ */
+public class Leaderboard implements Consumer<QuizGame> {
+    /** Wins are counted exactly up to this value; players above it share the top bucket. */
+    static final int MAX_COUNTED_WINS = (1 << 20) - 1;
+    private static final int ACCURACY_BUCKETS = 1001;
+    private static final int SEQUENCE_BITS = 33;
+    private static final int ACCURACY_BITS = 10;
+
+    /**
+     * Immutable record of one player's results.
+     */
+    public static final class Standing {
+        private final String playerId;
+        private final long sequence;
+        private final String name;
+        private final int wins;
+        private final int games;
+        private final long correctAnswers;
+        private final long totalQuestions;
+
+        Standing(String playerId, long sequence, String name, int wins, int games,
+                 long correctAnswers, long totalQuestions) {
+            this.playerId = playerId;
+            this.sequence = sequence;
+            this.name = name;
+            this.wins = wins;
+            this.games = games;
+            this.correctAnswers = correctAnswers;
+            this.totalQuestions = totalQuestions;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        /**
+         * Get the share of correctly answered questions.
+         *
+         * @return The accuracy in percent
+         */
+        public double getAccuracy() {
+            return totalQuestions == 0 ? 0 : correctAnswers * 100.0 / totalQuestions;
+        }
+
+        int accuracyPermille() {
+            return totalQuestions == 0 ? 0 : (int) (correctAnswers * 1000 / totalQuestions);
+        }
+
+        int winsBucket() {
+            return Math.min(wins, MAX_COUNTED_WINS);
+        }
+
+        /**
+         * Pack wins, accuracy and registration order into one key that sorts best first.
+         */
+        long rankKey() {
+            return ((long) (MAX_COUNTED_WINS - winsBucket()) << (ACCURACY_BITS + SEQUENCE_BITS))
+                    | ((long) (ACCURACY_BUCKETS - 1 - accuracyPermille()) << SEQUENCE_BITS)
+                    | sequence;
+        }
+
+        @Override
+        public String toString() {
+            return "Standing{" +
+                    "playerId='" + playerId + '\'' +
+                    ", wins=" + wins +
+                    ", games=" + games +
+                    ", accuracy=" + String.format("%.1f", getAccuracy()) +
+                    '}';
+        }
+    }
+
+    private final ConcurrentMap<String, Standing> standings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Standing> ranking = new ConcurrentSkipListMap<>();
+    private final AtomicLong registrations = new AtomicLong();
+    private final ConcurrentFenwickTree playersByWins = new ConcurrentFenwickTree(MAX_COUNTED_WINS + 1);
+    private final ConcurrentMap<Integer, ConcurrentFenwickTree> accuracyByWins = new ConcurrentHashMap<>();
+
+    /**
+     * Record all players of a finished game. Games that are not over are ignored.
+     *
+     * @param game The finished game
+     */
+    @Override
+    public void accept(QuizGame game) {
+        recordGame(game);
+    }
+
+    /**
+     * Record all players of a finished game. Games that are not over are ignored.
+     *
+     * @param game The finished game
+     */
+    public void recordGame(QuizGame game) {
+        if (!game.isGameOver()) {
+            return;
+        }
+        Player winner = game.getWinner();
+        for (int i = 0; i < game.getPlayerCount(); i++) {
+            Player player = game.getPlayer(i);
+            record(playerId(player), player.getName(), player == winner,
+                    player.getCorrectAnswers(), player.getTotalQuestions());
+        }
+    }
+
+    /**
+     * Add one game result for a player.
+     *
+     * @param playerId Stable id of the player, e.g. the net name
+     * @param name Display name
+     * @param won Whether the player won the game
+     * @param correctAnswers Correct answers in the game
+     * @param totalQuestions Questions answered in the game
+     */
+    public void record(String playerId, String name, boolean won, int correctAnswers, int totalQuestions) {
+        // compute() serialises updates of the same player without blocking other players
+        standings.compute(playerId, (id, old) -> {
+            Standing updated = old == null
+                    ? new Standing(id, registrations.getAndIncrement(), name, won ? 1 : 0, 1,
+                            correctAnswers, totalQuestions)
+                    : new Standing(id, old.sequence, name, old.wins + (won ? 1 : 0), old.games + 1,
+                            old.correctAnswers + correctAnswers, old.totalQuestions + totalQuestions);
+            if (old != null) {
+                ranking.remove(old.rankKey());
+                count(old, -1);
+            }
+            ranking.put(updated.rankKey(), updated);
+            count(updated, 1);
+            return updated;
+        });
+    }
+
+    private void count(Standing standing, int delta) {
+        playersByWins.add(standing.winsBucket(), delta);
+        accuracyByWins.computeIfAbsent(standing.winsBucket(), w -> new ConcurrentFenwickTree(ACCURACY_BUCKETS))
+                .add(standing.accuracyPermille(), delta);
+    }
+
+    /**
+     * Get the best players.
+     *
+     * @param k Maximum number of players to return
+     * @return Up to k standings, best first
+     */
+    public List<Standing> top(int k) {
+        List<Standing> result = new ArrayList<>(Math.min(k, 1024));
+        Iterator<Standing> iterator = ranking.values().iterator();
+        while (result.size() < k && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Get the rank of a player, 1 being the best.
+     *
+     * @param playerId The player id
+     * @return The rank, or -1 if the player has no recorded games
+     */
+    public int rankOf(String playerId) {
+        Standing standing = standings.get(playerId);
+        if (standing == null) {
+            return -1;
+        }
+        int wins = standing.winsBucket();
+        int better = playersByWins.suffixSumAbove(wins);
+        ConcurrentFenwickTree tier = accuracyByWins.get(wins);
+        if (tier != null) {
+            better += tier.suffixSumAbove(standing.accuracyPermille());
+        }
+        return better + 1;
+    }
+
+    /**
+     * Get the standing of a player.
+     *
+     * @param playerId The player id
+     * @return The standing, or null if the player has no recorded games
+     */
+    public Standing getStanding(String playerId) {
+        return standings.get(playerId);
+    }
+
+    public int size() {
+        return standings.size();
+    }
+
+    /**
+     * Get the id a player is ranked under: the net name, or the name if there is none.
+     *
+     * @param player The player
+     * @return The player id
+     */
+    public static String playerId(Player player) {
+        String netName = player.getNetName();
+        return netName == null || netName.isEmpty() ? player.getName() : netName;
+    }
+}
@@ -0,0 +1,411 @@
+package com.quiz.server;
+
+import com.quiz.model.Question;
+import com.quiz.util.ConfigManager;
+import com.quiz.util.LatencyHistogram;
+import com.quiz.util.Metrics;
+import com.quiz.util.QuestionLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Load test for a SessionEngine: simulated players play complete games, one game per bot
+ * at a time, answering correctly with a given probability after a random think time.
+ * <p>
+ * Latencies are measured from the time an action was due, not from when it was sent.
+ * If the engine, or the generator itself, falls behind, the actions waiting for it count
+ * their waiting time, so stalls are not hidden by bots that simply act less often
+ * ("coordinated omission"). The time from sending to completion is reported separately.
+ */
+public class LoadGenerator {
+    private final SessionEngine engine;
+    private final String[] categories;
+    private final int bots;
+    private final double accuracy;
+    private final long meanThinkMillis;
+    private final long seed;
+
+    private final LatencyHistogram serveLatency = new LatencyHistogram();
+    private final LatencyHistogram answerLatency = new LatencyHistogram();
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final AtomicLong gamesStarted = new AtomicLong();
+    private final AtomicLong gamesFinished = new AtomicLong();
+    private final AtomicLong questionsServed = new AtomicLong();
+    private final AtomicLong correctAnswers = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+    private volatile long stopAt;
+    private CountDownLatch stopped;
+
+    /**
+     * Constructor for LoadGenerator.
+     *
+     * @param engine The engine under test
+     * @param categories Categories the bots pick their questions from
+     * @param bots Number of games played at the same time
+     * @param accuracy Probability of a correct answer, from 0 to 1
+     * @param meanThinkMillis Mean time a player takes to answer, exponentially distributed; 0 to answer at once
+     * @param seed Seed of the bots' random decisions
+     */
+    public LoadGenerator(SessionEngine engine, String[] categories, int bots, double accuracy,
+                         long meanThinkMillis, long seed) {
+        if (bots <= 0 || categories.length == 0) {
+            throw new IllegalArgumentException("Need at least one bot and one category");
+        }
+        this.engine = engine;
+        this.categories = categories.clone();
+        this.bots = bots;
+        this.accuracy = accuracy;
+        this.meanThinkMillis = meanThinkMillis;
+        this.seed = seed;
+    }
+
+    /**
+     * Play games for a while and wait until the last actions have completed.
+     *
+     * @param duration How long to keep starting new actions
+     * @param unit Unit of the duration
+     * @param threads Number of threads sending the bots' actions
+     * @return The report of the run
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public Report run(long duration, TimeUnit unit, int threads) throws InterruptedException {
+        scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        stopped = new CountDownLatch(bots);
+        long start = System.nanoTime();
+        stopAt = start + unit.toNanos(duration);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < bots; i++) {
+            Bot bot = new Bot("bot-" + i, seeds.split());
+            // Spread the first actions over the mean think time so the bots do not start in lockstep
+            long delay = meanThinkMillis == 0 ? 0
+                    : TimeUnit.MILLISECONDS.toNanos(bot.random.nextLong(meanThinkMillis + 1));
+            scheduleAt(start + delay, bot::startGame);
+        }
+        stopped.await();
+        long elapsed = System.nanoTime() - start;
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        return new Report(this, elapsed);
+    }
+
+    /**
+     * Run an action at the time it is due.
+     * The due time, not the time the scheduler gets to it, is passed on as the start of the latency.
+     */
+    private void scheduleAt(long dueNanos, LongConsumer action) {
+        scheduler.schedule(() -> action.accept(dueNanos), Math.max(0, dueNanos - System.nanoTime()),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A simulated pair of players sharing one screen, playing one game after another.
+     */
+    private final class Bot {
+        private final String name;
+        private final SplittableRandom random;
+        private String sessionId;
+        private int games;
+        private Question question;
+
+        Bot(String name, SplittableRandom random) {
+            this.name = name;
+            this.random = random;
+        }
+
+        void startGame(long due) {
+            if (System.nanoTime() >= stopAt) {
+                stopped.countDown();
+                return;
+            }
+            sessionId = name + "-" + games++;
+            gamesStarted.incrementAndGet();
+            call(due, null, () -> engine.createSession(sessionId,
+                    new String[]{name + "a", name + "b"}, new String[]{name + "a", name + "b"}),
+                    session -> scheduleAt(System.nanoTime(), this::serve));
+        }
+
+        void serve(long due) {
+            String category = categories[random.nextInt(categories.length)];
+            call(due, serveLatency, () -> engine.serveQuestion(sessionId, category), served -> {
+                if (served == null) {
+                    throw new IllegalStateException("No questions in " + category);
+                }
+                question = served;
+                questionsServed.incrementAndGet();
+                scheduleAt(System.nanoTime() + thinkNanos(), this::answer);
+            });
+        }
+
+        void answer(long due) {
+            int correct = question.getCorrectOptionIndex();
+            int options = Math.max(2, question.getOptions().size());
+            int answer = random.nextDouble() < accuracy ? correct
+                    : (correct + 1 + random.nextInt(options - 1)) % options;
+            call(due, answerLatency, () -> engine.submitAnswer(sessionId, answer), wasCorrect -> {
+                if (wasCorrect) {
+                    correctAnswers.incrementAndGet();
+                }
+                scheduleAt(System.nanoTime(), this::nextTurn);
+            });
+        }
+
+        void nextTurn(long due) {
+            call(due, turnLatency, () -> engine.execute(sessionId, session -> {
+                if (session.getModel().isGameOver()) {
+                    return true;
+                }
+                session.getModel().nextTurn();
+                return false;
+            }), over -> {
+                if (!over) {
+                    scheduleAt(System.nanoTime(), System.nanoTime() < stopAt ? this::serve : this::finish);
+                } else {
+                    gamesFinished.incrementAndGet();
+                    finish(System.nanoTime());
+                }
+            });
+        }
+
+        void finish(long due) {
+            engine.closeSession(sessionId).whenComplete((session, error) ->
+                    scheduleAt(System.nanoTime(), this::startGame));
+        }
+
+        /**
+         * Send an engine command and handle its result on the generator's threads,
+         * so completion callbacks never block the shard that completed the command.
+         */
+        private <T> void call(long due, LatencyHistogram latency, Supplier<CompletableFuture<T>> command,
+                              Consumer<T> next) {
+            long sent = System.nanoTime();
+            CompletableFuture<T> result;
+            try {
+                result = command.get();
+            } catch (RuntimeException e) {
+                fail();
+                return;
+            }
+            result.whenComplete((value, error) -> {
+                long done = System.nanoTime();
+                serviceTime.record(done - sent);
+                if (latency != null) {
+                    latency.record(done - due);
+                }
+                if (error != null) {
+                    fail();
+                    return;
+                }
+                scheduler.execute(() -> {
+                    try {
+                        next.accept(value);
+                    } catch (RuntimeException e) {
+                        fail();
+                    }
+                });
+            });
+        }
+
+        private void fail() {
+            errors.incrementAndGet();
+            stopped.countDown();
+        }
+
+        private long thinkNanos() {
+            if (meanThinkMillis == 0) {
+                return 0;
+            }
+            return (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.MILLISECONDS.toNanos(meanThinkMillis));
+        }
+    }
+
+    /**
+     * Throughput and latencies of a finished run.
+     */
+    public static final class Report {
+        private final int bots;
+        private final long elapsedNanos;
+        private final long gamesStarted;
+        private final long gamesFinished;
+        private final long questionsServed;
+        private final long correctAnswers;
+        private final long errors;
+        private final LatencyHistogram serveLatency;
+        private final LatencyHistogram answerLatency;
+        private final LatencyHistogram turnLatency;
+        private final LatencyHistogram serviceTime;
+
+        private Report(LoadGenerator generator, long elapsedNanos) {
+            this.bots = generator.bots;
+            this.elapsedNanos = elapsedNanos;
+            this.gamesStarted = generator.gamesStarted.get();
+            this.gamesFinished = generator.gamesFinished.get();
+            this.questionsServed = generator.questionsServed.get();
+            this.correctAnswers = generator.correctAnswers.get();
+            this.errors = generator.errors.get();
+            this.serveLatency = generator.serveLatency;
+            this.answerLatency = generator.answerLatency;
+            this.turnLatency = generator.turnLatency;
+            this.serviceTime = generator.serviceTime;
+        }
+
+        public long getGamesStarted() {
+            return gamesStarted;
+        }
+
+        public long getGamesFinished() {
+            return gamesFinished;
+        }
+
+        public long getQuestionsServed() {
+            return questionsServed;
+        }
+
+        public long getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Get the latencies of serving a question, measured from the time it was due.
+         *
+         * @return Latencies in nanoseconds
+         */
+        public LatencyHistogram getServeLatency() {
+            return serveLatency;
+        }
+
+        /**
+         * Get the latencies of submitting an answer, measured from the time it was due.
+         *
+         * @return Latencies in nanoseconds
+         */
+        public LatencyHistogram getAnswerLatency() {
+            return answerLatency;
+        }
+
+        /**
+         * Get the latencies of switching turns, measured from the time it was due.
+         *
+         * @return Latencies in nanoseconds
+         */
+        public LatencyHistogram getTurnLatency() {
+            return turnLatency;
+        }
+
+        /**
+         * Get the time from sending to completion of all commands, without waiting time.
+         *
+         * @return Service times in nanoseconds
+         */
+        public LatencyHistogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /**
+         * Get the number of engine commands completed per second.
+         *
+         * @return The throughput
+         */
+        public double getCommandsPerSecond() {
+            return serviceTime.getCount() / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            String newline = System.lineSeparator();
+            return String.format("%d bots for %.1f s: %d games started, %d finished (%.1f games/s)%n",
+                    bots, seconds, gamesStarted, gamesFinished, gamesFinished / seconds)
+                    + String.format("%d questions served (%.0f/s), %.1f%% answered correctly, %d errors%n",
+                    questionsServed, questionsServed / seconds,
+                    questionsServed == 0 ? 0 : 100.0 * correctAnswers / questionsServed, errors)
+                    + String.format("%.0f commands/s%n", getCommandsPerSecond())
+                    + "Latency from due time:" + newline
+                    + "  serve   " + serveLatency.summary(TimeUnit.NANOSECONDS) + newline
+                    + "  answer  " + answerLatency.summary(TimeUnit.NANOSECONDS) + newline
+                    + "  turn    " + turnLatency.summary(TimeUnit.NANOSECONDS) + newline
+                    + "Service time (from sending):" + newline
+                    + "  all     " + serviceTime.summary(TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Run a load test from the command line against an engine in this process.
+     * Usage: LoadGenerator &lt;bots&gt; &lt;seconds&gt; [accuracy] [mean think millis] [shards]
+     *
+     * @param args Command line arguments
+     * @throws Exception If the test cannot run
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadGenerator <bots> <seconds> [<accuracy>] [<mean think millis>] [<shards>]");
+            System.exit(1);
+        }
+        int bots = Integer.parseInt(args[0]);
+        long seconds = Long.parseLong(args[1]);
+        double accuracy = args.length > 2 ? Double.parseDouble(args[2]) : 0.7;
+        long think = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        int shards = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        Metrics.registerMBeans();
+        Map<String, List<Question>> bank = loadBank();
+        SessionEngine engine = new SessionEngine(bank, shards, SessionEngine.DEFAULT_QUEUE_CAPACITY);
+        try {
+            LoadGenerator generator = new LoadGenerator(engine, bank.keySet().toArray(new String[0]),
+                    bots, accuracy, think, System.nanoTime());
+            System.out.println(generator.run(seconds, TimeUnit.SECONDS,
+                    Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * Load the configured question files, or generate questions if there are none.
+     */
+    private static Map<String, List<Question>> loadBank() throws IOException {
+        Path path = Paths.get(ConfigManager.getQuestionsPath());
+        Map<String, List<Question>> bank = Files.isDirectory(path)
+                ? QuestionLoader.loadDirectory(path, ConfigManager.getQuestionsExtension()) : new LinkedHashMap<>();
+        bank.values().removeIf(List::isEmpty);
+        if (bank.isEmpty()) {
+            for (String category : new String[]{"BWL", "Datenbanken", "Programmierung"}) {
+                List<Question> questions = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    questions.add(new Question(category, category + " question " + i + "?",
+                            Arrays.asList("A", "B", "C", "D"), i % 4));
+                }
+                bank.put(category, questions);
+            }
+        }
+        return bank;
+    }
+}
@@ -0,0 +1,22 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+
+/**
+ * Plays a single tournament match to completion.
+ */
+public interface MatchRunner {
+    /**
+     * Play a two-player game between the given players.
+     * Called concurrently for all matches of a round, each time with different players.
+     * The players are copies made for this match; the winner of the returned game must be one
+     * of them. A cancelled match is interrupted.
+     *
+     * @param first The first player, who starts
+     * @param second The second player
+     * @return The finished game; its winner advances
+     * @throws Exception If the match could not be played
+     */
+    QuizGame play(Player first, Player second) throws Exception;
+}
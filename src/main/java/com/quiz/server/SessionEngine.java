@@ -0,0 +1,307 @@
+package com.quiz.server;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizGame;
+import com.quiz.model.QuizModel;
+import com.quiz.util.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hosts many concurrent games on a fixed set of shard threads.
+ * Every session is hashed to one shard, which exclusively owns it and processes its
+ * commands in order, so QuizGame and QuizModel stay single-threaded.
+ */
+public class SessionEngine {
+    /** Default number of pending commands per shard. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final SessionShard[] shards;
+    private final Map<String, List<Question>> questionBank;
+    private final HashedWheelTimer timer;
+    private final boolean ownsTimer;
+    private final long answerTimeoutMillis;
+    private volatile Consumer<QuizGame> gameOverListener = game -> { };
+
+    /**
+     * Constructor for SessionEngine with one shard per available core
+     * and the answer deadline from game.timePerQuestion.
+     *
+     * @param questionBank Questions by category, shared read-only by all sessions
+     */
+    public SessionEngine(Map<String, List<Question>> questionBank) {
+        this(questionBank, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY,
+                null, TimeUnit.SECONDS.toMillis(ConfigManager.getTimePerQuestion()));
+    }
+
+    /**
+     * Constructor for SessionEngine without answer deadlines.
+     *
+     * @param questionBank Questions by category, shared read-only by all sessions
+     * @param shardCount Number of shard threads
+     * @param queueCapacity Maximum number of pending commands per shard
+     */
+    public SessionEngine(Map<String, List<Question>> questionBank, int shardCount, int queueCapacity) {
+        this(questionBank, shardCount, queueCapacity, null, 0);
+    }
+
+    /**
+     * Constructor for SessionEngine.
+     *
+     * @param questionBank Questions by category, shared read-only by all sessions
+     * @param shardCount Number of shard threads
+     * @param queueCapacity Maximum number of pending commands per shard
+     * @param timer Timer for answer deadlines, or null to let the engine create its own
+     * @param answerTimeoutMillis Time to answer a served question, 0 for no deadline
+     */
+    public SessionEngine(Map<String, List<Question>> questionBank, int shardCount, int queueCapacity,
+                         HashedWheelTimer timer, long answerTimeoutMillis) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.questionBank = questionBank;
+        this.answerTimeoutMillis = answerTimeoutMillis;
+        this.ownsTimer = timer == null && answerTimeoutMillis > 0;
+        this.timer = ownsTimer ? new HashedWheelTimer() : timer;
+        this.shards = new SessionShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new SessionShard(i, queueCapacity);
+            shards[i].start();
+        }
+    }
+
+    /**
+     * Create a new two-player session on its shard.
+     *
+     * @param sessionId The session id
+     * @param player1Name Name of player 1
+     * @param player1NetName Network name of player 1
+     * @param player2Name Name of player 2
+     * @param player2NetName Network name of player 2
+     * @return A future completed once the session is hosted
+     */
+    public CompletableFuture<GameSession> createSession(String sessionId,
+                                                        String player1Name, String player1NetName,
+                                                        String player2Name, String player2NetName) {
+        return createSession(sessionId, new String[]{player1Name, player2Name},
+                new String[]{player1NetName, player2NetName});
+    }
+
+    /**
+     * Create a new session with any number of players on its shard.
+     *
+     * @param sessionId The session id
+     * @param names Player names in turn order
+     * @param netNames Network names, parallel to names
+     * @return A future completed once the session is hosted
+     */
+    public CompletableFuture<GameSession> createSession(String sessionId, String[] names, String[] netNames) {
+        QuizModel model = new QuizModel();
+        model.initializeGame(names, netNames);
+        model.getGame().setQuestionsByCategory(questionBank);
+        return shardFor(sessionId).register(new GameSession(sessionId, model));
+    }
+
+    /**
+     * Host an existing game, e.g. one migrated from another node.
+     * Games without questions get the engine's question bank.
+     *
+     * @param sessionId The session id
+     * @param game The game to continue
+     * @return A future completed once the session is hosted
+     */
+    public CompletableFuture<GameSession> hostSession(String sessionId, QuizGame game) {
+        QuizModel model = new QuizModel();
+        if (game.getQuestionsByCategory().values().stream().allMatch(List::isEmpty)) {
+            game.setQuestionsByCategory(questionBank);
+        }
+        model.setGame(game);
+        return shardFor(sessionId).register(new GameSession(sessionId, model));
+    }
+
+    /**
+     * Serve a random question from a category to the current player of a session.
+     * If deadlines are enabled, the player loses a life when the question is not answered in time.
+     *
+     * @param sessionId The session id
+     * @param category The category name
+     * @return A future completed with the question, or null if the category has none
+     */
+    public CompletableFuture<Question> serveQuestion(String sessionId, String category) {
+        return shardFor(sessionId).submit(sessionId, session -> {
+            Question question = requireSession(sessionId, session).getModel().getRandomQuestion(category);
+            long sequence = session.serve(question);
+            if (question != null && answerTimeoutMillis > 0 && timer != null) {
+                session.setAnswerDeadline(timer.newTimeout(
+                        () -> expireQuestion(sessionId, sequence), answerTimeoutMillis, TimeUnit.MILLISECONDS));
+            }
+            return question;
+        });
+    }
+
+    /**
+     * Submit an answer to the question currently served in a session.
+     *
+     * @param sessionId The session id
+     * @param answerIndex The index of the selected answer
+     * @return A future completed with true if the answer was correct
+     */
+    public CompletableFuture<Boolean> submitAnswer(String sessionId, int answerIndex) {
+        return shardFor(sessionId).submit(sessionId, session -> {
+            Question question = requireSession(sessionId, session).finishQuestion();
+            if (question == null) {
+                throw new IllegalStateException("No question served in session " + sessionId);
+            }
+            boolean correct = session.getModel().submitAnswer(question, answerIndex);
+            reportIfOver(session);
+            return correct;
+        });
+    }
+
+    /**
+     * Called on the timer thread when an answer deadline passes.
+     * The actual penalty is applied on the owning shard, and only if the same question is still open.
+     * The timer thread never blocks on a full shard queue; it retries on the next tick instead.
+     */
+    private void expireQuestion(String sessionId, long sequence) {
+        SessionShard shard = shardFor(sessionId);
+        boolean queued = shard.offer(sessionId, session -> {
+            if (session != null && session.getQuestionSequence() == sequence
+                    && session.finishQuestion() != null) {
+                session.getModel().timeoutAnswer();
+                reportIfOver(session);
+            }
+        });
+        if (!queued && shard.isRunning()) {
+            try {
+                timer.newTimeout(() -> expireQuestion(sessionId, sequence), 0, TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                // The timer was stopped; the deadline is dropped like all others still pending
+            }
+        }
+    }
+
+    private void reportIfOver(GameSession session) {
+        if (session.getModel().isGameOver() && session.markResultReported()) {
+            gameOverListener.accept(session.getModel().getGame());
+        }
+    }
+
+    /**
+     * Set the listener receiving every game that ends, e.g. a {@link Leaderboard}.
+     * It is called on the shard thread owning the game, so it must not block.
+     *
+     * @param gameOverListener The listener
+     */
+    public void setGameOverListener(Consumer<QuizGame> gameOverListener) {
+        this.gameOverListener = gameOverListener;
+    }
+
+    /**
+     * Switch to the next player's turn in a session.
+     *
+     * @param sessionId The session id
+     * @return A future completed once the turn has been switched
+     */
+    public CompletableFuture<Void> nextTurn(String sessionId) {
+        return shardFor(sessionId).submit(sessionId, session -> {
+            requireSession(sessionId, session).getModel().nextTurn();
+            return null;
+        });
+    }
+
+    /**
+     * Run an arbitrary read or update against a session on its owning shard.
+     *
+     * @param sessionId The session id
+     * @param command The command, receiving the session or null if unknown
+     * @param <T> The result type
+     * @return A future completed with the command result
+     */
+    public <T> CompletableFuture<T> execute(String sessionId, Function<GameSession, T> command) {
+        return shardFor(sessionId).submit(sessionId, command);
+    }
+
+    /**
+     * Remove a session from the engine, cancelling the deadline of its open question.
+     *
+     * @param sessionId The session id
+     * @return A future completed with the removed session, or null if it was unknown
+     */
+    public CompletableFuture<GameSession> closeSession(String sessionId) {
+        return shardFor(sessionId).unregister(sessionId);
+    }
+
+    /**
+     * List the ids of all hosted sessions.
+     *
+     * @return A future completed with the session ids of all shards
+     */
+    public CompletableFuture<List<String>> getSessionIds() {
+        List<CompletableFuture<List<String>>> perShard = new ArrayList<>();
+        for (SessionShard shard : shards) {
+            perShard.add(shard.sessionIds());
+        }
+        return CompletableFuture.allOf(perShard.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<String> ids = new ArrayList<>();
+            for (CompletableFuture<List<String>> shardIds : perShard) {
+                ids.addAll(shardIds.join());
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Get the number of shard threads.
+     *
+     * @return The shard count
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Get the shard index a session is hashed to.
+     *
+     * @param sessionId The session id
+     * @return The shard index
+     */
+    public int shardIndexFor(String sessionId) {
+        int h = sessionId.hashCode();
+        // Spread the high bits so ids that differ only in their suffix still scatter
+        h ^= (h >>> 16);
+        return Math.floorMod(h, shards.length);
+    }
+
+    /**
+     * Stop all shards after their queued commands have been processed.
+     * Pending answer deadlines are dropped.
+     *
+     * @throws InterruptedException If interrupted while waiting for the shards
+     */
+    public void shutdown() throws InterruptedException {
+        if (ownsTimer) {
+            timer.stop();
+        }
+        for (SessionShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private SessionShard shardFor(String sessionId) {
+        return shards[shardIndexFor(sessionId)];
+    }
+
+    private static GameSession requireSession(String sessionId, GameSession session) {
+        if (session == null) {
+            throw new UnknownSessionException(sessionId);
+        }
+        return session;
+    }
+}
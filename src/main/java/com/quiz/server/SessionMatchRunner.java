@@ -0,0 +1,69 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.Question;
+import com.quiz.model.QuizGame;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays tournament matches as real games hosted on a SessionEngine.
+ * Both players are bots that, like those of the {@link LoadGenerator}, answer correctly
+ * with a fixed probability. The session is closed when the match ends or is cancelled.
+ */
+public class SessionMatchRunner implements MatchRunner {
+    private final SessionEngine engine;
+    private final String[] categories;
+    private final double accuracy;
+    private final int maxTurns;
+    private final AtomicLong matchCount = new AtomicLong();
+
+    /**
+     * Constructor for SessionMatchRunner.
+     *
+     * @param engine The engine hosting the matches
+     * @param categories Categories questions are served from, picked at random each turn
+     * @param accuracy Probability of a correct answer, from 0 to 1
+     * @param maxTurns Turns after which a match without a winner is given up
+     */
+    public SessionMatchRunner(SessionEngine engine, String[] categories, double accuracy, int maxTurns) {
+        if (categories.length == 0) {
+            throw new IllegalArgumentException("Need at least one category");
+        }
+        this.engine = engine;
+        this.categories = categories.clone();
+        this.accuracy = accuracy;
+        this.maxTurns = maxTurns;
+    }
+
+    @Override
+    public QuizGame play(Player first, Player second) throws Exception {
+        String sessionId = "match-" + matchCount.incrementAndGet();
+        QuizGame game = new QuizGame(first, second);
+        engine.hostSession(sessionId, game).get();
+        Random random = ThreadLocalRandom.current();
+        try {
+            for (int turn = 0; turn < maxTurns; turn++) {
+                String category = categories[random.nextInt(categories.length)];
+                Question question = engine.serveQuestion(sessionId, category).get();
+                if (question == null) {
+                    throw new IllegalStateException("No questions in category " + category);
+                }
+                int options = question.getOptions().size();
+                int correct = question.getCorrectOptionIndex();
+                int answer = options < 2 || random.nextDouble() < accuracy ? correct
+                        : (correct + 1 + random.nextInt(options - 1)) % options;
+                engine.submitAnswer(sessionId, answer).get();
+                if (engine.execute(sessionId, session -> session.getModel().isGameOver()).get()) {
+                    return game;
+                }
+                engine.nextTurn(sessionId).get();
+            }
+            throw new IllegalStateException("No winner after " + maxTurns + " turns");
+        } finally {
+            engine.closeSession(sessionId);
+        }
+    }
+}
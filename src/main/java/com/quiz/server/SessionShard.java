@@ -0,0 +1,246 @@
+package com.quiz.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * One event loop of the session engine.
+ * The shard thread is the only writer of the sessions it owns, so game state needs no locks.
+ */
+class SessionShard implements Runnable {
+    private static final Logger log = LogManager.getLogger(SessionShard.class);
+    private static final Command SHUTDOWN = new Command(() -> { }, null);
+
+    private final int index;
+    private final BlockingQueue<Command> commands;
+    private final Map<String, GameSession> sessions;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Constructor for SessionShard.
+     *
+     * @param index The index of this shard
+     * @param queueCapacity Maximum number of pending commands
+     */
+    SessionShard(int index, int queueCapacity) {
+        this.index = index;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.sessions = new HashMap<>();
+        this.thread = new Thread(this, "session-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start the shard thread.
+     */
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Queue a command for the session with the given id.
+     * Blocks while the queue is full so producers are slowed down instead of piling up work.
+     * Called on the shard thread itself, e.g. from a continuation of another command, it does
+     * not block but fails the future if the queue is full, since nothing would empty it.
+     *
+     * @param sessionId The session id
+     * @param command The command, run on the shard thread with the session (or null if unknown)
+     * @param <T> The result type
+     * @return A future completed with the command result
+     */
+    <T> CompletableFuture<T> submit(String sessionId, Function<GameSession, T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                future.complete(command.apply(sessions.get(sessionId)));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, future);
+        return future;
+    }
+
+    /**
+     * Queue a fire-and-forget command without blocking.
+     *
+     * @param sessionId The session id
+     * @param command The command, run on the shard thread with the session (or null if unknown)
+     * @return false if the queue is full or the shard is stopped
+     */
+    boolean offer(String sessionId, Consumer<GameSession> command) {
+        return running && commands.offer(new Command(() -> command.accept(sessions.get(sessionId)), null));
+    }
+
+    /**
+     * Queue registration of a new session.
+     *
+     * @param session The session to own
+     * @return A future completed once the shard owns the session
+     */
+    CompletableFuture<GameSession> register(GameSession session) {
+        CompletableFuture<GameSession> future = new CompletableFuture<>();
+        enqueue(() -> {
+            sessions.put(session.getId(), session);
+            future.complete(session);
+        }, future);
+        return future;
+    }
+
+    /**
+     * Queue removal of a session.
+     *
+     * @param sessionId The session id
+     * @return A future completed with the removed session, or null if it was unknown
+     */
+    CompletableFuture<GameSession> unregister(String sessionId) {
+        CompletableFuture<GameSession> future = new CompletableFuture<>();
+        enqueue(() -> {
+            GameSession session = sessions.remove(sessionId);
+            if (session != null) {
+                // The deadline would otherwise fire for whichever session is registered under the id next
+                session.cancelAnswerDeadline();
+            }
+            future.complete(session);
+        }, future);
+        return future;
+    }
+
+    /**
+     * Queue a listing of the owned session ids.
+     *
+     * @return A future completed with the session ids
+     */
+    CompletableFuture<List<String>> sessionIds() {
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        enqueue(() -> future.complete(new ArrayList<>(sessions.keySet())), future);
+        return future;
+    }
+
+    private void enqueue(Runnable task, CompletableFuture<?> future) {
+        if (!running) {
+            future.completeExceptionally(stopped());
+            return;
+        }
+        Command command = new Command(task, future);
+        if (Thread.currentThread() == thread) {
+            if (!commands.offer(command)) {
+                future.completeExceptionally(new RejectedExecutionException("Shard " + index + " is full"));
+            }
+            return;
+        }
+        try {
+            commands.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+        // Stopped while waiting for room: the shard may already have drained its queue,
+        // so take the command back unless the shard got to it first
+        if (!running && commands.remove(command)) {
+            future.completeExceptionally(stopped());
+        }
+    }
+
+    private RejectedExecutionException stopped() {
+        return new RejectedExecutionException("Shard " + index + " is stopped");
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Command command;
+            try {
+                command = commands.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (command == SHUTDOWN) {
+                break;
+            }
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                // A failing command must not take the other sessions of the shard down with it
+                log.error("Command failed on shard {}", index, e);
+                command.reject(e);
+            }
+        }
+        // Fail whatever was queued behind the shutdown instead of leaving it pending forever
+        Command rejected;
+        while ((rejected = commands.poll()) != null) {
+            rejected.reject(stopped());
+        }
+    }
+
+    /**
+     * Stop the shard after the already queued commands have been processed.
+     *
+     * @throws InterruptedException If interrupted while waiting for the thread
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        commands.put(SHUTDOWN);
+        thread.join();
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Get the number of sessions owned by this shard.
+     * Only exact when called from the shard thread.
+     *
+     * @return The number of sessions
+     */
+    int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Get the number of commands waiting in the queue.
+     *
+     * @return The queue depth
+     */
+    int getQueueDepth() {
+        return commands.size();
+    }
+
+    /**
+     * A queued task and the future waiting for it, so it can be failed if it never runs.
+     */
+    private static final class Command implements Runnable {
+        private final Runnable task;
+        private final CompletableFuture<?> future;
+
+        Command(Runnable task, CompletableFuture<?> future) {
+            this.task = task;
+            this.future = future;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        void reject(RuntimeException cause) {
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+}
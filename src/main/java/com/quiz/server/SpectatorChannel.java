@@ -0,0 +1,222 @@
+package com.quiz.server;
+
+import com.quiz.model.GameSnapshotCodec;
+import com.quiz.model.GameState;
+import com.quiz.model.ModelEvent;
+import com.quiz.model.QuizModel;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Broadcasts the state of one live game to any number of spectators.
+ * Each change is encoded once into a read-only buffer shared by all subscribers. Encoding and
+ * delivery happen on an executor from the model's immutable {@link GameState}, never on the
+ * game thread, and every subscriber only holds the latest frame: a slow spectator skips
+ * intermediate states instead of stalling the game.
+ */
+public class SpectatorChannel implements QuizModel.ModelListener {
+    /**
+     * Receiver of game state frames.
+     */
+    public interface Spectator {
+        /**
+         * Called with the latest encoded game state, see {@link GameSnapshotCodec}.
+         * The buffer is read-only and private to this call.
+         *
+         * @param frame The encoded game state
+         */
+        void onFrame(ByteBuffer frame);
+    }
+
+    private final QuizModel model;
+    private final Executor executor;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicReference<GameState> pendingState = new AtomicReference<>();
+    private final AtomicBoolean fanOutScheduled = new AtomicBoolean();
+    private final AtomicLong publishedFrames = new AtomicLong();
+
+    /**
+     * Constructor for SpectatorChannel. The channel starts observing the model immediately.
+     *
+     * @param model The model of the game to broadcast
+     * @param executor Executor running fan-out and delivery
+     */
+    public SpectatorChannel(QuizModel model, Executor executor) {
+        this.model = model;
+        this.executor = executor;
+        model.addModelListener(this);
+    }
+
+    /**
+     * Schedule the fan-out of the new state. Runs on the game thread, so it only hands over
+     * the published snapshot. Changes that do not show in a frame, such as added questions
+     * or the end of the game (already visible in the scores), are skipped.
+     *
+     * @param event The change
+     */
+    @Override
+    public void modelEvent(ModelEvent event) {
+        if (subscriptions.isEmpty()
+                || event instanceof ModelEvent.QuestionAdded || event instanceof ModelEvent.QuestionReplaced
+                || event instanceof ModelEvent.GameOver) {
+            return;
+        }
+        pendingState.set(model.getState());
+        if (fanOutScheduled.compareAndSet(false, true)) {
+            executor.execute(this::fanOut);
+        }
+    }
+
+    /**
+     * Encode the latest state once and offer it to every subscriber.
+     * Only one fan-out runs at a time, so frames go out in order.
+     */
+    private void fanOut() {
+        try {
+            GameState state;
+            while ((state = pendingState.getAndSet(null)) != null) {
+                Frame frame = encode(state);
+                publishedFrames.incrementAndGet();
+                for (Subscription subscription : subscriptions) {
+                    subscription.offer(frame);
+                }
+            }
+        } finally {
+            fanOutScheduled.set(false);
+        }
+        // A state may have been handed over after the loop but before the flag was cleared
+        if (pendingState.get() != null && fanOutScheduled.compareAndSet(false, true)) {
+            executor.execute(this::fanOut);
+        }
+    }
+
+    private static Frame encode(GameState state) {
+        return new Frame(state.getVersion(), ByteBuffer.wrap(GameSnapshotCodec.encode(state)).asReadOnlyBuffer());
+    }
+
+    /**
+     * Add a spectator. It receives the current state right away if there is one.
+     *
+     * @param spectator The spectator
+     * @return The subscription, used to unsubscribe
+     */
+    public Subscription subscribe(Spectator spectator) {
+        Subscription subscription = new Subscription(spectator);
+        subscriptions.add(subscription);
+        GameState state = model.getState();
+        if (state.getPlayerCount() > 0) {
+            subscription.offer(encode(state));
+        }
+        return subscription;
+    }
+
+    /**
+     * Stop broadcasting and drop all spectators.
+     */
+    public void close() {
+        model.removeModelListener(this);
+        subscriptions.clear();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Get the number of frames encoded for the subscribers.
+     * States replaced by a newer one before the fan-out ran are never encoded.
+     *
+     * @return The number of frames
+     */
+    public long getPublishedFrames() {
+        return publishedFrames.get();
+    }
+
+    /**
+     * One spectator's single-slot mailbox.
+     */
+    public final class Subscription {
+        private final Spectator spectator;
+        private final AtomicReference<Frame> latest = new AtomicReference<>();
+        private final AtomicLong offeredVersion = new AtomicLong(-1);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong conflated = new AtomicLong();
+
+        private Subscription(Spectator spectator) {
+            this.spectator = spectator;
+        }
+
+        private void offer(Frame frame) {
+            if (offeredVersion.getAndAccumulate(frame.version, Math::max) >= frame.version) {
+                // Already has this state or a newer one, e.g. from subscribing during a fan-out
+                return;
+            }
+            if (latest.getAndSet(frame) != null) {
+                // The spectator had not picked up the previous frame yet
+                conflated.incrementAndGet();
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while ((frame = latest.getAndSet(null)) != null) {
+                    spectator.onFrame(frame.buffer.duplicate());
+                    delivered.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                // A broken spectator is dropped rather than affecting the others
+                subscriptions.remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // A frame may have arrived after the loop but before the flag was cleared
+            if (latest.get() != null && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Stop receiving frames.
+         */
+        public void unsubscribe() {
+            subscriptions.remove(this);
+        }
+
+        public long getDeliveredFrames() {
+            return delivered.get();
+        }
+
+        /**
+         * Get the number of frames replaced by a newer one before delivery.
+         *
+         * @return The number of skipped frames
+         */
+        public long getConflatedFrames() {
+            return conflated.get();
+        }
+    }
+
+    /**
+     * An encoded state with the version it was taken at.
+     */
+    private static final class Frame {
+        private final long version;
+        private final ByteBuffer buffer;
+
+        Frame(long version, ByteBuffer buffer) {
+            this.version = version;
+            this.buffer = buffer;
+        }
+    }
+}
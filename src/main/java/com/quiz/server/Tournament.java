@@ -0,0 +1,240 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Knock-out tournament that plays all matches of a round concurrently.
+ * Entrants are seeded in list order. If the field is not a power of two, the top seeds get
+ * byes in the first round. A round takes as long as its longest match.
+ * Matches are played by copies of the entrants, so their scores are left alone; if one match
+ * fails, the other matches of its round are cancelled.
+ */
+public class Tournament {
+    /**
+     * Timing and outcome of one finished round.
+     */
+    public static final class RoundResult {
+        private final int round;
+        private final int matches;
+        private final int byes;
+        private final long durationNanos;
+        private final long longestMatchNanos;
+        private final List<Player> winners;
+
+        RoundResult(int round, int matches, int byes, long durationNanos, long longestMatchNanos,
+                    List<Player> winners) {
+            this.round = round;
+            this.matches = matches;
+            this.byes = byes;
+            this.durationNanos = durationNanos;
+            this.longestMatchNanos = longestMatchNanos;
+            this.winners = Collections.unmodifiableList(winners);
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public int getByes() {
+            return byes;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getLongestMatchNanos() {
+            return longestMatchNanos;
+        }
+
+        /**
+         * Get the players advancing from this round, in bracket order.
+         *
+         * @return The winners including players with a bye
+         */
+        public List<Player> getWinners() {
+            return winners;
+        }
+
+        @Override
+        public String toString() {
+            return "RoundResult{" +
+                    "round=" + round +
+                    ", matches=" + matches +
+                    ", byes=" + byes +
+                    ", durationMs=" + durationNanos / 1_000_000 +
+                    ", longestMatchMs=" + longestMatchNanos / 1_000_000 +
+                    '}';
+        }
+    }
+
+    private final List<Player> entrants;
+    private final MatchRunner runner;
+    private final ExecutorService pool;
+    private final List<RoundResult> rounds = new ArrayList<>();
+    private Consumer<RoundResult> roundListener = result -> { };
+
+    /**
+     * Constructor for Tournament.
+     *
+     * @param entrants The players, best seed first
+     * @param runner Plays individual matches
+     * @param pool Worker pool the matches of a round run on
+     */
+    public Tournament(List<Player> entrants, MatchRunner runner, ExecutorService pool) {
+        if (entrants.isEmpty()) {
+            throw new IllegalArgumentException("A tournament needs at least one entrant");
+        }
+        this.entrants = new ArrayList<>(entrants);
+        this.runner = runner;
+        this.pool = pool;
+    }
+
+    /**
+     * Set a listener notified after each round, e.g. to report round times.
+     *
+     * @param roundListener The listener
+     */
+    public void setRoundListener(Consumer<RoundResult> roundListener) {
+        this.roundListener = roundListener;
+    }
+
+    /**
+     * Play the whole bracket.
+     *
+     * @return The champion
+     * @throws TournamentException If a match failed or ended without a winner
+     */
+    public Player run() {
+        List<Player> field = entrants;
+        int round = 1;
+        while (field.size() > 1) {
+            field = playRound(round++, field);
+        }
+        return field.get(0);
+    }
+
+    private List<Player> playRound(int round, List<Player> field) {
+        // Top seeds sit out until the remaining field is a power of two
+        int size = field.size();
+        int bracket = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        int byes = bracket - size;
+        List<Player> contenders = field.subList(byes, size);
+        int matches = contenders.size() / 2;
+
+        long start = System.nanoTime();
+        CompletionService<Long> completion = new ExecutorCompletionService<>(pool);
+        List<Future<Long>> running = new ArrayList<>(matches);
+        Player[] matchWinners = new Player[matches];
+        for (int i = 0; i < matches; i++) {
+            // Best remaining seed meets the worst one
+            Player first = contenders.get(i);
+            Player second = contenders.get(contenders.size() - 1 - i);
+            int slot = i;
+            running.add(completion.submit(() -> {
+                long matchStart = System.nanoTime();
+                matchWinners[slot] = playMatch(first, second);
+                return System.nanoTime() - matchStart;
+            }));
+        }
+
+        long longest = 0;
+        try {
+            // In order of completion, so the first failure stops the round right away
+            for (int i = 0; i < matches; i++) {
+                longest = Math.max(longest, completion.take().get());
+            }
+        } catch (ExecutionException e) {
+            cancelAll(running);
+            throw e.getCause() instanceof TournamentException
+                    ? (TournamentException) e.getCause()
+                    : new TournamentException("Match failed in round " + round, e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll(running);
+            Thread.currentThread().interrupt();
+            throw new TournamentException("Interrupted in round " + round, e);
+        }
+
+        List<Player> winners = new ArrayList<>(field.subList(0, byes));
+        Collections.addAll(winners, matchWinners);
+        RoundResult result = new RoundResult(round, matches, byes, System.nanoTime() - start, longest, winners);
+        rounds.add(result);
+        roundListener.accept(result);
+        return winners;
+    }
+
+    private static void cancelAll(List<Future<Long>> running) {
+        for (Future<Long> match : running) {
+            match.cancel(true);
+        }
+    }
+
+    /**
+     * Play one match with fresh copies of both players.
+     *
+     * @return The entrant whose copy won
+     */
+    private Player playMatch(Player first, Player second) {
+        Player firstCopy = new Player(first.getName(), first.getNetName());
+        Player secondCopy = new Player(second.getName(), second.getNetName());
+        QuizGame game;
+        try {
+            game = runner.play(firstCopy, secondCopy);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TournamentException("Match " + first.getName() + " vs " + second.getName()
+                    + " was cancelled", e);
+        } catch (Exception e) {
+            throw new TournamentException("Match " + first.getName() + " vs " + second.getName() + " failed", e);
+        }
+        Player winner = game == null ? null : game.getWinner();
+        if (winner == firstCopy) {
+            return first;
+        }
+        if (winner == secondCopy) {
+            return second;
+        }
+        throw new TournamentException("Match " + first.getName() + " vs " + second.getName()
+                + (winner == null ? " ended without a winner" : " was won by " + winner.getName()
+                + ", who did not play in it"));
+    }
+
+    /**
+     * Get the results of all rounds played so far.
+     *
+     * @return The round results in order
+     */
+    public List<RoundResult> getRounds() {
+        return Collections.unmodifiableList(rounds);
+    }
+
+    /**
+     * Thrown when the tournament cannot continue.
+     */
+    public static class TournamentException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public TournamentException(String message) {
+            super(message);
+        }
+
+        public TournamentException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
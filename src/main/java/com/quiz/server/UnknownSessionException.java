@@ -0,0 +1,25 @@
+package com.quiz.server;
+
+/**
+ * Thrown when a command names a session that is not hosted by the engine,
+ * e.g. one that was closed or has not arrived from another node yet.
+ */
+public class UnknownSessionException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    private final String sessionId;
+
+    /**
+     * Constructor for UnknownSessionException.
+     *
+     * @param sessionId The id of the missing session
+     */
+    public UnknownSessionException(String sessionId) {
+        super("Unknown session: " + sessionId);
+        this.sessionId = sessionId;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+}
@@ -0,0 +1,672 @@
+package com.quiz.server.cluster;
+
+import com.quiz.model.GameSnapshotCodec;
+import com.quiz.model.Question;
+import com.quiz.model.QuizGame;
+import com.quiz.server.GameSession;
+import com.quiz.server.SessionEngine;
+import com.quiz.server.UnknownSessionException;
+import com.quiz.util.ConfigManager;
+import com.quiz.util.QuestionLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One quiz server in a cluster of cooperating JVMs.
+ * Sessions are assigned to nodes with a consistent hash ring. Commands for sessions owned by
+ * another node are forwarded over TCP, and when a node joins or leaves, the sessions whose
+ * owner changed are moved with {@link GameSnapshotCodec}. Games move between turns: a question
+ * that was served but not yet answered is not migrated.
+ * While a session is being moved, its commands wait on the old owner until the new owner has
+ * confirmed it, and a node asked about a session it does not host yet sends the command back
+ * to the previous owner. Sessions that could not be moved are pinned to the node holding them,
+ * and every member is told so.
+ */
+public class ClusterNode implements Closeable {
+    private static final Logger log = LogManager.getLogger(ClusterNode.class);
+
+    private final String nodeId;
+    private final SessionEngine engine;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionThreads;
+    // Idle connections by peer; a call takes one or opens another, so callers never wait for each other
+    private final Map<String, Queue<PeerConnection>> peers = new ConcurrentHashMap<>();
+    // Sessions held by another node than their ring owner because they could not be moved, by holder
+    private final Map<String, String> pins = new ConcurrentHashMap<>();
+    // Sessions on their way from this node to another; commands for them wait until the move is over
+    private final Map<String, CompletableFuture<Void>> moving = new ConcurrentHashMap<>();
+    private final Object membershipLock = new Object();
+    private volatile ConsistentHashRing ring;
+    private volatile ConsistentHashRing previousRing;
+    private volatile boolean running;
+
+    /**
+     * Constructor for ClusterNode, listening on the loopback interface.
+     *
+     * @param port The port to listen on, 0 for any free port
+     * @param engine The engine hosting this node's sessions
+     * @throws IOException If the port cannot be bound
+     */
+    public ClusterNode(int port, SessionEngine engine) throws IOException {
+        this.engine = engine;
+        InetAddress address = InetAddress.getLoopbackAddress();
+        this.serverSocket = new ServerSocket(port, 50, address);
+        this.nodeId = address.getHostAddress() + ":" + serverSocket.getLocalPort();
+        this.ring = new ConsistentHashRing(ConsistentHashRing.DEFAULT_VIRTUAL_NODES).withNode(nodeId);
+        this.previousRing = ring;
+        this.connectionThreads = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start accepting connections from other nodes.
+     */
+    public void start() {
+        running = true;
+        connectionThreads.execute(this::acceptLoop);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    /**
+     * Check whether this node owns a session according to its current view of the ring.
+     *
+     * @param sessionId The session id
+     * @return true if the session is hosted here
+     */
+    public boolean isLocal(String sessionId) {
+        return nodeId.equals(ring.ownerOf(sessionId));
+    }
+
+    // Membership
+
+    /**
+     * Join the cluster that the given node belongs to.
+     * Returns once all existing members know this node and have handed over its sessions.
+     *
+     * @param seedNodeId Any current member, in host:port form
+     * @throws IOException If a member cannot be reached
+     */
+    public void join(String seedNodeId) throws IOException {
+        String[] members = call(seedNodeId, ClusterProtocol.OP_MEMBERS, 0,
+                out -> { }, ClusterProtocol::readStrings);
+        synchronized (membershipLock) {
+            // Until the members have handed over, this node's sessions are still where they were
+            ConsistentHashRing others = new ConsistentHashRing(ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+            for (String member : members) {
+                others = others.withNode(member);
+            }
+            previousRing = others;
+            ring = others.withNode(nodeId);
+        }
+        for (String member : members) {
+            if (!member.equals(nodeId)) {
+                call(member, ClusterProtocol.OP_JOIN, 0, out -> out.writeUTF(nodeId), in -> null);
+            }
+        }
+    }
+
+    /**
+     * Leave the cluster, handing every local session to its new owner.
+     * Sessions that cannot be handed over keep running on this node.
+     *
+     * @throws IOException If a member cannot be reached or a session could not be handed over
+     */
+    public void leave() throws IOException {
+        ConsistentHashRing remaining;
+        synchronized (membershipLock) {
+            remaining = ring.withoutNode(nodeId);
+            previousRing = ring;
+            ring = remaining;
+        }
+        for (String member : remaining.getNodes()) {
+            call(member, ClusterProtocol.OP_LEAVE, 0, out -> out.writeUTF(nodeId), in -> null);
+        }
+        if (!remaining.getNodes().isEmpty()) {
+            rebalance();
+        }
+    }
+
+    private void onJoin(String joiningNodeId) throws IOException {
+        synchronized (membershipLock) {
+            previousRing = ring;
+            ring = ring.withNode(joiningNodeId);
+        }
+        try {
+            rebalance();
+        } catch (IOException e) {
+            // The node has joined all the same; the sessions left behind are still served here
+            log.warn("Could not hand all sessions to {}", joiningNodeId, e);
+        }
+    }
+
+    private void onLeave(String leavingNodeId) throws IOException {
+        synchronized (membershipLock) {
+            previousRing = ring;
+            ring = ring.withoutNode(leavingNodeId);
+        }
+        pins.values().removeIf(leavingNodeId::equals);
+        Queue<PeerConnection> connections = peers.remove(leavingNodeId);
+        if (connections != null) {
+            closeConnections(connections);
+        }
+    }
+
+    /**
+     * Move every local session that the ring now assigns to another node.
+     * A session only leaves this node once its new owner has confirmed it; if that fails,
+     * it is served here again, pinned to this node, and the remaining sessions are still moved.
+     *
+     * @throws IOException If at least one session could not be moved
+     */
+    private void rebalance() throws IOException {
+        IOException failure = null;
+        List<String> pinned = new ArrayList<>();
+        List<String> released = new ArrayList<>();
+        for (String sessionId : await(engine.getSessionIds())) {
+            String owner = ring.ownerOf(sessionId);
+            if (owner == null || owner.equals(nodeId)) {
+                if (pins.remove(sessionId, nodeId)) {
+                    released.add(sessionId);
+                }
+                continue;
+            }
+            try {
+                migrate(sessionId, owner);
+                if (pins.remove(sessionId, nodeId)) {
+                    released.add(sessionId);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!nodeId.equals(pins.put(sessionId, nodeId))) {
+                    pinned.add(sessionId);
+                }
+                if (failure == null) {
+                    failure = new IOException("Could not move session " + sessionId + " to " + owner, e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        announcePins(nodeId, pinned);
+        announcePins("", released);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void migrate(String sessionId, String owner) throws IOException {
+        CompletableFuture<Void> move = new CompletableFuture<>();
+        moving.put(sessionId, move);
+        try {
+            // Take the session off its shard after any commands still queued for it
+            GameSession session = await(engine.closeSession(sessionId));
+            if (session == null) {
+                return;
+            }
+            QuizGame game = session.getModel().getGame();
+            byte[] snapshot = GameSnapshotCodec.encode(game, false);
+            try {
+                call(owner, ClusterProtocol.OP_MIGRATE, 0, out -> {
+                    out.writeUTF(sessionId);
+                    ClusterProtocol.writeBytes(out, snapshot);
+                }, in -> null);
+            } catch (IOException | RuntimeException e) {
+                await(engine.hostSession(sessionId, game));
+                throw e;
+            }
+        } finally {
+            moving.remove(sessionId);
+            move.complete(null);
+        }
+    }
+
+    /**
+     * Tell all other members which node holds some sessions, or that they follow the ring again.
+     * Members that cannot be reached still find the sessions through the previous owner.
+     *
+     * @param holder The node holding the sessions, or an empty string to release them
+     * @param sessionIds The sessions
+     */
+    private void announcePins(String holder, List<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        String[] ids = sessionIds.toArray(new String[0]);
+        for (String member : ring.getNodes()) {
+            if (member.equals(nodeId)) {
+                continue;
+            }
+            try {
+                call(member, ClusterProtocol.OP_PIN, 0, out -> {
+                    out.writeUTF(holder);
+                    ClusterProtocol.writeStrings(out, ids);
+                }, in -> null);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not tell {} where {} sessions are held", member, ids.length, e);
+            }
+        }
+    }
+
+    private void onPin(String holder, String[] sessionIds) {
+        for (String sessionId : sessionIds) {
+            if (holder.isEmpty()) {
+                pins.remove(sessionId);
+            } else {
+                pins.put(sessionId, holder);
+            }
+        }
+    }
+
+    // Session commands, routed to the owning node
+
+    /**
+     * Create a session on its owning node.
+     *
+     * @param sessionId The session id
+     * @param names Player names in turn order
+     * @param netNames Network names, parallel to names
+     * @throws IOException If the owning node cannot be reached
+     */
+    public void createSession(String sessionId, String[] names, String[] netNames) throws IOException {
+        createSession(sessionId, names, netNames, ClusterProtocol.MAX_HOPS);
+    }
+
+    private void createSession(String sessionId, String[] names, String[] netNames, int hops) throws IOException {
+        String owner = ownerFor(sessionId, hops);
+        if (owner == null) {
+            await(engine.createSession(sessionId, names, netNames));
+            return;
+        }
+        call(owner, ClusterProtocol.OP_CREATE, hops - 1, out -> {
+            out.writeUTF(sessionId);
+            ClusterProtocol.writeStrings(out, names);
+            ClusterProtocol.writeStrings(out, netNames);
+        }, in -> null);
+    }
+
+    /**
+     * Serve a random question in a session.
+     *
+     * @param sessionId The session id
+     * @param category The category name
+     * @return The question, or null if the category has none
+     * @throws IOException If the owning node cannot be reached
+     */
+    public Question serveQuestion(String sessionId, String category) throws IOException {
+        return serveQuestion(sessionId, category, ClusterProtocol.MAX_HOPS);
+    }
+
+    private Question serveQuestion(String sessionId, String category, int hops) throws IOException {
+        return route(sessionId, hops, () -> await(engine.serveQuestion(sessionId, category)),
+                (owner, next) -> call(owner, ClusterProtocol.OP_SERVE, next, out -> {
+                    out.writeUTF(sessionId);
+                    out.writeUTF(category);
+                }, ClusterProtocol::readQuestion));
+    }
+
+    /**
+     * Answer the question currently served in a session.
+     *
+     * @param sessionId The session id
+     * @param answerIndex The index of the selected answer
+     * @return true if the answer was correct
+     * @throws IOException If the owning node cannot be reached
+     */
+    public boolean submitAnswer(String sessionId, int answerIndex) throws IOException {
+        return submitAnswer(sessionId, answerIndex, ClusterProtocol.MAX_HOPS);
+    }
+
+    private boolean submitAnswer(String sessionId, int answerIndex, int hops) throws IOException {
+        return route(sessionId, hops, () -> await(engine.submitAnswer(sessionId, answerIndex)),
+                (owner, next) -> call(owner, ClusterProtocol.OP_SUBMIT, next, out -> {
+                    out.writeUTF(sessionId);
+                    out.writeInt(answerIndex);
+                }, DataInputStream::readBoolean));
+    }
+
+    /**
+     * Switch to the next player's turn in a session.
+     *
+     * @param sessionId The session id
+     * @throws IOException If the owning node cannot be reached
+     */
+    public void nextTurn(String sessionId) throws IOException {
+        nextTurn(sessionId, ClusterProtocol.MAX_HOPS);
+    }
+
+    private void nextTurn(String sessionId, int hops) throws IOException {
+        route(sessionId, hops, () -> await(engine.nextTurn(sessionId)),
+                (owner, next) -> call(owner, ClusterProtocol.OP_NEXT_TURN, next,
+                        out -> out.writeUTF(sessionId), in -> null));
+    }
+
+    /**
+     * Get a copy of a session's game state.
+     *
+     * @param sessionId The session id
+     * @return The decoded game without its question bank
+     * @throws IOException If the owning node cannot be reached
+     */
+    public QuizGame getSnapshot(String sessionId) throws IOException {
+        return GameSnapshotCodec.decode(snapshot(sessionId, ClusterProtocol.MAX_HOPS));
+    }
+
+    private byte[] snapshot(String sessionId, int hops) throws IOException {
+        return route(sessionId, hops, () -> await(engine.execute(sessionId, session -> {
+            if (session == null) {
+                throw new UnknownSessionException(sessionId);
+            }
+            return GameSnapshotCodec.encode(session.getModel().getGame(), false);
+        })), (owner, next) -> call(owner, ClusterProtocol.OP_SNAPSHOT, next,
+                out -> out.writeUTF(sessionId), ClusterProtocol::readBytes));
+    }
+
+    /**
+     * Run a command for an existing session where the session is.
+     * A command run here for a session that is not here, e.g. one that has not arrived from its
+     * previous owner yet, is sent on to the node that should still have it.
+     */
+    private <T> T route(String sessionId, int hops, LocalCommand<T> local, RemoteCommand<T> remote)
+            throws IOException {
+        String owner = ownerFor(sessionId, hops);
+        if (owner != null && nodeId.equals(previousRing.ownerOf(sessionId))) {
+            // Owned here before the last membership change: serve it as long as it has not moved
+            try {
+                return local.run();
+            } catch (UnknownSessionException e) {
+                // Handed over already
+            }
+        }
+        if (owner == null) {
+            try {
+                return local.run();
+            } catch (UnknownSessionException e) {
+                owner = ownerFor(sessionId, hops);
+                if (owner == null && hops > 0) {
+                    String previous = previousRing.ownerOf(sessionId);
+                    owner = nodeId.equals(previous) ? null : previous;
+                }
+                if (owner == null) {
+                    throw e;
+                }
+            }
+        }
+        return remote.call(owner, hops - 1);
+    }
+
+    /**
+     * Decide where a command runs, waiting for a move of the session from this node to finish.
+     * Pinned sessions run on the node holding them.
+     *
+     * @return The remote owner, or null to run the command locally
+     */
+    private String ownerFor(String sessionId, int hops) throws IOException {
+        CompletableFuture<Void> move = moving.get(sessionId);
+        if (move != null) {
+            await(move);
+        }
+        String owner = pins.get(sessionId);
+        if (owner == null) {
+            owner = ring.ownerOf(sessionId);
+        }
+        if (owner == null || owner.equals(nodeId) || hops <= 0) {
+            return null;
+        }
+        return owner;
+    }
+
+    /**
+     * A command run on this node.
+     */
+    private interface LocalCommand<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * A command sent to another node, with the hop budget left for it.
+     */
+    private interface RemoteCommand<T> {
+        T call(String owner, int hops) throws IOException;
+    }
+
+    // Networking
+
+    /**
+     * Send a request to another node on an idle connection, or a new one if all are busy.
+     */
+    private <T> T call(String peerNodeId, byte op, int hops, PeerConnection.RequestWriter request,
+                       PeerConnection.ResponseReader<T> response) throws IOException {
+        Queue<PeerConnection> idle = peers.computeIfAbsent(peerNodeId, id -> new ConcurrentLinkedQueue<>());
+        PeerConnection connection = idle.poll();
+        while (connection != null && connection.isClosed()) {
+            connection = idle.poll();
+        }
+        if (connection == null) {
+            connection = new PeerConnection(peerNodeId);
+        }
+        try {
+            return connection.call(op, hops, request, response);
+        } finally {
+            if (connection.isClosed()) {
+                // Broken by the call; the next call connects again
+            } else if (running) {
+                idle.offer(connection);
+            } else {
+                connection.close();
+            }
+        }
+    }
+
+    private void closeConnections(Queue<PeerConnection> idle) throws IOException {
+        PeerConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connectionThreads.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    continue;
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            while (running) {
+                byte op = in.readByte();
+                int hops = in.readByte();
+                try {
+                    handle(op, hops, in, out);
+                } catch (RuntimeException e) {
+                    out.writeByte(ClusterProtocol.STATUS_ERROR);
+                    out.writeUTF(String.valueOf(e.getMessage()));
+                }
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Peer closed the connection
+        } catch (IOException e) {
+            // Connection broken; the peer reconnects on its next call
+        }
+    }
+
+    private void handle(byte op, int hops, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case ClusterProtocol.OP_CREATE: {
+                String sessionId = in.readUTF();
+                String[] names = ClusterProtocol.readStrings(in);
+                String[] netNames = ClusterProtocol.readStrings(in);
+                createSession(sessionId, names, netNames, hops);
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            }
+            case ClusterProtocol.OP_SERVE: {
+                String sessionId = in.readUTF();
+                String category = in.readUTF();
+                Question question = serveQuestion(sessionId, category, hops);
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                ClusterProtocol.writeQuestion(out, question);
+                break;
+            }
+            case ClusterProtocol.OP_SUBMIT: {
+                String sessionId = in.readUTF();
+                boolean correct = submitAnswer(sessionId, in.readInt(), hops);
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                out.writeBoolean(correct);
+                break;
+            }
+            case ClusterProtocol.OP_NEXT_TURN:
+                nextTurn(in.readUTF(), hops);
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            case ClusterProtocol.OP_SNAPSHOT: {
+                byte[] snapshot = snapshot(in.readUTF(), hops);
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                ClusterProtocol.writeBytes(out, snapshot);
+                break;
+            }
+            case ClusterProtocol.OP_MIGRATE: {
+                String sessionId = in.readUTF();
+                QuizGame game = GameSnapshotCodec.decode(ClusterProtocol.readBytes(in));
+                await(engine.hostSession(sessionId, game));
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            }
+            case ClusterProtocol.OP_JOIN:
+                onJoin(in.readUTF());
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            case ClusterProtocol.OP_LEAVE:
+                onLeave(in.readUTF());
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            case ClusterProtocol.OP_PIN: {
+                String holder = in.readUTF();
+                onPin(holder, ClusterProtocol.readStrings(in));
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                break;
+            }
+            case ClusterProtocol.OP_MEMBERS:
+                out.writeByte(ClusterProtocol.STATUS_OK);
+                ClusterProtocol.writeStrings(out, ring.getNodes().toArray(new String[0]));
+                break;
+            default:
+                throw new IOException("Unknown operation " + op);
+        }
+    }
+
+    /**
+     * Wait for an engine command, rethrowing its failure.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Stop this node without handing over its sessions. Use {@link #leave()} first for a clean exit.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Queue<PeerConnection> connections : peers.values()) {
+            closeConnections(connections);
+        }
+        peers.clear();
+        connectionThreads.shutdownNow();
+    }
+
+    /**
+     * Start a node from the command line, serving the questions of the configured question directory.
+     * Usage: ClusterNode &lt;port&gt; [seed host:port]
+     *
+     * @param args Command line arguments
+     * @throws Exception If the node cannot start
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ClusterNode <port> [<seed host:port>]");
+            System.exit(1);
+        }
+        Path questions = Paths.get(ConfigManager.getQuestionsPath());
+        if (!Files.isDirectory(questions)) {
+            System.err.println("Question directory not found: " + questions.toAbsolutePath());
+            System.exit(1);
+        }
+        Map<String, List<Question>> bank = QuestionLoader.loadDirectory(questions,
+                ConfigManager.getQuestionsExtension());
+        SessionEngine engine = new SessionEngine(bank);
+        ClusterNode node = new ClusterNode(Integer.parseInt(args[0]), engine);
+        node.start();
+        if (args.length > 1) {
+            node.join(args[1]);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                node.leave();
+                node.close();
+                engine.shutdown();
+            } catch (IOException e) {
+                System.err.println("Leaving the cluster failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        System.out.println("Node " + node.getNodeId() + " running, members: " + node.getRing().getNodes());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,99 @@
+package com.quiz.server.cluster;
+
+import com.quiz.model.Question;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Wire format shared by cluster nodes.
+ * A request is an operation byte, a hop budget byte and the operation arguments;
+ * a response is a status byte followed by the payload or an error message.
+ */
+final class ClusterProtocol {
+    static final byte OP_CREATE = 1;
+    static final byte OP_SERVE = 2;
+    static final byte OP_SUBMIT = 3;
+    static final byte OP_NEXT_TURN = 4;
+    static final byte OP_SNAPSHOT = 5;
+    static final byte OP_MIGRATE = 6;
+    static final byte OP_JOIN = 7;
+    static final byte OP_LEAVE = 8;
+    static final byte OP_MEMBERS = 9;
+    static final byte OP_PIN = 10;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    /**
+     * Forwarding budget of a fresh request, so nodes with stale rings cannot bounce it forever.
+     * Enough for a forward, a bounce back to a session's previous owner and one more forward.
+     */
+    static final int MAX_HOPS = 3;
+
+    private ClusterProtocol() {
+    }
+
+    static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            out.writeUTF(value == null ? "" : value);
+        }
+    }
+
+    static String[] readStrings(DataInputStream in) throws IOException {
+        String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] data) throws IOException {
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return data;
+    }
+
+    static void writeQuestion(DataOutputStream out, Question question) throws IOException {
+        out.writeBoolean(question != null);
+        if (question == null) {
+            return;
+        }
+        writeNullableString(out, question.getCategory());
+        writeNullableString(out, question.getText());
+        List<String> options = question.getOptions();
+        writeStrings(out, options == null ? new String[0] : options.toArray(new String[0]));
+        out.writeInt(question.getCorrectOptionIndex());
+    }
+
+    static Question readQuestion(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String category = readNullableString(in);
+        String text = readNullableString(in);
+        List<String> options = new ArrayList<>(Arrays.asList(readStrings(in)));
+        return new Question(category, text, options, in.readInt());
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.quiz.server.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent hash ring mapping session ids to node ids.
+ * Every node is placed on the ring many times (virtual nodes) so load stays even and a
+ * joining or leaving node only moves about 1/N of the sessions.
+ */
+public final class ConsistentHashRing {
+    /** Default number of ring positions per node. */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> ring;
+    private final Set<String> nodes;
+
+    /**
+     * Constructor for an empty ConsistentHashRing.
+     *
+     * @param virtualNodes Number of ring positions per node
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, new TreeMap<>(), new TreeSet<>());
+    }
+
+    private ConsistentHashRing(int virtualNodes, NavigableMap<Long, String> ring, Set<String> nodes) {
+        this.virtualNodes = virtualNodes;
+        this.ring = ring;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Return a ring that also contains the given node.
+     *
+     * @param nodeId The node to add
+     * @return The new ring, or this ring if the node was already present
+     */
+    public ConsistentHashRing withNode(String nodeId) {
+        if (nodes.contains(nodeId)) {
+            return this;
+        }
+        TreeMap<Long, String> newRing = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            newRing.put(hash(nodeId + "#" + i), nodeId);
+        }
+        TreeSet<String> newNodes = new TreeSet<>(nodes);
+        newNodes.add(nodeId);
+        return new ConsistentHashRing(virtualNodes, newRing, newNodes);
+    }
+
+    /**
+     * Return a ring without the given node.
+     *
+     * @param nodeId The node to remove
+     * @return The new ring, or this ring if the node was not present
+     */
+    public ConsistentHashRing withoutNode(String nodeId) {
+        if (!nodes.contains(nodeId)) {
+            return this;
+        }
+        TreeMap<Long, String> newRing = new TreeMap<>(ring);
+        newRing.values().removeIf(nodeId::equals);
+        TreeSet<String> newNodes = new TreeSet<>(nodes);
+        newNodes.remove(nodeId);
+        return new ConsistentHashRing(virtualNodes, newRing, newNodes);
+    }
+
+    /**
+     * Get the node owning a key.
+     *
+     * @param key The key, e.g. a session id
+     * @return The owning node id, or null if the ring is empty
+     */
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return Collections.unmodifiableSet(nodes);
+    }
+
+    public boolean contains(String nodeId) {
+        return nodes.contains(nodeId);
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            // MD5 is required to be present on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConsistentHashRing{" +
+                "nodes=" + nodes +
+                ", virtualNodes=" + virtualNodes +
+                '}';
+    }
+}
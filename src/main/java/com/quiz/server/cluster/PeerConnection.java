@@ -0,0 +1,103 @@
+package com.quiz.server.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Persistent request/response connection to another cluster node.
+ * Calls are serialised, one request in flight at a time. A peer that does not answer
+ * in time fails the call and closes the connection, so it cannot block other callers for long.
+ */
+class PeerConnection implements Closeable {
+    /**
+     * Writes the arguments of a request.
+     */
+    interface RequestWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads the payload of a successful response.
+     *
+     * @param <T> The result type
+     */
+    interface ResponseReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+    // Long enough for a join, which waits until the member has moved its sessions
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private final String nodeId;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * Constructor for PeerConnection, connecting right away.
+     *
+     * @param nodeId The peer node id in host:port form
+     * @throws IOException If the peer cannot be reached
+     */
+    PeerConnection(String nodeId) throws IOException {
+        this.nodeId = nodeId;
+        int colon = nodeId.lastIndexOf(':');
+        this.socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+        socket.connect(new InetSocketAddress(nodeId.substring(0, colon),
+                Integer.parseInt(nodeId.substring(colon + 1))), CONNECT_TIMEOUT_MILLIS);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Send a request and wait for the response.
+     *
+     * @param op The operation code
+     * @param hops How many more times the request may be forwarded
+     * @param request Writes the request arguments
+     * @param response Reads the response payload
+     * @param <T> The result type
+     * @return The response payload
+     * @throws IOException If the connection failed or the peer did not answer in time
+     * @throws IllegalStateException If the peer reported an error
+     */
+    synchronized <T> T call(byte op, int hops, RequestWriter request, ResponseReader<T> response)
+            throws IOException {
+        try {
+            out.writeByte(op);
+            out.writeByte(hops);
+            request.write(out);
+            out.flush();
+            if (in.readByte() != ClusterProtocol.STATUS_OK) {
+                throw new IllegalStateException(nodeId + ": " + in.readUTF());
+            }
+            return response.read(in);
+        } catch (IOException e) {
+            // The stream position is unknown now, so the connection cannot be reused
+            socket.close();
+            throw e;
+        }
+    }
+
+    boolean isClosed() {
+        return socket.isClosed();
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.quiz.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Read-only access to the settings in application.properties.
+ */
+public final class ConfigManager {
+    private static final String CONFIG_RESOURCE = "/application.properties";
+    private static final Properties PROPERTIES = load();
+
+    private ConfigManager() {
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = ConfigManager.class.getResourceAsStream(CONFIG_RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            // Fall back to the defaults passed by the callers
+        }
+        return properties;
+    }
+
+    /**
+     * Get a setting as string.
+     *
+     * @param key The property key
+     * @param defaultValue Value returned if the key is missing
+     * @return The configured value or the default
+     */
+    public static String get(String key, String defaultValue) {
+        return System.getProperty(key, PROPERTIES.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Get a setting as int.
+     *
+     * @param key The property key
+     * @param defaultValue Value returned if the key is missing or not a number
+     * @return The configured value or the default
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the time a player has to answer a question.
+     *
+     * @return The time per question in seconds, 0 if unlimited
+     */
+    public static int getTimePerQuestion() {
+        return getInt("game.timePerQuestion", 30);
+    }
+
+    /**
+     * Get the directory holding the question files.
+     *
+     * @return The questions path
+     */
+    public static String getQuestionsPath() {
+        return get("file.questions.path", "src/main/resources/questions/");
+    }
+
+    /**
+     * Get the file extension of question files.
+     *
+     * @return The extension including the dot
+     */
+    public static String getQuestionsExtension() {
+        return get("file.questions.extension", ".json");
+    }
+
+    /**
+     * Get the directory holding the player profiles.
+     *
+     * @return The profile directory
+     */
+    public static String getProfilesPath() {
+        return get("file.profiles.path", "profiles/");
+    }
+
+    /**
+     * Get the number of player profiles kept in memory.
+     *
+     * @return The profile cache size
+     */
+    public static int getProfileCacheSize() {
+        return Math.max(1, getInt("profiles.cacheSize", 10000));
+    }
+
+    /**
+     * Get the number of questions prepared ahead for each player.
+     *
+     * @return The prefetch depth, at least 1
+     */
+    public static int getPrefetchDepth() {
+        return Math.max(1, getInt("game.prefetchDepth", 1));
+    }
+
+    /**
+     * Get the number of players in a new game.
+     *
+     * @return The number of players, at least 1
+     */
+    public static int getNumPlayers() {
+        return Math.max(1, getInt("game.numPlayers", 2));
+    }
+}
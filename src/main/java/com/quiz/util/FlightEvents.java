@@ -0,0 +1,102 @@
+package com.quiz.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the game lifecycle, so recordings show game activity next
+ * to garbage collections, safepoints and other JVM events. The events are only written while
+ * a recording has them enabled, e.g. one started with
+ * {@code jcmd <pid> JFR.start settings=profile} or {@code -XX:StartFlightRecording}; at any
+ * other time creating and committing them compiles down to almost nothing.
+ * Recordings include all of them unless switched off by name in the recording's settings,
+ * e.g. {@code com.quiz.QuestionServed#enabled=false}.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("com.quiz.GameStarted")
+    @Label("Game Started")
+    @Category("Quiz")
+    @Description("A new game was started, or a game was reset or loaded")
+    @StackTrace(false)
+    public static final class GameStarted extends Event {
+        @Label("Players")
+        public int players;
+
+        @Label("Seed")
+        @Description("Seed the game's questions are drawn with")
+        public long seed;
+
+        @Label("Reset")
+        @Description("Whether an existing game was started over")
+        public boolean reset;
+    }
+
+    @Name("com.quiz.GameEnded")
+    @Label("Game Ended")
+    @Category("Quiz")
+    @Description("Only one player is left in a game")
+    @StackTrace(false)
+    public static final class GameEnded extends Event {
+        @Label("Players")
+        public int players;
+
+        @Label("Winner")
+        public String winner;
+    }
+
+    @Name("com.quiz.QuestionServed")
+    @Label("Question Served")
+    @Category("Quiz")
+    @Description("A drawn question was shown to a player")
+    @StackTrace(false)
+    public static final class QuestionServed extends Event {
+        @Label("Category")
+        public String category;
+
+        @Label("Question Index")
+        @Description("Position of the question in its category, or -1 if it was not drawn recently")
+        public int questionIndex;
+    }
+
+    @Name("com.quiz.AnswerSubmitted")
+    @Label("Answer Submitted")
+    @Category("Quiz")
+    @Description("A player's answer was scored, including the notifications it caused")
+    @StackTrace(false)
+    public static final class AnswerSubmitted extends Event {
+        @Label("Category")
+        public String category;
+
+        @Label("Player")
+        public String player;
+
+        @Label("Correct")
+        public boolean correct;
+    }
+
+    @Name("com.quiz.GameSaved")
+    @Label("Game Saved")
+    @Category("Quiz")
+    @Description("A game was written to a file")
+    public static final class GameSaved extends Event {
+        @Label("File")
+        public String file;
+    }
+
+    @Name("com.quiz.GameLoaded")
+    @Label("Game Loaded")
+    @Category("Quiz")
+    @Description("A game was read from a file and applied")
+    public static final class GameLoaded extends Event {
+        @Label("File")
+        public String file;
+    }
+}
@@ -0,0 +1,285 @@
+package com.quiz.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Histogram of latencies with a fixed relative precision, in the style of HdrHistogram.
+ * Values up to 127 are counted exactly; above that, each power of two is split into
+ * 64 buckets, so a reported value is never more than about 1.6% above the recorded one.
+ * Any non-negative long fits, e.g. nanoseconds up to centuries.
+ * Recording is lock-free and does not allocate, so it can be done from any number of
+ * threads on hot paths. Like {@link java.util.concurrent.atomic.LongAdder}, the counts are
+ * spread over stripes picked by the recording thread, so threads sharing a histogram rarely
+ * write the same cache lines; a stripe is only allocated once a thread records into it.
+ * Reading sums up the stripes and gives a nearly consistent view while others record.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKET_HALF;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_HALF;
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicReferenceArray<Stripe> stripes;
+
+    /**
+     * Constructor for LatencyHistogram, with a stripe per processor up to 16.
+     */
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for LatencyHistogram.
+     *
+     * @param stripes Number of stripes the recording threads are spread over, rounded up to a power of two
+     */
+    LatencyHistogram(int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, stripes)) * 2 - 1);
+        this.stripes = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * Counts of the threads recording into one slot of the histogram.
+     */
+    private static final class Stripe {
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        final AtomicLong totalCount = new AtomicLong();
+        final AtomicLong totalValue = new AtomicLong();
+        final AtomicLong maxValue = new AtomicLong();
+        final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+
+        void record(long v) {
+            counts.incrementAndGet(indexOf(v));
+            totalCount.incrementAndGet();
+            totalValue.addAndGet(v);
+            long max;
+            while (v > (max = maxValue.get()) && !maxValue.compareAndSet(max, v)) {
+                // Retry with the new maximum
+            }
+            long min;
+            while (v < (min = minValue.get()) && !minValue.compareAndSet(min, v)) {
+                // Retry with the new minimum
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            totalCount.set(0);
+            totalValue.set(0);
+            maxValue.set(0);
+            minValue.set(Long.MAX_VALUE);
+        }
+    }
+
+    private Stripe stripe() {
+        // Spread consecutive thread ids over the stripes
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        int index = (int) (id >>> 32) & (stripes.length() - 1);
+        Stripe stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new Stripe());
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value The value, e.g. a latency in nanoseconds; negative values count as 0
+     */
+    public void record(long value) {
+        stripe().record(Math.max(0, value));
+    }
+
+    /**
+     * Record a value measured by a loop that could not start its next measurement on time.
+     * Like HdrHistogram, the measurements that were missed while waiting are added too:
+     * one for every expected interval the value exceeds, each an interval shorter.
+     * Prefer measuring from the intended start time where possible; then this is not needed.
+     *
+     * @param value The measured value
+     * @param expectedInterval The interval at which measurements should have been taken
+     */
+    public void recordWithExpectedInterval(long value, long expectedInterval) {
+        record(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (long missed = value - expectedInterval; missed >= expectedInterval; missed -= expectedInterval) {
+            record(missed);
+        }
+    }
+
+    /**
+     * Add all values recorded by another histogram.
+     *
+     * @param other The histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        Stripe target = stripe();
+        for (int s = 0; s < other.stripes.length(); s++) {
+            Stripe source = other.stripes.get(s);
+            if (source == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = source.counts.get(i);
+                if (count != 0) {
+                    target.counts.addAndGet(i, count);
+                }
+            }
+            target.totalCount.addAndGet(source.totalCount.get());
+            target.totalValue.addAndGet(source.totalValue.get());
+            target.maxValue.accumulateAndGet(source.maxValue.get(), Math::max);
+            target.minValue.accumulateAndGet(source.minValue.get(), Math::min);
+        }
+    }
+
+    /**
+     * Forget all recorded values.
+     */
+    public void reset() {
+        for (int s = 0; s < stripes.length(); s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe != null) {
+                stripe.reset();
+            }
+        }
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int s = 0; s < stripes.length(); s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe != null) {
+                count += stripe.totalCount.get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the largest recorded value.
+     *
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        long max = 0;
+        for (int s = 0; s < stripes.length(); s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe != null) {
+                max = Math.max(max, stripe.maxValue.get());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the smallest recorded value.
+     *
+     * @return The minimum, or 0 if nothing was recorded
+     */
+    public long getMin() {
+        long min = Long.MAX_VALUE;
+        for (int s = 0; s < stripes.length(); s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe != null) {
+                min = Math.min(min, stripe.minValue.get());
+            }
+        }
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Get the mean of the recorded values.
+     *
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = 0;
+        long total = 0;
+        for (int s = 0; s < stripes.length(); s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe != null) {
+                count += stripe.totalCount.get();
+                total += stripe.totalValue.get();
+            }
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Get the value below which a given share of the recorded values lie.
+     * The result is the highest value of the bucket holding that rank, but not above the maximum.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The value, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        double share = Math.min(100, Math.max(0, percentile)) / 100;
+        long rank = Math.max(1, (long) Math.ceil(share * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            for (int s = 0; s < stripes.length(); s++) {
+                Stripe stripe = stripes.get(s);
+                if (stripe != null) {
+                    seen += stripe.counts.get(i);
+                }
+            }
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Describe the distribution in one line.
+     *
+     * @param unit The unit of the recorded values
+     * @return Count, mean and percentiles in milliseconds
+     */
+    public String summary(TimeUnit unit) {
+        double toMillis = unit.toNanos(1) / 1e6;
+        return String.format("count=%d mean=%.3f p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f ms",
+                getCount(), getMean() * toMillis,
+                getValueAtPercentile(50) * toMillis, getValueAtPercentile(90) * toMillis,
+                getValueAtPercentile(99) * toMillis, getValueAtPercentile(99.9) * toMillis,
+                getMax() * toMillis);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        // Shift the value so its highest bits fall into [SUB_BUCKET_HALF, LINEAR_LIMIT)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >>> shift) - SUB_BUCKET_HALF);
+    }
+
+    static long highestValueAt(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_HALF + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return shift == 63 - SUB_BUCKET_BITS - 1 && sub == LINEAR_LIMIT - 1
+                ? Long.MAX_VALUE : ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,236 @@
+package com.quiz.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime metrics of the application: latency histograms of the main operations and
+ * counters of games and questions. Recording takes no locks, allocates nothing once each
+ * thread has recorded a first value, and spreads threads over separate counters, so the
+ * metrics are always on. They can be read over JMX once {@link #registerMBeans()} was
+ * called, under the {@code com.quiz} domain, or as text with {@link #dump()}.
+ * Latencies are recorded in nanoseconds and shown in milliseconds.
+ */
+public final class Metrics {
+    private static final Logger log = LogManager.getLogger(Metrics.class);
+
+    /** Time to draw a random question, including questions drawn ahead and never shown. */
+    public static final LatencyHistogram QUESTION_SELECTION = new LatencyHistogram();
+    /** Time to process a submitted answer, including the notifications it causes. */
+    public static final LatencyHistogram ANSWER_SUBMISSION = new LatencyHistogram();
+    /** Time to write a saved game. */
+    public static final LatencyHistogram SAVE = new LatencyHistogram();
+    /** Time to read and apply a saved game. */
+    public static final LatencyHistogram LOAD = new LatencyHistogram();
+    /** Time to hand a batch of model events to one listener. */
+    public static final LatencyHistogram OBSERVER_DISPATCH = new LatencyHistogram();
+
+    /** Games started, reset or loaded. */
+    public static final LongAdder GAMES_STARTED = new LongAdder();
+    /** Games played until only one player was left. */
+    public static final LongAdder GAMES_FINISHED = new LongAdder();
+    /** Questions shown to a player. */
+    public static final LongAdder QUESTIONS_SERVED = new LongAdder();
+    /** Questions drawn, including those drawn ahead and dropped before they were shown. */
+    public static final LongAdder QUESTIONS_DRAWN = new LongAdder();
+
+    private static final Map<String, LatencyHistogram> LATENCIES = new LinkedHashMap<>();
+
+    static {
+        LATENCIES.put("questionSelection", QUESTION_SELECTION);
+        LATENCIES.put("answerSubmission", ANSWER_SUBMISSION);
+        LATENCIES.put("save", SAVE);
+        LATENCIES.put("load", LOAD);
+        LATENCIES.put("observerDispatch", OBSERVER_DISPATCH);
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Make the metrics available over JMX. Calling this again has no effect.
+     */
+    public static synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, new ObjectName("com.quiz:type=Counters"),
+                    new StandardMBean(new Counters(), CountersMXBean.class, true));
+            for (Map.Entry<String, LatencyHistogram> entry : LATENCIES.entrySet()) {
+                register(server, new ObjectName("com.quiz:type=Latency,name=" + entry.getKey()),
+                        new StandardMBean(new Latency(entry.getValue()), LatencyMXBean.class, true));
+            }
+        } catch (JMException e) {
+            log.warn("Could not register the metrics with JMX", e);
+        }
+    }
+
+    private static void register(MBeanServer server, ObjectName name, Object bean) throws JMException {
+        try {
+            server.registerMBean(bean, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered before
+        }
+    }
+
+    /**
+     * Describe all metrics, one per line.
+     *
+     * @return The metrics as text
+     */
+    public static String dump() {
+        StringBuilder text = new StringBuilder();
+        String newline = System.lineSeparator();
+        text.append("games.started ").append(GAMES_STARTED.sum()).append(newline);
+        text.append("games.finished ").append(GAMES_FINISHED.sum()).append(newline);
+        text.append("questions.served ").append(QUESTIONS_SERVED.sum()).append(newline);
+        text.append("questions.drawn ").append(QUESTIONS_DRAWN.sum()).append(newline);
+        for (Map.Entry<String, LatencyHistogram> entry : LATENCIES.entrySet()) {
+            text.append("latency.").append(entry.getKey()).append(' ')
+                    .append(entry.getValue().summary(TimeUnit.NANOSECONDS)).append(newline);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Set all metrics back to zero.
+     */
+    public static void reset() {
+        GAMES_STARTED.reset();
+        GAMES_FINISHED.reset();
+        QUESTIONS_SERVED.reset();
+        QUESTIONS_DRAWN.reset();
+        for (LatencyHistogram histogram : LATENCIES.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * JMX view of the counters.
+     */
+    public interface CountersMXBean {
+        long getGamesStarted();
+
+        long getGamesFinished();
+
+        long getQuestionsServed();
+
+        long getQuestionsDrawn();
+
+        /**
+         * Describe all metrics as text, see {@link Metrics#dump()}.
+         *
+         * @return The metrics as text
+         */
+        String dump();
+
+        /**
+         * Set all metrics back to zero.
+         */
+        void reset();
+    }
+
+    /**
+     * JMX view of a latency histogram, in milliseconds.
+     */
+    public interface LatencyMXBean {
+        long getCount();
+
+        double getMeanMillis();
+
+        double getP50Millis();
+
+        double getP90Millis();
+
+        double getP99Millis();
+
+        double getP999Millis();
+
+        double getMaxMillis();
+    }
+
+    private static final class Counters implements CountersMXBean {
+        @Override
+        public long getGamesStarted() {
+            return GAMES_STARTED.sum();
+        }
+
+        @Override
+        public long getGamesFinished() {
+            return GAMES_FINISHED.sum();
+        }
+
+        @Override
+        public long getQuestionsServed() {
+            return QUESTIONS_SERVED.sum();
+        }
+
+        @Override
+        public long getQuestionsDrawn() {
+            return QUESTIONS_DRAWN.sum();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+
+    private static final class Latency implements LatencyMXBean {
+        private final LatencyHistogram histogram;
+
+        Latency(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return histogram.getMean() / 1e6;
+        }
+
+        @Override
+        public double getP50Millis() {
+            return histogram.getValueAtPercentile(50) / 1e6;
+        }
+
+        @Override
+        public double getP90Millis() {
+            return histogram.getValueAtPercentile(90) / 1e6;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return histogram.getValueAtPercentile(99) / 1e6;
+        }
+
+        @Override
+        public double getP999Millis() {
+            return histogram.getValueAtPercentile(99.9) / 1e6;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return histogram.getMax() / 1e6;
+        }
+    }
+}
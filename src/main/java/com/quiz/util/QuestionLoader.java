@@ -0,0 +1,89 @@
+package com.quiz.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.quiz.model.Question;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads question banks from JSON files.
+ * Each file holds an array of objects with the fields {@code question}, {@code options},
+ * {@code correctAnswerIndex} and {@code category}; other fields are ignored.
+ */
+public final class QuestionLoader {
+    private static final Gson GSON = new Gson();
+
+    private QuestionLoader() {
+    }
+
+    /**
+     * Load all question files in a directory.
+     * Categories keep the order in which they first appear, files are read in name order.
+     *
+     * @param directory The directory to read
+     * @param extension Extension of the question files, e.g. ".json"
+     * @return Questions by category; empty if the directory does not exist
+     * @throws IOException If a file cannot be read or parsed
+     */
+    public static Map<String, List<Question>> loadDirectory(Path directory, String extension) throws IOException {
+        Map<String, List<Question>> questionsByCategory = new LinkedHashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return questionsByCategory;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + extension)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                load(reader, questionsByCategory);
+            } catch (JsonParseException e) {
+                throw new IOException("Invalid question file " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return questionsByCategory;
+    }
+
+    /**
+     * Load the questions of one JSON array into a bank.
+     *
+     * @param reader The JSON to read
+     * @param questionsByCategory The bank to add the questions to
+     */
+    public static void load(Reader reader, Map<String, List<Question>> questionsByCategory) {
+        QuestionEntry[] entries = GSON.fromJson(reader, QuestionEntry[].class);
+        if (entries == null) {
+            return;
+        }
+        for (QuestionEntry entry : entries) {
+            if (entry == null || entry.question == null || entry.options == null || entry.category == null) {
+                continue;
+            }
+            questionsByCategory.computeIfAbsent(entry.category, c -> new ArrayList<>())
+                    .add(new Question(entry.category, entry.question, entry.options, entry.correctAnswerIndex));
+        }
+    }
+
+    /**
+     * Layout of one question in the JSON files.
+     */
+    private static final class QuestionEntry {
+        private String question;
+        private List<String> options;
+        private int correctAnswerIndex;
+        private String category;
+    }
+}
@@ -0,0 +1,73 @@
+package com.quiz.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the phases of application startup.
+ * Phases may run in parallel on different threads; each is reported with its own
+ * duration and with the time since the JVM was launched when it ended.
+ */
+public class StartupTimer {
+    private final long launchNanos;
+    private final List<String> lines = new ArrayList<>();
+
+    /**
+     * Constructor for StartupTimer. Times are relative to the launch of the JVM.
+     */
+    public StartupTimer() {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        this.launchNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(runtime.getUptime());
+    }
+
+    /**
+     * Get a start time for {@link #record(String, long)}.
+     *
+     * @return The current time in nanoseconds
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record a phase that ends now.
+     *
+     * @param phase Name of the phase
+     * @param startNanos When the phase started, see {@link #start()}
+     * @return The duration of the phase in milliseconds
+     */
+    public long record(String phase, long startNanos) {
+        long end = System.nanoTime();
+        long millis = TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+        synchronized (lines) {
+            lines.add(String.format("%-28s %6d ms  (done at %6d ms)", phase, millis,
+                    TimeUnit.NANOSECONDS.toMillis(end - launchNanos)));
+        }
+        return millis;
+    }
+
+    /**
+     * Record the time from the JVM launch until now, e.g. until main was entered.
+     * This covers JVM initialization and loading the classes needed so far.
+     *
+     * @param phase Name of the phase
+     * @return The time since launch in milliseconds
+     */
+    public long recordSinceLaunch(String phase) {
+        return record(phase, launchNanos);
+    }
+
+    /**
+     * Get a report of all phases recorded so far, one per line.
+     *
+     * @return The report
+     */
+    public String summary() {
+        synchronized (lines) {
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.quiz.view;
+
+import com.quiz.model.Player;
+import com.quiz.model.Question;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+/**
+ * The game area of the main window: category tabs, the current question with its
+ * options, and the scores. Being a plain panel it does not need a display, so its
+ * update paths can also be driven offscreen, e.g. by a benchmark.
+ */
+public class GamePanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    // Question display and tabs
+    private JTabbedPane categoryTabs;
+    private JPanel questionPanel;
+    private WrappedTextLabel questionLabel;
+    private JRadioButton[] optionButtons;
+    private WrappedTextLabel[] optionLabels;
+    // Wrapped lines of recently shown questions and options
+    private final transient TextLayoutCache textLayouts = new TextLayoutCache(256);
+    private ButtonGroup optionGroup;
+    private JButton submitButton;
+    private JButton nextButton;
+
+    // Score display
+    private JPanel scorePanel;
+    private JLabel[] playerLabels;
+    private JLabel currentPlayerLabel;
+
+    /**
+     * Constructor for GamePanel.
+     */
+    public GamePanel() {
+        initializeComponents();
+        setupLayout();
+    }
+
+    /**
+     * Initialize all components.
+     */
+    private void initializeComponents() {
+        // Initialize category tabs; they are added once the question bank is known
+        // and their contents are created when a tab is first selected
+        categoryTabs = new JTabbedPane(JTabbedPane.TOP, JTabbedPane.SCROLL_TAB_LAYOUT);
+        categoryTabs.addChangeListener(e -> createSelectedTabContent());
+
+        // Initialize question panel
+        questionPanel = new JPanel();
+        questionPanel.setLayout(new BoxLayout(questionPanel, BoxLayout.Y_AXIS));
+        questionPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        questionLabel = new WrappedTextLabel(textLayouts, "Select a category to start", 600);
+        questionLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        questionPanel.add(questionLabel);
+        questionPanel.add(Box.createVerticalStrut(10));
+
+        // Initialize option buttons (4 options for multiple choice); the text is
+        // next to the button so long options wrap instead of being cut off
+        optionButtons = new JRadioButton[4];
+        optionLabels = new WrappedTextLabel[4];
+        optionGroup = new ButtonGroup();
+        for (int i = 0; i < 4; i++) {
+            optionButtons[i] = new JRadioButton();
+            optionLabels[i] = new WrappedTextLabel(textLayouts, "Option " + (i + 1), 560);
+            optionGroup.add(optionButtons[i]);
+            questionPanel.add(createOptionRow(optionButtons[i], optionLabels[i]));
+        }
+
+        questionPanel.add(Box.createVerticalStrut(20));
+
+        // Initialize buttons
+        JPanel buttonPanel = new JPanel();
+        submitButton = new JButton("Submit Answer");
+        nextButton = new JButton("Next Question");
+        buttonPanel.add(submitButton);
+        buttonPanel.add(nextButton);
+        questionPanel.add(buttonPanel);
+
+        // Initialize score panel
+        scorePanel = new JPanel();
+        scorePanel.setLayout(new FlowLayout());
+        scorePanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+
+        currentPlayerLabel = new JLabel("Current Player: None");
+        rebuildScoreLabels(2);
+    }
+
+    /**
+     * Create the row of an option, selecting the option when its text is clicked.
+     *
+     * @param button The option's button
+     * @param label The option's text
+     * @return The row
+     */
+    private JPanel createOptionRow(JRadioButton button, WrappedTextLabel label) {
+        JPanel row = new JPanel(new BorderLayout());
+        row.setAlignmentX(LEFT_ALIGNMENT);
+        button.setVerticalAlignment(SwingConstants.TOP);
+        row.add(button, BorderLayout.WEST);
+        row.add(label, BorderLayout.CENTER);
+        label.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (button.isEnabled()) {
+                    button.setSelected(true);
+                }
+            }
+        });
+        return row;
+    }
+
+    /**
+     * Show one tab per category.
+     * Nothing changes if the categories are the same as before; otherwise the tabs are
+     * rebuilt, keeping the selected category if it still exists. Only the selected tab
+     * gets its contents right away, so large question banks do not slow this down.
+     *
+     * @param categories The category names, in tab order
+     */
+    public void setCategories(String[] categories) {
+        int count = categoryTabs.getTabCount();
+        if (count == categories.length) {
+            boolean same = true;
+            for (int i = 0; i < count && same; i++) {
+                same = categories[i].equals(categoryTabs.getTitleAt(i));
+            }
+            if (same) {
+                return;
+            }
+        }
+        String selected = getSelectedCategory();
+        categoryTabs.removeAll();
+        for (String category : categories) {
+            categoryTabs.addTab(category, null);
+        }
+        int index = selected == null ? -1 : categoryTabs.indexOfTab(selected);
+        if (index > 0) {
+            categoryTabs.setSelectedIndex(index);
+        }
+        createSelectedTabContent();
+    }
+
+    /**
+     * Get the category of the selected tab.
+     *
+     * @return The category name, or null if there are no categories
+     */
+    public String getSelectedCategory() {
+        int index = categoryTabs.getSelectedIndex();
+        return index < 0 ? null : categoryTabs.getTitleAt(index);
+    }
+
+    /**
+     * Create the contents of the selected category tab if it has none yet.
+     */
+    private void createSelectedTabContent() {
+        int index = categoryTabs.getSelectedIndex();
+        if (index >= 0 && categoryTabs.getComponentAt(index) == null) {
+            JPanel categoryPanel = new JPanel();
+            categoryPanel.setLayout(new FlowLayout());
+            categoryPanel.add(new JLabel(categoryTabs.getTitleAt(index)));
+            categoryTabs.setComponentAt(index, categoryPanel);
+        }
+    }
+
+    /**
+     * Recreate the score labels for the given number of players.
+     *
+     * @param count The number of players
+     */
+    private void rebuildScoreLabels(int count) {
+        scorePanel.removeAll();
+        playerLabels = new JLabel[count];
+        for (int i = 0; i < count; i++) {
+            playerLabels[i] = new JLabel("Player " + (i + 1) + ": 0");
+            scorePanel.add(playerLabels[i]);
+            scorePanel.add(Box.createHorizontalStrut(20));
+        }
+        scorePanel.add(currentPlayerLabel);
+        scorePanel.revalidate();
+        scorePanel.repaint();
+    }
+
+    /**
+     * Setup the layout using BorderLayout.
+     */
+    private void setupLayout() {
+        setLayout(new BorderLayout());
+
+        // Center: question display and category tabs
+        JPanel centerPanel = new JPanel();
+        centerPanel.setLayout(new BorderLayout());
+        centerPanel.add(categoryTabs, BorderLayout.NORTH);
+        centerPanel.add(questionPanel, BorderLayout.CENTER);
+
+        add(centerPanel, BorderLayout.CENTER);
+        add(scorePanel, BorderLayout.SOUTH);
+    }
+
+    public JButton getSubmitButton() {
+        return submitButton;
+    }
+
+    public JButton getNextButton() {
+        return nextButton;
+    }
+
+    public JTabbedPane getCategoryTabs() {
+        return categoryTabs;
+    }
+
+    /**
+     * Display a question and its options.
+     *
+     * @param question The question to display
+     */
+    public void displayQuestion(Question question) {
+        if (question == null) {
+            questionLabel.setText("No questions available");
+            for (int i = 0; i < optionButtons.length; i++) {
+                optionLabels[i].setText("");
+                optionLabels[i].setEnabled(false);
+                optionButtons[i].setEnabled(false);
+            }
+            return;
+        }
+
+        questionLabel.setText(question.getText());
+        List<String> options = question.getOptions();
+
+        for (int i = 0; i < optionButtons.length; i++) {
+            if (i < options.size()) {
+                optionLabels[i].setText(options.get(i));
+                optionLabels[i].setEnabled(true);
+                optionButtons[i].setEnabled(true);
+                optionButtons[i].setSelected(false);
+            } else {
+                optionLabels[i].setText("");
+                optionLabels[i].setEnabled(false);
+                optionButtons[i].setEnabled(false);
+            }
+        }
+
+        optionGroup.clearSelection();
+    }
+
+    /**
+     * Get the index of the selected option.
+     *
+     * @return The index of the selected option, or -1 if none selected
+     */
+    public int getSelectedOptionIndex() {
+        for (int i = 0; i < optionButtons.length; i++) {
+            if (optionButtons[i].isSelected()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Clear the selection of options.
+     */
+    public void clearSelection() {
+        optionGroup.clearSelection();
+    }
+
+    /**
+     * Update the score display for both players.
+     *
+     * @param player1 First player
+     * @param player2 Second player
+     * @param currentPlayer Current player
+     */
+    public void updateScores(Player player1, Player player2, Player currentPlayer) {
+        updateScores(new Player[]{player1, player2}, currentPlayer);
+    }
+
+    /**
+     * Update the score display for any number of players.
+     * Labels are only recreated when the number of players changes.
+     *
+     * @param players All players in turn order
+     * @param currentPlayer Current player
+     */
+    public void updateScores(Player[] players, Player currentPlayer) {
+        if (playerLabels.length != players.length) {
+            rebuildScoreLabels(players.length);
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] != null) {
+                playerLabels[i].setText(players[i].getName() + ": " + players[i].getScore());
+            }
+        }
+        if (currentPlayer != null) {
+            currentPlayerLabel.setText("Current Player: " + currentPlayer.getName());
+        }
+    }
+
+    /**
+     * Update the score display of a single player.
+     *
+     * @param index Index of the player in turn order
+     * @param player The player
+     */
+    public void updatePlayerScore(int index, Player player) {
+        if (index >= 0 && index < playerLabels.length && player != null) {
+            playerLabels[index].setText(player.getName() + ": " + player.getScore());
+        }
+    }
+
+    /**
+     * Update the display of whose turn it is.
+     *
+     * @param currentPlayer Current player
+     */
+    public void updateCurrentPlayer(Player currentPlayer) {
+        if (currentPlayer != null) {
+            currentPlayerLabel.setText("Current Player: " + currentPlayer.getName());
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.quiz.view;
 
 import com.quiz.model.Question;
+import com.quiz.model.QuestionStore;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +15,8 @@ import java.util.List;
  */
 public class QuestionEditorDialog extends JDialog {
     private static final long serialVersionUID = 1L;
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 16;
 
     private JComboBox<String> categoryCombo;
     private JTextArea questionArea;
@@ -20,6 +25,13 @@ public class QuestionEditorDialog extends JDialog {
     private JButton addButton, cancelButton;
     private Question newQuestion;
 
+    // Question browser
+    private JTextField searchField;
+    private JTable questionTable;
+    private JLabel browseStatusLabel;
+    private QuestionTableModel tableModel;
+    private Timer searchTimer;
+
     /**
      * Constructor for QuestionEditorDialog.
      *
@@ -96,13 +108,103 @@ public class QuestionEditorDialog extends JDialog {
         buttonPanel.add(cancelButton);
         mainPanel.add(buttonPanel);
 
-        setContentPane(mainPanel);
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Add", mainPanel);
+        tabs.addTab("Browse", createBrowsePanel());
+        setContentPane(tabs);
 
         // Event listeners
         addButton.addActionListener(e -> createQuestion());
         cancelButton.addActionListener(e -> dispose());
     }
 
+    /**
+     * Create the panel for browsing and editing existing questions.
+     * The table only renders visible rows, with a fixed row height so it never measures the others.
+     *
+     * @return The browse panel
+     */
+    private JPanel createBrowsePanel() {
+        searchField = new JTextField(30);
+        browseStatusLabel = new JLabel(" ");
+        questionTable = new JTable();
+        questionTable.setFillsViewportHeight(true);
+        questionTable.setRowHeight(20);
+        questionTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        // Search once typing pauses instead of on every key
+        searchTimer = new Timer(250, e -> {
+            if (tableModel != null) {
+                tableModel.filter(searchField.getText());
+            }
+        });
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
+
+        JPanel browsePanel = new JPanel(new BorderLayout());
+        browsePanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        browsePanel.add(searchPanel, BorderLayout.NORTH);
+        browsePanel.add(new JScrollPane(questionTable), BorderLayout.CENTER);
+        browsePanel.add(browseStatusLabel, BorderLayout.SOUTH);
+        return browsePanel;
+    }
+
+    /**
+     * Replace the categories a new question can be added to.
+     * The selected category is kept if it is still available.
+     *
+     * @param categories The available categories
+     */
+    public void setCategories(String[] categories) {
+        Object selected = categoryCombo.getSelectedItem();
+        categoryCombo.setModel(new DefaultComboBoxModel<>(categories));
+        if (selected != null) {
+            categoryCombo.setSelectedItem(selected);
+        }
+    }
+
+    /**
+     * Set the questions shown in the browser.
+     * Questions are loaded page by page as they are scrolled into view.
+     *
+     * @param store The questions to browse
+     */
+    public void setQuestionStore(QuestionStore store) {
+        tableModel = new QuestionTableModel(store, PAGE_SIZE, MAX_PAGES);
+        tableModel.addTableModelListener(e -> updateBrowseStatus());
+        questionTable.setModel(tableModel);
+        questionTable.getColumnModel().getColumn(0).setMaxWidth(80);
+        searchField.setText("");
+        updateBrowseStatus();
+    }
+
+    private void updateBrowseStatus() {
+        browseStatusLabel.setText(tableModel.getRowCount() + " questions");
+    }
+
+    public QuestionTableModel getTableModel() {
+        return tableModel;
+    }
+
     /**
      * Setup the layout.
      */
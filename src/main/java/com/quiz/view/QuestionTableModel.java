@@ -0,0 +1,316 @@
+package com.quiz.view;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuestionSearchIndex;
+import com.quiz.model.QuestionStore;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Table model showing the questions of a QuestionStore without loading them all.
+ * Rows are loaded in pages on background workers when the table first asks for them,
+ * and only a fixed number of pages is kept, so memory use does not grow with the store.
+ * Filtering uses a QuestionSearchIndex, also built and searched in the background.
+ * The rows matching a filter may come from many more pages than are kept, so their
+ * questions are kept by number instead, up to as many as the pages would hold.
+ * Like all Swing models, it must only be used on the event dispatch thread.
+ */
+public class QuestionTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    /** Text shown in cells whose page is still loading. */
+    public static final String LOADING = "Loading...";
+
+    private static final String[] COLUMNS = {"#", "Category", "Question", "Correct Answer"};
+    private static final int COLUMN_ID = 0;
+    private static final int COLUMN_CATEGORY = 1;
+    private static final int COLUMN_TEXT = 2;
+    private static final int COLUMN_ANSWER = 3;
+
+    private final transient QuestionStore store;
+    private final int pageSize;
+    private final Map<Integer, List<Question>> pages;
+    private final Map<Integer, Question> matches;
+    private final Set<Integer> loadingPages = new HashSet<>();
+    private transient QuestionSearchIndex index;
+    private transient SwingWorker<QuestionSearchIndex, Void> indexWorker;
+    private int[] rows;
+    private int filterGeneration;
+    private int pageLoads;
+
+    /**
+     * Constructor for QuestionTableModel.
+     *
+     * @param store The questions to show
+     * @param pageSize Number of questions loaded at a time
+     * @param maxPages Number of pages kept in memory
+     */
+    public QuestionTableModel(QuestionStore store, int pageSize, int maxPages) {
+        this.store = store;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Question>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        int maxMatches = maxPages * pageSize;
+        this.matches = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Question> eldest) {
+                return size() > maxMatches;
+            }
+        };
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows == null ? store.size() : rows.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    /**
+     * Get the number of the question shown in a row.
+     *
+     * @param row The row
+     * @return The question number in the store
+     */
+    public int getQuestionId(int row) {
+        return rows == null ? row : rows[row];
+    }
+
+    /**
+     * Get the question shown in a row, if its page is loaded.
+     *
+     * @param row The row
+     * @return The question, or null while it is loading
+     */
+    public Question getQuestion(int row) {
+        int id = getQuestionId(row);
+        if (rows != null) {
+            Question match = matches.get(id);
+            if (match != null) {
+                return match;
+            }
+        }
+        List<Question> page = pages.get(id / pageSize);
+        if (page == null) {
+            requestPage(id / pageSize);
+            return null;
+        }
+        int offset = id % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == COLUMN_ID) {
+            return getQuestionId(row) + 1;
+        }
+        Question question = getQuestion(row);
+        if (question == null) {
+            return column == COLUMN_TEXT ? LOADING : "";
+        }
+        switch (column) {
+            case COLUMN_CATEGORY:
+                return question.getCategory();
+            case COLUMN_TEXT:
+                return question.getText();
+            case COLUMN_ANSWER:
+                List<String> options = question.getOptions();
+                int correct = question.getCorrectOptionIndex();
+                return options != null && correct >= 0 && correct < options.size() ? options.get(correct) : "";
+            default:
+                return "";
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == COLUMN_TEXT && getQuestion(row) != null;
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        Question question = getQuestion(row);
+        if (column != COLUMN_TEXT || question == null || value == null) {
+            return;
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty() || text.equals(question.getText())) {
+            return;
+        }
+        Question edited = new Question(question.getCategory(), text,
+                new ArrayList<>(question.getOptions()), question.getCorrectOptionIndex());
+        int id = getQuestionId(row);
+        store.update(id, edited);
+        List<Question> page = pages.get(id / pageSize);
+        if (page != null) {
+            page.set(id % pageSize, edited);
+        }
+        if (rows != null) {
+            matches.put(id, edited);
+        }
+        // The index still has the old words; rebuild it for the next search
+        index = null;
+        fireTableCellUpdated(row, column);
+    }
+
+    /**
+     * Show only questions containing all words of a query.
+     * The search runs in the background; the rows change when it completes.
+     *
+     * @param query The words to look for, empty to show all questions
+     */
+    public void filter(String query) {
+        int generation = ++filterGeneration;
+        String words = query == null ? "" : query.trim();
+        if (words.isEmpty()) {
+            rows = null;
+            matches.clear();
+            fireTableDataChanged();
+            return;
+        }
+        SwingWorker<QuestionSearchIndex, Void> indexing = indexWorker();
+        new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() throws Exception {
+                return indexing.get().search(words);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != filterGeneration) {
+                    return;
+                }
+                try {
+                    rows = get();
+                    matches.clear();
+                    fireTableDataChanged();
+                } catch (InterruptedException | ExecutionException e) {
+                    // Keep showing the previous rows
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Get the worker building the search index, starting it on first use.
+     */
+    private SwingWorker<QuestionSearchIndex, Void> indexWorker() {
+        if (index == null && (indexWorker == null || indexWorker.isDone())) {
+            indexWorker = new SwingWorker<QuestionSearchIndex, Void>() {
+                @Override
+                protected QuestionSearchIndex doInBackground() {
+                    return QuestionSearchIndex.build(store, pageSize);
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        index = get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        // Built again on the next search
+                    }
+                }
+            };
+            indexWorker.execute();
+        }
+        return indexWorker;
+    }
+
+    /**
+     * Load a page in the background unless it is already loading.
+     *
+     * @param page The page number
+     */
+    private void requestPage(int page) {
+        if (!loadingPages.add(page)) {
+            return;
+        }
+        pageLoads++;
+        new SwingWorker<List<Question>, Void>() {
+            @Override
+            protected List<Question> doInBackground() {
+                return store.load(page * pageSize, pageSize);
+            }
+
+            @Override
+            protected void done() {
+                loadingPages.remove(page);
+                List<Question> questions;
+                try {
+                    questions = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    // Requested again when the rows are painted again
+                    return;
+                }
+                pages.put(page, questions);
+                int first = firstRowAtOrAfter(page * pageSize);
+                int end = firstRowAtOrAfter(page * pageSize + questions.size());
+                if (rows != null) {
+                    for (int row = first; row < end; row++) {
+                        matches.put(rows[row], questions.get(rows[row] - page * pageSize));
+                    }
+                }
+                if (end > first) {
+                    fireTableRowsUpdated(first, end - 1);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Find the first row showing a question numbered at least id.
+     *
+     * @param id The question number
+     * @return The row, or the row count if all rows show lower numbers
+     */
+    private int firstRowAtOrAfter(int id) {
+        if (rows == null) {
+            return Math.min(id, getRowCount());
+        }
+        int found = Arrays.binarySearch(rows, id);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Get the number of pages loaded from the store so far.
+     *
+     * @return The number of page loads
+     */
+    public int getPageLoads() {
+        return pageLoads;
+    }
+
+    /**
+     * Get the number of pages held in memory.
+     *
+     * @return The number of cached pages
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+}
@@ -2,11 +2,13 @@ package com.quiz.view;
 
 import com.quiz.model.Question;
 import com.quiz.model.Player;
+import com.quiz.model.QuestionStore;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 
 /**
  * Main view for the Quiz application.
@@ -19,27 +21,11 @@ public class QuizView extends JFrame {
     private JMenuBar menuBar;
     private JMenu fileMenu, editMenu, viewMenu, helpMenu;
     private JMenuItem newGameItem, saveItem, loadItem, exitItem;
-    private JMenuItem editQuestionsItem, settingsItem;
+    private JMenuItem undoItem, redoItem, editQuestionsItem, settingsItem;
     private JMenuItem aboutItem, helpItem;
 
-    // Main panel with BorderLayout
-    private JPanel mainPanel;
-
-    // North panel - Menu area (already handled by JMenuBar)
-    // Center panel - Question display and tabs
-    private JTabbedPane categoryTabs;
-    private JPanel questionPanel;
-    private JLabel questionLabel;
-    private JRadioButton[] optionButtons;
-    private ButtonGroup optionGroup;
-    private JButton submitButton;
-    private JButton nextButton;
-
-    // South panel - Score display
-    private JPanel scorePanel;
-    private JLabel player1Label;
-    private JLabel player2Label;
-    private JLabel currentPlayerLabel;
+    // Question display, category tabs and scores
+    private GamePanel gamePanel;
 
     // Question editor
     private QuestionEditorDialog editorDialog;
@@ -79,8 +65,15 @@ public class QuizView extends JFrame {
 
         // Edit Menu
         editMenu = new JMenu("Edit");
+        undoItem = new JMenuItem("Undo");
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK));
+        redoItem = new JMenuItem("Redo");
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK));
         editQuestionsItem = new JMenuItem("Edit Questions");
         settingsItem = new JMenuItem("Settings");
+        editMenu.add(undoItem);
+        editMenu.add(redoItem);
+        editMenu.addSeparator();
         editMenu.add(editQuestionsItem);
         editMenu.addSeparator();
         editMenu.add(settingsItem);
@@ -104,80 +97,14 @@ public class QuizView extends JFrame {
 
         setJMenuBar(menuBar);
 
-        // Initialize category tabs
-        categoryTabs = new JTabbedPane();
-        String[] categories = {"BWL", "Digitaltechnik", "Elektrotechnik",
-                               "Netzwerktechnik", "Datenbanken", "Programmierung"};
-        for (String category : categories) {
-            JPanel categoryPanel = new JPanel();
-            categoryPanel.setLayout(new FlowLayout());
-            JLabel label = new JLabel(category);
-            categoryPanel.add(label);
-            categoryTabs.addTab(category, categoryPanel);
-        }
-
-        // Initialize question panel
-        questionPanel = new JPanel();
-        questionPanel.setLayout(new BoxLayout(questionPanel, BoxLayout.Y_AXIS));
-        questionPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-
-        questionLabel = new JLabel("Select a category to start");
-        questionLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        questionPanel.add(questionLabel);
-        questionPanel.add(Box.createVerticalStrut(10));
-
-        // Initialize option buttons (4 options for multiple choice)
-        optionButtons = new JRadioButton[4];
-        optionGroup = new ButtonGroup();
-        for (int i = 0; i < 4; i++) {
-            optionButtons[i] = new JRadioButton("Option " + (i + 1));
-            optionGroup.add(optionButtons[i]);
-            questionPanel.add(optionButtons[i]);
-        }
-
-        questionPanel.add(Box.createVerticalStrut(20));
-
-        // Initialize buttons
-        JPanel buttonPanel = new JPanel();
-        submitButton = new JButton("Submit Answer");
-        nextButton = new JButton("Next Question");
-        buttonPanel.add(submitButton);
-        buttonPanel.add(nextButton);
-        questionPanel.add(buttonPanel);
-
-        // Initialize score panel
-        scorePanel = new JPanel();
-        scorePanel.setLayout(new FlowLayout());
-        scorePanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-
-        player1Label = new JLabel("Player 1: 0");
-        player2Label = new JLabel("Player 2: 0");
-        currentPlayerLabel = new JLabel("Current Player: None");
-
-        scorePanel.add(player1Label);
-        scorePanel.add(Box.createHorizontalStrut(20));
-        scorePanel.add(player2Label);
-        scorePanel.add(Box.createHorizontalStrut(20));
-        scorePanel.add(currentPlayerLabel);
     }
 
     /**
-     * Setup the layout using BorderLayout.
+     * Setup the layout with the game area as content.
      */
     private void setupLayout() {
-        mainPanel = new JPanel();
-        mainPanel.setLayout(new BorderLayout());
-
-        // Center: question display and category tabs
-        JPanel centerPanel = new JPanel();
-        centerPanel.setLayout(new BorderLayout());
-        centerPanel.add(categoryTabs, BorderLayout.NORTH);
-        centerPanel.add(questionPanel, BorderLayout.CENTER);
-
-        mainPanel.add(centerPanel, BorderLayout.CENTER);
-        mainPanel.add(scorePanel, BorderLayout.SOUTH);
-
-        setContentPane(mainPanel);
+        gamePanel = new GamePanel();
+        setContentPane(gamePanel);
     }
 
     // Getter methods for controllers
@@ -197,6 +124,14 @@ public class QuizView extends JFrame {
         return exitItem;
     }
 
+    public JMenuItem getUndoItem() {
+        return undoItem;
+    }
+
+    public JMenuItem getRedoItem() {
+        return redoItem;
+    }
+
     public JMenuItem getEditQuestionsItem() {
         return editQuestionsItem;
     }
@@ -214,15 +149,42 @@ public class QuizView extends JFrame {
     }
 
     public JButton getSubmitButton() {
-        return submitButton;
+        return gamePanel.getSubmitButton();
     }
 
     public JButton getNextButton() {
-        return nextButton;
+        return gamePanel.getNextButton();
     }
 
     public JTabbedPane getCategoryTabs() {
-        return categoryTabs;
+        return gamePanel.getCategoryTabs();
+    }
+
+    /**
+     * Get the game area of the window.
+     *
+     * @return The panel with the question, category tabs and scores
+     */
+    public GamePanel getGamePanel() {
+        return gamePanel;
+    }
+
+    /**
+     * Show one tab per category, see {@link GamePanel#setCategories(String[])}.
+     *
+     * @param categories The category names, in tab order
+     */
+    public void setCategories(String[] categories) {
+        gamePanel.setCategories(categories);
+    }
+
+    /**
+     * Get the category of the selected tab.
+     *
+     * @return The category name, or null if there are no categories
+     */
+    public String getSelectedCategory() {
+        return gamePanel.getSelectedCategory();
     }
 
     /**
@@ -231,30 +193,7 @@ public class QuizView extends JFrame {
      * @param question The question to display
      */
     public void displayQuestion(Question question) {
-        if (question == null) {
-            questionLabel.setText("No questions available");
-            for (JRadioButton button : optionButtons) {
-                button.setText("");
-                button.setEnabled(false);
-            }
-            return;
-        }
-
-        questionLabel.setText(question.getText());
-        List<String> options = question.getOptions();
-
-        for (int i = 0; i < optionButtons.length; i++) {
-            if (i < options.size()) {
-                optionButtons[i].setText(options.get(i));
-                optionButtons[i].setEnabled(true);
-                optionButtons[i].setSelected(false);
-            } else {
-                optionButtons[i].setText("");
-                optionButtons[i].setEnabled(false);
-            }
-        }
-
-        optionGroup.clearSelection();
+        gamePanel.displayQuestion(question);
     }
 
     /**
@@ -263,19 +202,14 @@ public class QuizView extends JFrame {
      * @return The index of the selected option, or -1 if none selected
      */
     public int getSelectedOptionIndex() {
-        for (int i = 0; i < optionButtons.length; i++) {
-            if (optionButtons[i].isSelected()) {
-                return i;
-            }
-        }
-        return -1;
+        return gamePanel.getSelectedOptionIndex();
     }
 
     /**
      * Clear the selection of options.
      */
     public void clearSelection() {
-        optionGroup.clearSelection();
+        gamePanel.clearSelection();
     }
 
     /**
@@ -286,15 +220,36 @@ public class QuizView extends JFrame {
      * @param currentPlayer Current player
      */
     public void updateScores(Player player1, Player player2, Player currentPlayer) {
-        if (player1 != null) {
-            player1Label.setText(player1.getName() + ": " + player1.getScore());
-        }
-        if (player2 != null) {
-            player2Label.setText(player2.getName() + ": " + player2.getScore());
-        }
-        if (currentPlayer != null) {
-            currentPlayerLabel.setText("Current Player: " + currentPlayer.getName());
-        }
+        gamePanel.updateScores(new Player[]{player1, player2}, currentPlayer);
+    }
+
+    /**
+     * Update the score display for any number of players.
+     *
+     * @param players All players in turn order
+     * @param currentPlayer Current player
+     */
+    public void updateScores(Player[] players, Player currentPlayer) {
+        gamePanel.updateScores(players, currentPlayer);
+    }
+
+    /**
+     * Update the score display of a single player.
+     *
+     * @param index Index of the player in turn order
+     * @param player The player
+     */
+    public void updatePlayerScore(int index, Player player) {
+        gamePanel.updatePlayerScore(index, player);
+    }
+
+    /**
+     * Update the display of whose turn it is.
+     *
+     * @param currentPlayer Current player
+     */
+    public void updateCurrentPlayer(Player currentPlayer) {
+        gamePanel.updateCurrentPlayer(currentPlayer);
     }
 
     /**
@@ -332,34 +287,30 @@ public class QuizView extends JFrame {
     /**
      * Show a new game setup dialog.
      *
-     * @return An array of [player1Name, player1NetName, player2Name, player2NetName], or null if cancelled
+     * @param numPlayers The number of players to ask for
+     * @return An array of [name, netName] pairs for each player in order, or null if cancelled
      */
-    public String[] showNewGameDialog() {
-        JPanel panel = new JPanel(new GridLayout(4, 2, 5, 5));
-        JTextField player1NameField = new JTextField();
-        JTextField player1NetField = new JTextField();
-        JTextField player2NameField = new JTextField();
-        JTextField player2NetField = new JTextField();
-
-        panel.add(new JLabel("Player 1 Name:"));
-        panel.add(player1NameField);
-        panel.add(new JLabel("Player 1 Net Name:"));
-        panel.add(player1NetField);
-        panel.add(new JLabel("Player 2 Name:"));
-        panel.add(player2NameField);
-        panel.add(new JLabel("Player 2 Net Name:"));
-        panel.add(player2NetField);
+    public String[] showNewGameDialog(int numPlayers) {
+        JPanel panel = new JPanel(new GridLayout(numPlayers * 2, 2, 5, 5));
+        JTextField[] fields = new JTextField[numPlayers * 2];
+        for (int i = 0; i < numPlayers; i++) {
+            fields[i * 2] = new JTextField();
+            fields[i * 2 + 1] = new JTextField();
+            panel.add(new JLabel("Player " + (i + 1) + " Name:"));
+            panel.add(fields[i * 2]);
+            panel.add(new JLabel("Player " + (i + 1) + " Net Name:"));
+            panel.add(fields[i * 2 + 1]);
+        }
 
         int result = JOptionPane.showConfirmDialog(this, panel, "New Game",
                 JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
 
         if (result == JOptionPane.OK_OPTION) {
-            return new String[]{
-                player1NameField.getText(),
-                player1NetField.getText(),
-                player2NameField.getText(),
-                player2NetField.getText()
-            };
+            String[] values = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = fields[i].getText();
+            }
+            return values;
         }
         return null;
     }
@@ -370,8 +321,23 @@ public class QuizView extends JFrame {
      * @param categories Available question categories
      */
     public void showQuestionEditor(String[] categories) {
+        showQuestionEditor(categories, null);
+    }
+
+    /**
+     * Show the question editor dialog with a browser over existing questions.
+     *
+     * @param categories Available question categories
+     * @param store The questions to browse, or null to keep the current ones
+     */
+    public void showQuestionEditor(String[] categories, QuestionStore store) {
         if (editorDialog == null) {
             editorDialog = new QuestionEditorDialog(this, categories);
+        } else {
+            editorDialog.setCategories(categories);
+        }
+        if (store != null) {
+            editorDialog.setQuestionStore(store);
         }
         editorDialog.setVisible(true);
     }
@@ -386,6 +352,8 @@ public class QuizView extends JFrame {
         saveItem.addActionListener(listener);
         loadItem.addActionListener(listener);
         exitItem.addActionListener(listener);
+        undoItem.addActionListener(listener);
+        redoItem.addActionListener(listener);
         editQuestionsItem.addActionListener(listener);
         settingsItem.addActionListener(listener);
         helpItem.addActionListener(listener);
@@ -398,7 +366,7 @@ public class QuizView extends JFrame {
      * @param listener The action listener
      */
     public void addButtonListener(ActionListener listener) {
-        submitButton.addActionListener(listener);
-        nextButton.addActionListener(listener);
+        gamePanel.getSubmitButton().addActionListener(listener);
+        gamePanel.getNextButton().addActionListener(listener);
     }
 }
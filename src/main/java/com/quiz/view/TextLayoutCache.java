@@ -0,0 +1,231 @@
+package com.quiz.view;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.LineMetrics;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of text broken into lines and measured for a given font and width.
+ * Measuring and wrapping long texts is the expensive part of showing a question, so
+ * a question shown again, or laid out again at a width it had before, reuses the result.
+ * Only a fixed number of layouts is kept, least recently used first out.
+ * Like Swing components, a cache must only be used on the event dispatch thread.
+ */
+public final class TextLayoutCache {
+    private final Map<Key, WrappedText> layouts;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for TextLayoutCache.
+     *
+     * @param maxEntries Number of layouts kept
+     */
+    public TextLayoutCache(int maxEntries) {
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, WrappedText> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a text wrapped to a width, measuring it only if it is not cached.
+     *
+     * @param text The text; line breaks start a new paragraph
+     * @param font The font the text is drawn in
+     * @param frc The render context the text is measured with
+     * @param width The width available for a line, in pixels
+     * @return The wrapped text
+     */
+    public WrappedText get(String text, Font font, FontRenderContext frc, int width) {
+        Key key = new Key(text, font, frc, Math.max(1, width));
+        WrappedText wrapped = layouts.get(key);
+        if (wrapped != null) {
+            hits++;
+            return wrapped;
+        }
+        misses++;
+        wrapped = WrappedText.measure(text, font, frc, key.width);
+        layouts.put(key, wrapped);
+        return wrapped;
+    }
+
+    /**
+     * Drop all cached layouts.
+     */
+    public void clear() {
+        layouts.clear();
+    }
+
+    /**
+     * Get the number of cached layouts.
+     *
+     * @return The number of layouts
+     */
+    public int size() {
+        return layouts.size();
+    }
+
+    /**
+     * Get the number of requests answered from the cache.
+     *
+     * @return The number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of requests that had to measure the text.
+     *
+     * @return The number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * A text broken into lines, ready to be drawn.
+     */
+    public static final class WrappedText {
+        private final List<TextLayout> lines;
+        // Height of each line, including the gaps of empty paragraphs
+        private final float[] lineHeights;
+        private final float height;
+        private final float width;
+
+        private WrappedText(List<TextLayout> lines, float[] lineHeights, float width) {
+            this.lines = lines;
+            this.lineHeights = lineHeights;
+            float total = 0;
+            for (float lineHeight : lineHeights) {
+                total += lineHeight;
+            }
+            this.height = total;
+            this.width = width;
+        }
+
+        private static WrappedText measure(String text, Font font, FontRenderContext frc, int width) {
+            if (text == null || text.isEmpty()) {
+                return new WrappedText(Collections.emptyList(), new float[0], 0);
+            }
+            List<TextLayout> lines = new ArrayList<>();
+            List<Float> heights = new ArrayList<>();
+            float widest = 0;
+            LineMetrics metrics = font.getLineMetrics(" ", frc);
+            float emptyLine = metrics.getAscent() + metrics.getDescent() + metrics.getLeading();
+            for (String paragraph : text.split("\n", -1)) {
+                if (paragraph.isEmpty()) {
+                    lines.add(null);
+                    heights.add(emptyLine);
+                    continue;
+                }
+                AttributedString attributed = new AttributedString(paragraph);
+                attributed.addAttribute(TextAttribute.FONT, font);
+                LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), frc);
+                while (measurer.getPosition() < paragraph.length()) {
+                    TextLayout line = measurer.nextLayout(width);
+                    lines.add(line);
+                    heights.add(line.getAscent() + line.getDescent() + line.getLeading());
+                    widest = Math.max(widest, line.getVisibleAdvance());
+                }
+            }
+            float[] lineHeights = new float[heights.size()];
+            for (int i = 0; i < lineHeights.length; i++) {
+                lineHeights[i] = heights.get(i);
+            }
+            return new WrappedText(Collections.unmodifiableList(lines), lineHeights, widest);
+        }
+
+        /**
+         * Get the number of lines, counting empty ones.
+         *
+         * @return The number of lines
+         */
+        public int getLineCount() {
+            return lineHeights.length;
+        }
+
+        /**
+         * Get the height of all lines together.
+         *
+         * @return The height in pixels
+         */
+        public float getHeight() {
+            return height;
+        }
+
+        /**
+         * Get the width of the longest line.
+         *
+         * @return The width in pixels
+         */
+        public float getWidth() {
+            return width;
+        }
+
+        /**
+         * Draw the lines with the color and hints already set on the graphics.
+         *
+         * @param g The graphics to draw on
+         * @param x Left edge of the text
+         * @param y Top edge of the text
+         */
+        public void draw(Graphics2D g, float x, float y) {
+            float top = y;
+            for (int i = 0; i < lineHeights.length; i++) {
+                TextLayout line = lines.get(i);
+                if (line != null) {
+                    line.draw(g, x, top + line.getAscent());
+                }
+                top += lineHeights[i];
+            }
+        }
+    }
+
+    /**
+     * What a layout depends on. Questions have no identifier, so their text is the key.
+     */
+    private static final class Key {
+        private final String text;
+        private final Font font;
+        private final FontRenderContext frc;
+        private final int width;
+
+        Key(String text, Font font, FontRenderContext frc, int width) {
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return width == other.width && Objects.equals(text, other.text)
+                    && font.equals(other.font) && frc.equals(other.frc);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, font, frc, width);
+        }
+    }
+}
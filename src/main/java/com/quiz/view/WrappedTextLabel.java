@@ -0,0 +1,114 @@
+package com.quiz.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+
+/**
+ * Read-only text that wraps to the width of the component.
+ * Unlike a JLabel, which measures its text again on every change and needs HTML to wrap,
+ * the lines come from a TextLayoutCache shared with other labels, so showing a text
+ * again or resizing back to an earlier width does not measure anything.
+ */
+public class WrappedTextLabel extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private final transient TextLayoutCache cache;
+    private final int wrapWidth;
+    private String text;
+
+    /**
+     * Constructor for WrappedTextLabel.
+     *
+     * @param cache The layouts shared with other labels
+     * @param text The initial text
+     * @param wrapWidth Line width used until the component has a size of its own
+     */
+    public WrappedTextLabel(TextLayoutCache cache, String text, int wrapWidth) {
+        this.cache = cache;
+        this.text = text;
+        this.wrapWidth = wrapWidth;
+        setAlignmentX(LEFT_ALIGNMENT);
+        setFont(UIManager.getFont("Label.font"));
+        setForeground(UIManager.getColor("Label.foreground"));
+    }
+
+    /**
+     * Get the displayed text.
+     *
+     * @return The text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Set the displayed text. The layout is only redone if the text changed.
+     *
+     * @param text The text
+     */
+    public void setText(String text) {
+        if (text == null ? this.text == null : text.equals(this.text)) {
+            return;
+        }
+        this.text = text;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Get the lines of the text at the current width.
+     *
+     * @return The wrapped text
+     */
+    public TextLayoutCache.WrappedText getWrappedText() {
+        Insets insets = getInsets();
+        int width = getWidth() > 0 ? getWidth() - insets.left - insets.right : wrapWidth;
+        return cache.get(text, getFont(), renderContext(), width);
+    }
+
+    private FontRenderContext renderContext() {
+        return getFontMetrics(getFont()).getFontRenderContext();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        TextLayoutCache.WrappedText wrapped = getWrappedText();
+        int width = getWidth() > 0 ? getWidth() - insets.left - insets.right
+                : (int) Math.ceil(Math.min(wrapWidth, wrapped.getWidth()));
+        return new Dimension(width + insets.left + insets.right,
+                (int) Math.ceil(wrapped.getHeight()) + insets.top + insets.bottom);
+    }
+
+    @Override
+    public Dimension getMaximumSize() {
+        return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        boolean resized = width != getWidth();
+        super.setBounds(x, y, width, height);
+        if (resized && getPreferredSize().height != height) {
+            // The text wraps differently at the new width
+            revalidate();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setColor(isEnabled() ? getForeground() : UIManager.getColor("Label.disabledForeground"));
+            Insets insets = getInsets();
+            getWrappedText().draw(g2, insets.left, insets.top);
+        } finally {
+            g2.dispose();
+        }
+    }
+}
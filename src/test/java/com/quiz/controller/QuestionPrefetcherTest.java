@@ -0,0 +1,105 @@
+package com.quiz.controller;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuestionPrefetcher class.
+ */
+class QuestionPrefetcherTest {
+    private QuizModel model;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        for (int i = 0; i < 10; i++) {
+            model.addQuestion("BWL", new Question("BWL", "Q" + i, List.of("a", "b"), 0));
+        }
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testPrefetchedQuestionIsReady() throws Exception {
+        QuestionPrefetcher prefetcher = new QuestionPrefetcher(model, executor, q -> q, 1);
+        prefetcher.prefetch(1, "BWL");
+        // Let the background load finish
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Question> next = prefetcher.take(1, "BWL");
+        assertTrue(next.isDone());
+        assertNotNull(next.get());
+        assertEquals(1, prefetcher.getHits());
+        assertEquals(0, prefetcher.getMisses());
+    }
+
+    @Test
+    void testLoadingRunsOffCallerThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        QuestionPrefetcher prefetcher = new QuestionPrefetcher(model, executor, q -> {
+            assertNotSame(caller, Thread.currentThread());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return q;
+        }, 1);
+
+        // A slow loader does not block prefetching
+        prefetcher.prefetch(0, "BWL");
+        CompletableFuture<Question> next = prefetcher.take(0, "BWL");
+        assertFalse(next.isDone());
+        release.countDown();
+        assertNotNull(next.get(5, TimeUnit.SECONDS));
+        assertEquals(1, prefetcher.getMisses());
+    }
+
+    @Test
+    void testCategorySwitchDiscardsPrefetched() throws Exception {
+        QuestionPrefetcher prefetcher = new QuestionPrefetcher(model, executor, q -> q, 2);
+        prefetcher.prefetch(0, "BWL");
+        assertNull(prefetcher.take(0, "Datenbanken").get(5, TimeUnit.SECONDS));
+        assertEquals(1, prefetcher.getMisses());
+    }
+
+    @Test
+    void testSamplingStaysDeterministic() throws Exception {
+        QuizModel other = new QuizModel();
+        other.setRandomSeed(5);
+        model.setRandomSeed(5);
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        other.initializeGame("Alice", "alice", "Bob", "bob");
+        List<Question> bank = List.of(new Question("BWL", "A", List.of("a"), 0),
+                new Question("BWL", "B", List.of("a"), 0), new Question("BWL", "C", List.of("a"), 0));
+        for (Question question : bank) {
+            model.addQuestion("BWL", question);
+            other.addQuestion("BWL", question);
+        }
+
+        QuestionPrefetcher prefetcher = new QuestionPrefetcher(model, executor, q -> q, 3);
+        prefetcher.prefetch(0, "BWL");
+        for (int i = 0; i < 3; i++) {
+            assertSame(other.getRandomQuestion("BWL"), prefetcher.take(0, "BWL").get(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.quiz.model;
+
+import com.quiz.util.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for recording and replaying games.
+ */
+class GameReplayerTest {
+    private Map<String, List<Question>> bank;
+
+    @BeforeEach
+    void setUp() {
+        bank = new HashMap<>();
+        for (String category : new String[]{"BWL", "Datenbanken"}) {
+            List<Question> questions = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                questions.add(new Question(category, category + " " + i, List.of("a", "b", "c", "d"), i % 4));
+            }
+            bank.put(category, questions);
+        }
+    }
+
+    /**
+     * Play a game with random answers until it is over.
+     */
+    private GameRecording playRandomGame(long seed, int players) {
+        Random bot = new Random(seed);
+        QuizModel model = new QuizModel();
+        model.setRandomSeed(seed);
+        model.setRecorder(new GameRecorder());
+        String[] names = new String[players];
+        String[] netNames = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "Player " + i;
+            netNames[i] = "p" + i;
+        }
+        model.initializeGame(names, netNames);
+        model.getGame().setQuestionsByCategory(bank);
+        while (!model.isGameOver()) {
+            Question question = model.getRandomQuestion(bot.nextBoolean() ? "BWL" : "Datenbanken");
+            if (bot.nextInt(10) == 0) {
+                model.timeoutAnswer();
+            } else {
+                model.submitAnswer(question, bot.nextInt(4));
+            }
+            model.nextTurn();
+        }
+        return model.getRecorder().toRecording(model.getState());
+    }
+
+    @Test
+    void testSameSeedSamplesSameQuestions() {
+        QuizModel first = new QuizModel();
+        QuizModel second = new QuizModel();
+        first.setRandomSeed(42);
+        second.setRandomSeed(42);
+        first.initializeGame("A", "a", "B", "b");
+        second.initializeGame("A", "a", "B", "b");
+        first.getGame().setQuestionsByCategory(bank);
+        second.getGame().setQuestionsByCategory(bank);
+        assertEquals(first.getGameSeed(), second.getGameSeed());
+        for (int i = 0; i < 50; i++) {
+            assertSame(first.getRandomQuestion("BWL"), second.getRandomQuestion("BWL"));
+        }
+    }
+
+    @Test
+    void testReplayReachesRecordedResult() {
+        GameRecording recording = playRandomGame(7, 3);
+        assertTrue(recording.getCommandCount() > 0);
+        GameState replayed = GameReplayer.replay(recording, bank);
+        assertTrue(replayed.isGameOver());
+        assertTrue(recording.matchesFinalState(replayed));
+    }
+
+    @Test
+    void testRecordingSurvivesEncoding() throws IOException {
+        GameRecording recording = playRandomGame(11, 2);
+        GameRecording decoded = GameRecording.fromBytes(recording.toBytes());
+        assertEquals(recording.getSeed(), decoded.getSeed());
+        assertEquals(recording.getCommandCount(), decoded.getCommandCount());
+        assertTrue(decoded.matchesFinalState(GameReplayer.replay(decoded, bank)));
+    }
+
+    @Test
+    void testAnswerIndexesBeyondOneByteSurviveEncoding() throws IOException {
+        QuizModel model = new QuizModel();
+        model.setRecorder(new GameRecorder());
+        model.initializeGame("A", "a", "B", "b");
+        model.getGame().setQuestionsByCategory(bank);
+        // Whatever index was submitted is replayed, not one truncated to a byte
+        assertFalse(model.submitAnswer(model.getRandomQuestion("BWL"), 300));
+
+        GameRecording recording = GameRecording.fromBytes(
+                model.getRecorder().toRecording(model.getState()).toBytes());
+        GameRecording.Command answer = recording.getCommands().get(recording.getCommandCount() - 1);
+        assertEquals(GameRecording.CommandType.ANSWER, answer.type);
+        assertEquals(300, answer.answerIndex);
+        assertTrue(recording.matchesFinalState(GameReplayer.replay(recording, bank)));
+    }
+
+    @Test
+    void testReplayIsNotCountedInMetrics() {
+        GameRecording recording = playRandomGame(11, 2);
+        long started = Metrics.GAMES_STARTED.sum();
+        long finished = Metrics.GAMES_FINISHED.sum();
+        long drawn = Metrics.QUESTIONS_DRAWN.sum();
+        long answers = Metrics.ANSWER_SUBMISSION.getCount();
+        GameReplayer.replay(recording, bank);
+        assertEquals(started, Metrics.GAMES_STARTED.sum());
+        assertEquals(finished, Metrics.GAMES_FINISHED.sum());
+        assertEquals(drawn, Metrics.QUESTIONS_DRAWN.sum());
+        assertEquals(answers, Metrics.ANSWER_SUBMISSION.getCount());
+    }
+
+    @Test
+    void testAddedAndForeignQuestionsAreReplayed() {
+        QuizModel model = new QuizModel();
+        model.setRecorder(new GameRecorder());
+        model.initializeGame("A", "a", "B", "b");
+        Question added = new Question("BWL", "Added", List.of("x", "y"), 1);
+        model.addQuestion("BWL", added);
+        assertSame(added, model.getRandomQuestion("BWL"));
+        model.submitAnswer(added, 0);
+        model.nextTurn();
+        model.submitAnswer(new Question("Misc", "Foreign", List.of("x", "y"), 0), 1);
+        model.resetGame();
+        model.submitAnswer(added, 0);
+
+        GameRecording recording = model.getRecorder().toRecording(model.getState());
+        assertTrue(recording.matchesFinalState(GameReplayer.replay(recording, null)));
+    }
+
+    @Test
+    void testReplacedQuestionsAreReplayed() throws IOException {
+        QuizModel model = new QuizModel();
+        model.setRecorder(new GameRecorder());
+        model.initializeGame("A", "a", "B", "b");
+        model.addQuestion("BWL", new Question("BWL", "Before", List.of("x", "y"), 0));
+        Question edited = new Question("BWL", "After", List.of("x", "y"), 1);
+        model.replaceQuestion("BWL", 0, edited);
+        assertSame(edited, model.getQuestionsForCategory("BWL").get(0));
+        assertSame(edited, model.getRandomQuestion("BWL"));
+        model.submitAnswer(edited, 1);
+
+        GameRecording recording = GameRecording.fromBytes(
+                model.getRecorder().toRecording(model.getState()).toBytes());
+        assertTrue(recording.matchesFinalState(GameReplayer.replay(recording, null)));
+    }
+
+    @Test
+    void testQuestionsAnsweredAfterLaterDrawsAreReplayed() {
+        QuizModel model = new QuizModel();
+        model.setRecorder(new GameRecorder());
+        model.initializeGame("A", "a", "B", "b");
+        model.getGame().setQuestionsByCategory(bank);
+        // Drawn ahead, as the prefetcher does, and answered in order
+        Question first = model.getRandomQuestion("BWL");
+        Question second = model.getRandomQuestion("Datenbanken");
+        Question third = model.getRandomQuestion("BWL");
+        model.submitAnswer(first, 0);
+        model.nextTurn();
+        model.submitAnswer(second, 1);
+        model.nextTurn();
+        model.submitAnswer(third, 2);
+
+        GameRecording recording = model.getRecorder().toRecording(model.getState());
+        assertTrue(recording.matchesFinalState(GameReplayer.replay(recording, bank)));
+    }
+
+    @Test
+    void testUndoAndRedoAreReplayed() {
+        QuizModel model = new QuizModel();
+        model.setRecorder(new GameRecorder());
+        model.initializeGame("A", "a", "B", "b");
+        model.getGame().setQuestionsByCategory(bank);
+        Question question = model.getRandomQuestion("BWL");
+        model.submitAnswer(question, (question.getCorrectOptionIndex() + 1) % 4);
+        model.undo();
+        model.submitAnswer(question, question.getCorrectOptionIndex());
+        model.nextTurn();
+        model.undo();
+        model.redo();
+
+        GameRecording recording = model.getRecorder().toRecording(model.getState());
+        assertTrue(recording.matchesFinalState(GameReplayer.replay(recording, bank)));
+    }
+
+    @Test
+    void testDivergenceIsDetected() {
+        GameRecording recording = playRandomGame(3, 2);
+        Map<String, List<Question>> shuffled = new HashMap<>();
+        for (Map.Entry<String, List<Question>> entry : bank.entrySet()) {
+            List<Question> questions = new ArrayList<>(entry.getValue());
+            java.util.Collections.reverse(questions);
+            shuffled.put(entry.getKey(), questions);
+        }
+        assertThrows(GameReplayer.ReplayException.class, () -> GameReplayer.replay(recording, shuffled));
+    }
+
+    @Test
+    void testReplayManyGames() {
+        List<GameRecording> recordings = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            recordings.add(playRandomGame(i, 2 + i % 4));
+        }
+        for (GameRecording recording : recordings) {
+            GameReplayer.replay(recording, bank);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GameSnapshotCodec class.
+ */
+class GameSnapshotCodecTest {
+
+    @Test
+    void testRoundTripWithoutQuestions() throws IOException {
+        QuizGame game = new QuizGame(new Player[]{
+                new Player("Alice", "alice"), new Player("Bob", null), new Player("Carol", "carol")});
+        game.switchPlayer();
+        game.penalizeCurrentPlayer();
+        game.setCurrentQuestionIndex(7);
+
+        QuizGame decoded = GameSnapshotCodec.decode(GameSnapshotCodec.encode(game, false));
+
+        assertEquals(3, decoded.getPlayerCount());
+        assertEquals("Bob", decoded.getCurrentPlayer().getName());
+        assertNull(decoded.getCurrentPlayer().getNetName());
+        assertEquals(2, decoded.getCurrentPlayer().getScore());
+        assertEquals(7, decoded.getCurrentQuestionIndex());
+        assertTrue(decoded.getQuestionsForCategory("BWL").isEmpty());
+    }
+
+    @Test
+    void testRoundTripWithQuestions() throws IOException {
+        QuizGame game = new QuizGame(new Player("Alice", "alice"), new Player("Bob", "bob"));
+        game.addQuestion("Datenbanken", new Question("Datenbanken", "What does SQL stand for?",
+                Arrays.asList("Structured Query Language", "Simple Query List"), 0));
+
+        QuizGame decoded = GameSnapshotCodec.decode(GameSnapshotCodec.encode(game, true));
+
+        Question question = decoded.getQuestionsForCategory("Datenbanken").get(0);
+        assertEquals("What does SQL stand for?", question.getText());
+        assertEquals(2, question.getOptions().size());
+        assertTrue(question.isCorrectAnswer(0));
+    }
+
+    @Test
+    void testRejectsForeignData() {
+        assertThrows(IOException.class, () -> GameSnapshotCodec.decode(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+}
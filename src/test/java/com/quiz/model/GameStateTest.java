@@ -0,0 +1,119 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GameState class and its publication by QuizModel.
+ */
+class GameStateTest {
+    private QuizModel model;
+    private Question question;
+
+    @BeforeEach
+    void setUp() {
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        question = new Question("Sports", "Q?", List.of("a", "b", "c", "d"), 0);
+    }
+
+    @Test
+    void testInitialState() {
+        GameState state = model.getState();
+        assertEquals(2, state.getPlayerCount());
+        assertEquals("Alice", state.getCurrentPlayer().getName());
+        assertEquals(3, state.getPlayer(1).getScore());
+        assertFalse(state.isGameOver());
+        assertTrue(GameState.EMPTY.getVersion() < state.getVersion());
+    }
+
+    @Test
+    void testSnapshotDoesNotChangeAfterwards() {
+        GameState before = model.getState();
+        model.submitAnswer(question, 1);
+        model.nextTurn();
+
+        assertEquals(3, before.getPlayer(0).getScore());
+        assertEquals(0, before.getCurrentPlayerIndex());
+        GameState after = model.getState();
+        assertEquals(2, after.getPlayer(0).getScore());
+        assertEquals(1, after.getPlayer(0).getTotalQuestions());
+        assertEquals(1, after.getCurrentPlayerIndex());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void testSnapshotKeepsItsQuestions() {
+        model.addQuestion("BWL", question);
+        GameState before = model.getState();
+        List<Question> questions = before.getQuestionsByCategory().get("BWL");
+
+        model.addQuestion("BWL", new Question("BWL", "Q2?", List.of("a", "b"), 1));
+
+        assertEquals(1, questions.size());
+        assertEquals(1, before.getQuestionsByCategory().get("BWL").size());
+        assertEquals(2, model.getState().getQuestionsByCategory().get("BWL").size());
+        assertThrows(UnsupportedOperationException.class, () -> questions.add(question));
+    }
+
+    @Test
+    void testUnchangedPlayersAreShared() {
+        GameState before = model.getState();
+        model.submitAnswer(question, 1);
+        GameState after = model.getState();
+        assertNotSame(before.getPlayer(0), after.getPlayer(0));
+        assertSame(before.getPlayer(1), after.getPlayer(1));
+        assertSame(before.getQuestionsByCategory(), after.getQuestionsByCategory());
+    }
+
+    @Test
+    void testGameOverAndReset() {
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+        assertTrue(model.getState().isGameOver());
+        assertEquals("Bob", model.getState().getWinner().getName());
+        assertTrue(model.getState().getPlayer(0).isEliminated());
+
+        model.resetGame();
+        assertFalse(model.getState().isGameOver());
+        assertEquals(3, model.getState().getPlayer(0).getScore());
+    }
+
+    @Test
+    void testReadersSeeConsistentSnapshots() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long lastVersion = 0;
+            while (running.get()) {
+                GameState state = model.getState();
+                if (state.getVersion() < lastVersion) {
+                    failure.set("version went back");
+                }
+                lastVersion = state.getVersion();
+                // A correct answer changes both counters of the same player in one step
+                for (GameState.PlayerState player : state.getPlayers()) {
+                    if (player.getCorrectAnswers() != player.getTotalQuestions()) {
+                        failure.set("torn player state " + player);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 100_000; i++) {
+            model.submitAnswer(question, 0);
+            model.nextTurn();
+        }
+        running.set(false);
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(50_000, model.getState().getPlayer(1).getCorrectAnswers());
+    }
+}
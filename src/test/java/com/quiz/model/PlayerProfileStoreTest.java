@@ -0,0 +1,162 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PlayerProfileStore class.
+ */
+class PlayerProfileStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testProfilesSurviveRestart() {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 10);
+        PlayerProfile profile = store.getOrCreate("alice/42", "Alice");
+        profile.setWins(3);
+        store.save(profile);
+
+        PlayerProfileStore reopened = new PlayerProfileStore(directory, 10);
+        PlayerProfile loaded = reopened.get("alice/42");
+        assertNotNull(loaded);
+        assertEquals("Alice", loaded.getName());
+        assertEquals(3, loaded.getWins());
+        assertNull(reopened.get("nobody"));
+    }
+
+    @Test
+    void testCacheIsBoundedAndHitsForActivePlayers() {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 3);
+        for (int i = 0; i < 10; i++) {
+            store.getOrCreate("p" + i, "P" + i);
+        }
+        assertEquals(3, store.getCachedCount());
+
+        long misses = store.getCacheMisses();
+        store.get("p9");
+        store.get("p8");
+        assertEquals(misses, store.getCacheMisses());
+
+        // Evicted profiles are read back from disk
+        assertEquals("P0", store.get("p0").getName());
+        assertEquals(misses + 1, store.getCacheMisses());
+    }
+
+    @Test
+    void testFinishedGameUpdatesProfiles() {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 10);
+        QuizModel model = new QuizModel();
+        model.setProfileStore(store);
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        Question question = new Question("BWL", "Q", Arrays.asList("a", "b"), 0);
+
+        assertTrue(model.submitAnswer(question, 0));
+        model.nextTurn();
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+
+        PlayerProfile alice = new PlayerProfileStore(directory, 10).get("alice");
+        PlayerProfile bob = store.get("bob");
+        assertEquals(1, alice.getWins());
+        assertEquals(1, alice.getCorrectAnswers());
+        assertEquals(1, bob.getGamesPlayed());
+        assertEquals(0, bob.getWins());
+        assertEquals(3, bob.getTotalQuestions());
+    }
+
+    @Test
+    void testGamesAfterResetCountOnlyTheirOwnAnswers() {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 10);
+        QuizModel model = new QuizModel();
+        model.setProfileStore(store);
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        Question question = new Question("BWL", "Q", Arrays.asList("a", "b"), 0);
+        for (int game = 0; game < 2; game++) {
+            model.submitAnswer(question, 0);
+            model.nextTurn();
+            for (int i = 0; i < 3; i++) {
+                model.submitAnswer(question, 1);
+            }
+            model.resetGame();
+        }
+
+        PlayerProfile alice = store.get("alice");
+        PlayerProfile bob = store.get("bob");
+        assertEquals(2, alice.getGamesPlayed());
+        assertEquals(2, alice.getCorrectAnswers());
+        assertEquals(2, alice.getTotalQuestions());
+        assertEquals(6, bob.getTotalQuestions());
+    }
+
+    @Test
+    void testConcurrentRecordsOfOnePlayerAreNotLost() throws Exception {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 2);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 25; i++) {
+                    QuizGame game = new QuizGame(new Player[]{new Player("Alice", "alice")});
+                    store.recordGame(game);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, new PlayerProfileStore(directory, 2).get("alice").getGamesPlayed());
+    }
+
+    @Test
+    void testFailedSaveLeavesNoTempFile() throws Exception {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 10);
+        PlayerProfile profile = store.getOrCreate("alice", "Alice");
+        Path file;
+        try (Stream<Path> files = Files.walk(directory)) {
+            file = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+        }
+        // A non-empty directory in place of the profile file makes the final move fail
+        Files.delete(file);
+        Files.createDirectories(file.resolve("blocker"));
+
+        assertThrows(UncheckedIOException.class, () -> store.save(profile));
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(0, files.filter(path -> path.toString().endsWith(".tmp")).count());
+        }
+    }
+
+    @Test
+    void testResultIsWrittenOnExecutorAndFailuresReported() throws Exception {
+        List<Runnable> writes = new ArrayList<>();
+        List<RuntimeException> errors = new ArrayList<>();
+        QuizModel model = new QuizModel();
+        model.initializeGame("Alice", "", "Bob", "bob");
+        // The store cannot create its directory below a regular file
+        Path blocked = Files.createFile(directory.resolve("blocked"));
+        model.setProfileStore(new PlayerProfileStore(blocked.resolve("profiles"), 10), writes::add, errors::add);
+        Question question = new Question("BWL", "Q", Arrays.asList("a", "b"), 0);
+
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+        assertTrue(model.isGameOver());
+        assertEquals(1, writes.size());
+        assertTrue(errors.isEmpty());
+
+        writes.get(0).run();
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof UncheckedIOException);
+    }
+}
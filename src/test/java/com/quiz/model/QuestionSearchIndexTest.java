@@ -0,0 +1,81 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuestionSearchIndex and QuestionBankStore classes.
+ */
+class QuestionSearchIndexTest {
+    private QuestionBankStore store;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, List<Question>> bank = new HashMap<>();
+        bank.put("BWL", new ArrayList<>(List.of(
+                new Question("BWL", "Was ist Bilanz?", List.of("Aktiva", "Passiva"), 0),
+                new Question("BWL", "Was ist Umsatz?", List.of("Erlös", "Kosten"), 0))));
+        bank.put("Datenbanken", new ArrayList<>(List.of(
+                new Question("Datenbanken", "Was ist ein Primärschlüssel?", List.of("Eindeutig", "Doppelt"), 0))));
+        store = new QuestionBankStore(bank, new String[]{"BWL", "Elektrotechnik", "Datenbanken", "Programmierung"});
+    }
+
+    @Test
+    void testStoreNumbersAcrossCategories() {
+        assertEquals(3, store.size());
+        List<Question> page = store.load(1, 10);
+        assertEquals(2, page.size());
+        assertEquals("Was ist Umsatz?", page.get(0).getText());
+        assertEquals("Datenbanken", page.get(1).getCategory());
+        assertTrue(store.load(3, 10).isEmpty());
+    }
+
+    @Test
+    void testStoreUpdate() {
+        Question replacement = new Question("Datenbanken", "Neu", List.of("a"), 0);
+        store.update(2, replacement);
+        assertSame(replacement, store.load(2, 1).get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.update(3, replacement));
+    }
+
+    @Test
+    void testStoreUpdateLeavesBankAndReachesListener() {
+        Map<String, List<Question>> bank = new HashMap<>();
+        Question original = new Question("BWL", "Alt", List.of("a"), 0);
+        bank.put("BWL", List.of(new Question("BWL", "Erste", List.of("a"), 0), original));
+        List<String> edits = new ArrayList<>();
+        QuestionBankStore edited = new QuestionBankStore(bank, new String[]{"BWL"},
+                (category, index, question) -> edits.add(category + "/" + index + "/" + question.getText()));
+
+        Question replacement = new Question("BWL", "Neu", List.of("a"), 0);
+        edited.update(1, replacement);
+
+        assertSame(replacement, edited.load(1, 1).get(0));
+        assertSame(original, bank.get("BWL").get(1));
+        assertEquals(List.of("BWL/1/Neu"), edits);
+    }
+
+    @Test
+    void testSearchAllWords() {
+        QuestionSearchIndex index = QuestionSearchIndex.build(store, 2);
+        assertArrayEquals(new int[]{0, 1, 2}, index.search("was ist"));
+        assertArrayEquals(new int[]{1}, index.search("Was UMSATZ"));
+        assertArrayEquals(new int[0], index.search("umsatz bilanz"));
+    }
+
+    @Test
+    void testSearchMatchesCategoryOptionsAndPrefix() {
+        QuestionSearchIndex index = QuestionSearchIndex.build(store, 10);
+        assertArrayEquals(new int[]{2}, index.search("datenbanken"));
+        assertArrayEquals(new int[]{0}, index.search("aktiva"));
+        assertArrayEquals(new int[]{2}, index.search("primär"));
+        assertArrayEquals(new int[]{0, 1, 2}, index.search("  "));
+    }
+}
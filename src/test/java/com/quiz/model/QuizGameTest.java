@@ -0,0 +1,230 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuizGame class.
+ */
+class QuizGameTest {
+    private Player[] players;
+    private QuizGame game;
+
+    @BeforeEach
+    void setUp() {
+        players = new Player[]{
+                new Player("Alice", "alice"),
+                new Player("Bob", "bob"),
+                new Player("Carol", "carol"),
+                new Player("Dave", "dave")
+        };
+        game = new QuizGame(players);
+    }
+
+    private void eliminateCurrent() {
+        while (!game.getCurrentPlayer().isEliminated()) {
+            game.penalizeCurrentPlayer();
+        }
+    }
+
+    @Test
+    void testTurnsRotateThroughAllPlayers() {
+        assertSame(players[0], game.getCurrentPlayer());
+        game.switchPlayer();
+        assertSame(players[1], game.getCurrentPlayer());
+        game.switchPlayer();
+        game.switchPlayer();
+        assertSame(players[3], game.getCurrentPlayer());
+        game.switchPlayer();
+        assertSame(players[0], game.getCurrentPlayer());
+    }
+
+    @Test
+    void testEliminatedPlayersAreSkipped() {
+        game.switchPlayer();
+        eliminateCurrent();
+        assertEquals(3, game.getActivePlayerCount());
+        game.switchPlayer();
+        assertSame(players[2], game.getCurrentPlayer());
+        game.switchPlayer();
+        game.switchPlayer();
+        assertSame(players[0], game.getCurrentPlayer());
+        game.switchPlayer();
+        assertSame(players[2], game.getCurrentPlayer());
+    }
+
+    @Test
+    void testGameOverWhenOnePlayerLeft() {
+        for (int i = 0; i < 3; i++) {
+            assertFalse(game.isGameOver());
+            assertNull(game.getWinner());
+            eliminateCurrent();
+            game.switchPlayer();
+        }
+        assertTrue(game.isGameOver());
+        assertSame(players[3], game.getWinner());
+    }
+
+    @Test
+    void testTwoPlayerGame() {
+        QuizGame duel = new QuizGame(new Player("A", "a"), new Player("B", "b"));
+        duel.switchPlayer();
+        for (int i = 0; i < 3; i++) {
+            duel.penalizeCurrentPlayer();
+        }
+        assertTrue(duel.isGameOver());
+        assertEquals("A", duel.getWinner().getName());
+    }
+
+    @Test
+    void testResetRestoresAllPlayers() {
+        eliminateCurrent();
+        game.switchPlayer();
+        game.reset();
+        assertEquals(4, game.getActivePlayerCount());
+        assertSame(players[0], game.getCurrentPlayer());
+        assertEquals(3, players[0].getScore());
+    }
+
+    @Test
+    void testResetClearsAnswerStatistics() {
+        players[0].recordAnswer(true);
+        players[0].recordAnswer(false);
+        game.reset();
+        assertEquals(0, players[0].getCorrectAnswers());
+        assertEquals(0, players[0].getTotalQuestions());
+    }
+
+    @Test
+    void testRebuildRingAfterDirectScoreChange() {
+        players[2].setScore(0);
+        game.rebuildRing();
+        assertEquals(3, game.getActivePlayerCount());
+        game.switchPlayer();
+        game.switchPlayer();
+        assertSame(players[3], game.getCurrentPlayer());
+    }
+
+    @Test
+    void testCategoriesFollowQuestionBank() {
+        assertEquals(6, game.getCategories().length);
+        Map<String, List<Question>> bank = new LinkedHashMap<>();
+        bank.put("Physik", new ArrayList<>());
+        bank.put("Chemie", new ArrayList<>());
+        game.setQuestionsByCategory(bank);
+        assertArrayEquals(new String[]{"Physik", "Chemie"}, game.getCategories());
+
+        game.getCategories()[0] = "Biologie";
+        assertEquals("Physik", game.getCategories()[0]);
+    }
+
+    @Test
+    void testSerializedGameKeepsRing() throws Exception {
+        eliminateCurrent();
+        game.switchPlayer();
+
+        QuizGame copy = (QuizGame) read(write(game));
+
+        assertEquals(3, copy.getActivePlayerCount());
+        assertEquals("Bob", copy.getCurrentPlayer().getName());
+        copy.switchPlayer();
+        copy.switchPlayer();
+        copy.switchPlayer();
+        assertEquals("Bob", copy.getCurrentPlayer().getName());
+    }
+
+    @Test
+    void testReadsTwoPlayerSaveFromBeforePlayerArray() throws Exception {
+        LegacyQuizGame legacy = new LegacyQuizGame();
+        legacy.player1 = new Player("Alice", "alice");
+        legacy.player2 = new Player("Bob", "bob");
+        legacy.player2.setScore(0);
+        legacy.currentPlayer = legacy.player2;
+        legacy.currentQuestionIndex = 7;
+        legacy.questionsByCategory = new HashMap<>();
+        legacy.categories = new String[]{"BWL"};
+
+        // Give the stand-in the class name the old saves were written with
+        byte[] stream = rename(write(legacy), LegacyQuizGame.class.getName(), QuizGame.class.getName());
+        QuizGame loaded = (QuizGame) read(stream);
+
+        assertEquals(2, loaded.getPlayerCount());
+        assertEquals("Alice", loaded.getPlayer1().getName());
+        assertEquals("Bob", loaded.getCurrentPlayer().getName());
+        assertEquals(7, loaded.getCurrentQuestionIndex());
+        assertTrue(loaded.isGameOver());
+        assertEquals("Alice", loaded.getWinner().getName());
+        assertArrayEquals(new String[]{"BWL"}, loaded.getCategories());
+    }
+
+    private static byte[] write(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] stream) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Replace a class name in a serialization stream, where it is written with a two-byte length.
+     */
+    private static byte[] rename(byte[] stream, String from, String to) {
+        byte[] old = utf(from);
+        byte[] replacement = utf(to);
+        for (int i = 0; i <= stream.length - old.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(stream, i, i + old.length), old)) {
+                ByteArrayOutputStream renamed = new ByteArrayOutputStream();
+                renamed.write(stream, 0, i);
+                renamed.write(replacement, 0, replacement.length);
+                renamed.write(stream, i + old.length, stream.length - i - old.length);
+                return renamed.toByteArray();
+            }
+        }
+        throw new AssertionError(from + " not found in stream");
+    }
+
+    private static byte[] utf(String text) {
+        byte[] chars = text.getBytes(StandardCharsets.UTF_8);
+        byte[] utf = new byte[chars.length + 2];
+        utf[0] = (byte) (chars.length >> 8);
+        utf[1] = (byte) chars.length;
+        System.arraycopy(chars, 0, utf, 2, chars.length);
+        return utf;
+    }
+
+    /**
+     * The serialized fields of QuizGame before it supported more than two players.
+     */
+    private static final class LegacyQuizGame implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Player player1;
+        private Player player2;
+        private Player currentPlayer;
+        private int currentQuestionIndex;
+        private Map<String, List<Question>> questionsByCategory;
+        private String[] categories;
+    }
+}
@@ -0,0 +1,210 @@
+package com.quiz.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for observer registration and dispatch in QuizModel.
+ */
+class QuizModelObserverTest {
+    private QuizModel model;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSynchronousDispatchByDefault() {
+        AtomicInteger calls = new AtomicInteger();
+        model.addObserver(calls::incrementAndGet);
+        model.nextTurn();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testObserverCanUnregisterWhileNotified() {
+        AtomicInteger calls = new AtomicInteger();
+        QuizModel.ModelObserver[] self = new QuizModel.ModelObserver[1];
+        self[0] = () -> {
+            calls.incrementAndGet();
+            model.removeObserver(self[0]);
+            model.addObserver(() -> { });
+        };
+        model.addObserver(self[0]);
+        model.nextTurn();
+        model.nextTurn();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testAsyncDispatchIsSerialPerObserverAndDoesNotBlock() throws InterruptedException {
+        model.setDispatchExecutor(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(100);
+        model.addObserver(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        model.addObserver(() -> {
+            if (inFlight.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            seen.add(model.getCurrentPlayer().getName());
+            inFlight.decrementAndGet();
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            model.nextTurn();
+        }
+        // The blocked observer did not hold up the game or the other observer
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(100, seen.size());
+        assertEquals(0, overlaps.get());
+        release.countDown();
+    }
+
+    @Test
+    void testConcurrentRegistrationDuringNotification() throws Exception {
+        model.setDispatchExecutor(executor);
+        Thread registrar = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                QuizModel.ModelObserver observer = () -> { };
+                model.addObserver(observer);
+                model.removeObserver(observer);
+            }
+        });
+        registrar.start();
+        for (int i = 0; i < 1000; i++) {
+            model.nextTurn();
+        }
+        registrar.join();
+    }
+
+    @Test
+    void testBatchCoalescesNotifications() {
+        AtomicInteger calls = new AtomicInteger();
+        model.addObserver(calls::incrementAndGet);
+        long delivered = model.getNotificationCount();
+        model.runBatch(() -> {
+            model.nextTurn();
+            model.runBatch(model::nextTurn);
+            model.nextTurn();
+            assertEquals(0, calls.get());
+        });
+        assertEquals(1, calls.get());
+        assertEquals(delivered + 1, model.getNotificationCount());
+        assertEquals(2, model.getCoalescedNotificationCount());
+    }
+
+    @Test
+    void testEmptyBatchDoesNotNotify() {
+        AtomicInteger calls = new AtomicInteger();
+        model.addObserver(calls::incrementAndGet);
+        long delivered = model.getNotificationCount();
+        model.runBatch(() -> { });
+        assertEquals(0, calls.get());
+        assertEquals(delivered, model.getNotificationCount());
+        assertThrows(IllegalStateException.class, model::endBatch);
+    }
+
+    @Test
+    void testTypedEventsCarryChangedFields() {
+        List<ModelEvent> events = new ArrayList<>();
+        model.addModelListener(events::add);
+        Question question = new Question("Sports", "Q?", List.of("a", "b", "c", "d"), 0);
+
+        model.submitAnswer(question, 1);
+        model.nextTurn();
+        model.addQuestion("Sports", question);
+
+        assertEquals(3, events.size());
+        ModelEvent.ScoreChanged score = (ModelEvent.ScoreChanged) events.get(0);
+        assertEquals(0, score.getPlayerIndex());
+        assertEquals(2, score.getScore());
+        assertEquals(0, score.getCorrectAnswers());
+        assertEquals(1, score.getTotalQuestions());
+        assertEquals(1, ((ModelEvent.TurnChanged) events.get(1)).getPlayerIndex());
+        assertEquals("Sports", ((ModelEvent.QuestionAdded) events.get(2)).getCategory());
+    }
+
+    @Test
+    void testGameOverFollowsDecidingAnswerInOneNotification() {
+        List<ModelEvent> events = new ArrayList<>();
+        AtomicInteger observerCalls = new AtomicInteger();
+        Question question = new Question("Sports", "Q?", List.of("a", "b", "c", "d"), 0);
+        model.submitAnswer(question, 1);
+        model.submitAnswer(question, 1);
+        model.addModelListener(events::add);
+        model.addObserver(observerCalls::incrementAndGet);
+
+        model.submitAnswer(question, 1);
+
+        assertEquals(1, observerCalls.get());
+        assertEquals(2, events.size());
+        assertTrue(events.get(0) instanceof ModelEvent.ScoreChanged);
+        assertEquals(1, ((ModelEvent.GameOver) events.get(1)).getWinnerIndex());
+
+        model.resetGame();
+        assertEquals(2, ((ModelEvent.GameReset) events.get(2)).getPlayerCount());
+    }
+
+    @Test
+    void testFailingObserverDoesNotBlockDelivery() throws InterruptedException {
+        model.setDispatchExecutor(executor);
+        AtomicInteger failing = new AtomicInteger();
+        CountDownLatch others = new CountDownLatch(3);
+        CountDownLatch retried = new CountDownLatch(3);
+        model.addObserver(() -> {
+            retried.countDown();
+            if (failing.incrementAndGet() == 1) {
+                throw new IllegalStateException("observer bug");
+            }
+        });
+        model.addObserver(others::countDown);
+        model.nextTurn();
+        model.nextTurn();
+        model.nextTurn();
+        assertTrue(others.await(5, TimeUnit.SECONDS));
+        // Later notifications of the failing observer still arrive without a further change
+        assertTrue(retried.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailingObserverDoesNotStopSynchronousDispatch() {
+        AtomicInteger calls = new AtomicInteger();
+        model.addObserver(() -> {
+            throw new IllegalStateException("observer bug");
+        });
+        model.addObserver(calls::incrementAndGet);
+        model.nextTurn();
+        assertEquals(1, calls.get());
+    }
+}
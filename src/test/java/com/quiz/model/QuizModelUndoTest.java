@@ -0,0 +1,180 @@
+package com.quiz.model;
+
+import com.quiz.util.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for undo and redo in QuizModel.
+ */
+class QuizModelUndoTest {
+    private QuizModel model;
+    private Question question;
+
+    @BeforeEach
+    void setUp() {
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        question = new Question("BWL", "Q?", List.of("a", "b", "c", "d"), 0);
+    }
+
+    @Test
+    void testNothingToUndoInNewGame() {
+        assertFalse(model.canUndo());
+        assertFalse(model.undo());
+        assertFalse(model.redo());
+    }
+
+    @Test
+    void testUndoWrongAnswer() {
+        model.submitAnswer(question, 1);
+        assertEquals(2, model.getCurrentPlayer().getScore());
+
+        assertTrue(model.undo());
+        Player alice = model.getGame().getPlayer(0);
+        assertEquals(3, alice.getScore());
+        assertEquals(0, alice.getTotalQuestions());
+        assertEquals(3, model.getState().getPlayer(0).getScore());
+        assertTrue(model.canRedo());
+
+        assertTrue(model.redo());
+        assertEquals(2, alice.getScore());
+        assertEquals(1, alice.getTotalQuestions());
+    }
+
+    @Test
+    void testUndoTurnAndNewActionClearsRedo() {
+        model.submitAnswer(question, 1);
+        model.nextTurn();
+        assertEquals(2, model.getUndoDepth());
+
+        model.undo();
+        assertEquals("Alice", model.getCurrentPlayer().getName());
+        model.submitAnswer(question, 0);
+        assertFalse(model.canRedo());
+        assertEquals(2, model.getUndoDepth());
+    }
+
+    @Test
+    void testUndoRevivesEliminatedPlayer() {
+        List<ModelEvent> events = new ArrayList<>();
+        model.addModelListener(events::add);
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+        assertTrue(model.isGameOver());
+
+        model.undo();
+        assertFalse(model.isGameOver());
+        assertFalse(model.getState().isGameOver());
+        assertEquals(2, model.getGame().getActivePlayerCount());
+
+        // Ending the game again announces it again
+        model.submitAnswer(question, 1);
+        assertEquals(2, events.stream().filter(e -> e instanceof ModelEvent.GameOver).count());
+    }
+
+    @Test
+    void testUndoneEndOfGameIsTakenOutOfProfiles(@TempDir Path directory) {
+        PlayerProfileStore store = new PlayerProfileStore(directory, 10);
+        model.setProfileStore(store);
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+
+        // Alice loses her last life by accident, so Bob would win
+        model.submitAnswer(question, 1);
+        model.submitAnswer(question, 1);
+        model.submitAnswer(question, 1);
+        assertEquals(1, store.get("bob").getWins());
+
+        // The moderator takes the answer back and the game goes on until Bob is out
+        model.undo();
+        assertEquals(0, store.get("bob").getWins());
+        assertEquals(0, store.get("alice").getGamesPlayed());
+        model.submitAnswer(question, 0);
+        model.nextTurn();
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+
+        PlayerProfile alice = store.get("alice");
+        PlayerProfile bob = store.get("bob");
+        assertEquals(1, alice.getGamesPlayed());
+        assertEquals(1, alice.getWins());
+        assertEquals(1, alice.getCorrectAnswers());
+        assertEquals(3, alice.getTotalQuestions());
+        assertEquals(1, bob.getGamesPlayed());
+        assertEquals(0, bob.getWins());
+        assertEquals(3, bob.getTotalQuestions());
+    }
+
+    @Test
+    void testRedoOfDecidingAnswerEndsGameAgain() {
+        List<ModelEvent> events = new ArrayList<>();
+        model.addModelListener(events::add);
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+        long finished = Metrics.GAMES_FINISHED.sum();
+        model.undo();
+        assertEquals(finished - 1, Metrics.GAMES_FINISHED.sum());
+        events.clear();
+
+        model.redo();
+        assertTrue(model.isGameOver());
+        assertTrue(model.getState().isGameOver());
+        assertEquals(finished, Metrics.GAMES_FINISHED.sum());
+        assertEquals(1, events.stream().filter(e -> e instanceof ModelEvent.GameOver).count());
+        assertEquals("Bob", model.getState().getWinner().getName());
+    }
+
+    @Test
+    void testResetAfterGameOverCannotBeUndone() {
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+        model.resetGame();
+        assertFalse(model.canUndo());
+        assertFalse(model.isGameOver());
+    }
+
+    @Test
+    void testBatchIsOneUndoStep() {
+        model.runBatch(() -> {
+            model.submitAnswer(question, 1);
+            model.nextTurn();
+        });
+        assertEquals(1, model.getUndoDepth());
+        model.undo();
+        assertEquals(3, model.getGame().getPlayer(0).getScore());
+        assertEquals(0, model.getGame().getCurrentPlayerIndex());
+        assertThrows(IllegalStateException.class, () -> model.runBatch(model::redo));
+    }
+
+    @Test
+    void testNewGameClearsHistory() {
+        model.submitAnswer(question, 1);
+        model.initializeGame("Carol", "carol", "Dave", "dave");
+        assertFalse(model.canUndo());
+    }
+
+    @Test
+    void testDeepHistory() {
+        for (int i = 0; i < 100_000; i++) {
+            model.submitAnswer(question, 0);
+            model.nextTurn();
+        }
+        assertEquals(200_000, model.getUndoDepth());
+        while (model.undo()) {
+            // Walk all the way back
+        }
+        assertEquals(0, model.getGame().getPlayer(0).getTotalQuestions());
+        assertEquals(0, model.getGame().getCurrentPlayerIndex());
+    }
+}
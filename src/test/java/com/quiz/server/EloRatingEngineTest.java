@@ -0,0 +1,75 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EloRatingEngine class.
+ */
+class EloRatingEngineTest {
+
+    @Test
+    void testWinnerGainsWhatLoserLoses() {
+        EloRatingEngine engine = new EloRatingEngine();
+        int alice = engine.idOf("alice");
+        int bob = engine.idOf("bob");
+        engine.rate(alice, bob);
+
+        assertEquals(1516.0, engine.getRating(alice), 0.001);
+        assertEquals(1484.0, engine.getRating(bob), 0.001);
+        assertEquals(1, engine.getGamesPlayed(bob));
+        assertEquals(alice, engine.idOf("alice"));
+    }
+
+    @Test
+    void testRecordFinishedGame() {
+        Player alice = new Player("Alice", "alice");
+        Player bob = new Player("Bob", "bob");
+        QuizGame game = new QuizGame(alice, bob);
+        game.switchPlayer();
+        for (int i = 0; i < 3; i++) {
+            game.penalizeCurrentPlayer();
+        }
+
+        EloRatingEngine engine = new EloRatingEngine();
+        engine.recordGame(game);
+        assertTrue(engine.getRating("alice") > engine.getRating("bob"));
+    }
+
+    @Test
+    void testParallelBatchMatchesSequentialRating() {
+        int players = 5_000;
+        int games = 200_000;
+        Random random = new Random(7);
+        int[] winners = new int[games];
+        int[] losers = new int[games];
+        for (int g = 0; g < games; g++) {
+            winners[g] = random.nextInt(players);
+            do {
+                losers[g] = random.nextInt(players);
+            } while (losers[g] == winners[g]);
+        }
+
+        EloRatingEngine sequential = new EloRatingEngine(players, 1500, 24);
+        EloRatingEngine parallel = new EloRatingEngine(players, 1500, 24);
+        for (int p = 0; p < players; p++) {
+            sequential.idOf("p" + p);
+            parallel.idOf("p" + p);
+        }
+        for (int g = 0; g < games; g++) {
+            sequential.rate(winners[g], losers[g]);
+        }
+        parallel.rateBatch(winners, losers, games, ForkJoinPool.commonPool());
+
+        for (int p = 0; p < players; p++) {
+            assertEquals(sequential.getRating(p), parallel.getRating(p), 0.0);
+            assertEquals(sequential.getGamesPlayed(p), parallel.getGamesPlayed(p));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.quiz.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HashedWheelTimer class.
+ */
+class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        timer.stop();
+    }
+
+    @Test
+    void testTimeoutFires() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(fired::countDown, 30, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void testTimeoutBeyondOneWheelRotationFires() throws InterruptedException {
+        // 8 buckets of 10ms, so 200ms needs more than two rotations
+        long start = System.nanoTime();
+        CountDownLatch fired = new CountDownLatch(1);
+        timer.newTimeout(fired::countDown, 200, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void testCancelledTimeoutDoesNotFire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(100);
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void testTimeoutAfterStopIsRejected() throws InterruptedException {
+        timer.newTimeout(() -> { }, 30, TimeUnit.MILLISECONDS);
+        timer.stop();
+        assertThrows(IllegalStateException.class, () -> timer.newTimeout(() -> { }, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testTimerStoppedBeforeStartRejectsTimeouts() throws InterruptedException {
+        timer.stop();
+        assertThrows(IllegalStateException.class, () -> timer.newTimeout(() -> { }, 0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testManyTimeouts() throws InterruptedException {
+        int count = 10_000;
+        CountDownLatch fired = new CountDownLatch(count / 2);
+        for (int i = 0; i < count; i++) {
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(fired::countDown, i % 50, TimeUnit.MILLISECONDS);
+            if (i % 2 == 1) {
+                timeout.cancel();
+            }
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
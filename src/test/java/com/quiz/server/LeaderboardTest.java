@@ -0,0 +1,113 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.QuizGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Leaderboard class.
+ */
+class LeaderboardTest {
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    @Test
+    void testRankByWinsThenAccuracy() {
+        leaderboard.record("alice", "Alice", true, 5, 10);
+        leaderboard.record("bob", "Bob", true, 9, 10);
+        leaderboard.record("carol", "Carol", false, 10, 10);
+        leaderboard.record("alice", "Alice", true, 5, 10);
+
+        assertEquals(1, leaderboard.rankOf("alice"));
+        assertEquals(2, leaderboard.rankOf("bob"));
+        assertEquals(3, leaderboard.rankOf("carol"));
+        assertEquals(-1, leaderboard.rankOf("nobody"));
+
+        List<Leaderboard.Standing> top = leaderboard.top(2);
+        assertEquals(2, top.size());
+        assertEquals("alice", top.get(0).getPlayerId());
+        assertEquals(2, top.get(0).getWins());
+        assertEquals(50.0, top.get(0).getAccuracy(), 0.001);
+        assertEquals("bob", top.get(1).getPlayerId());
+    }
+
+    @Test
+    void testEqualResultsShareRank() {
+        leaderboard.record("a", "A", true, 1, 2);
+        leaderboard.record("b", "B", true, 1, 2);
+        leaderboard.record("c", "C", false, 0, 2);
+        assertEquals(1, leaderboard.rankOf("a"));
+        assertEquals(1, leaderboard.rankOf("b"));
+        assertEquals(3, leaderboard.rankOf("c"));
+    }
+
+    @Test
+    void testRecordFinishedGame() {
+        Player alice = new Player("Alice", "alice");
+        Player bob = new Player("Bob", "");
+        QuizGame game = new QuizGame(alice, bob);
+        alice.recordAnswer(true);
+        game.switchPlayer();
+        for (int i = 0; i < 3; i++) {
+            bob.recordAnswer(false);
+            game.penalizeCurrentPlayer();
+        }
+
+        leaderboard.recordGame(game);
+
+        assertEquals(1, leaderboard.getStanding("alice").getWins());
+        assertEquals(100.0, leaderboard.getStanding("alice").getAccuracy(), 0.001);
+        // Without a net name the player is ranked by name
+        assertEquals(0, leaderboard.getStanding("Bob").getWins());
+        assertEquals(2, leaderboard.rankOf("Bob"));
+    }
+
+    @Test
+    void testUnfinishedGameIsIgnored() {
+        leaderboard.recordGame(new QuizGame(new Player("A", "a"), new Player("B", "b")));
+        assertEquals(0, leaderboard.size());
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        leaderboard.record("p" + (i % 100), "P", i % 2 == 0, 1, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(100, leaderboard.size());
+        for (int i = 0; i < 100; i++) {
+            Leaderboard.Standing standing = leaderboard.getStanding("p" + i);
+            assertEquals(800, standing.getGames());
+            assertEquals(i % 2 == 0 ? 800 : 0, standing.getWins());
+        }
+        assertEquals(1, leaderboard.rankOf("p0"));
+        assertEquals(51, leaderboard.rankOf("p1"));
+        assertEquals(100, leaderboard.top(1000).size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.quiz.server;
+
+import com.quiz.model.Question;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LoadGenerator class.
+ */
+class LoadGeneratorTest {
+    private SessionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, List<Question>> bank = new HashMap<>();
+        bank.put("Math", new ArrayList<>(Arrays.asList(
+                new Question("Math", "What is 2 + 2?", Arrays.asList("1", "2", "4", "5"), 2),
+                new Question("Math", "What is 3 * 3?", Arrays.asList("6", "9", "12", "33"), 1))));
+        engine = new SessionEngine(bank, 2, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.shutdown();
+    }
+
+    @Test
+    void testBotsPlayCompleteGames() throws InterruptedException {
+        LoadGenerator generator = new LoadGenerator(engine, new String[]{"Math"}, 20, 0.5, 0, 1);
+        LoadGenerator.Report report = generator.run(300, TimeUnit.MILLISECONDS, 2);
+
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getGamesFinished() > 0);
+        assertTrue(report.getGamesStarted() >= report.getGamesFinished());
+        assertEquals(report.getQuestionsServed(), report.getServeLatency().getCount());
+        assertEquals(report.getQuestionsServed(), report.getAnswerLatency().getCount());
+        assertTrue(report.getCorrectAnswers() > 0 && report.getCorrectAnswers() < report.getQuestionsServed());
+        assertTrue(report.getCommandsPerSecond() > 0);
+        assertTrue(report.toString().contains("games started"));
+        // All sessions are closed once the run is over
+        assertTrue(engine.getSessionIds().join().isEmpty());
+    }
+
+    @Test
+    void testPerfectAccuracyAnswersEverythingCorrectly() throws InterruptedException {
+        LoadGenerator generator = new LoadGenerator(engine, new String[]{"Math"}, 5, 1.0, 0, 7);
+        LoadGenerator.Report report = generator.run(100, TimeUnit.MILLISECONDS, 1);
+
+        assertTrue(report.getQuestionsServed() > 0);
+        assertEquals(report.getQuestionsServed(), report.getCorrectAnswers());
+        assertEquals(0, report.getGamesFinished());
+    }
+}
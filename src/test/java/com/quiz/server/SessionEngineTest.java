@@ -0,0 +1,189 @@
+package com.quiz.server;
+
+import com.quiz.model.Question;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionEngine class.
+ */
+class SessionEngineTest {
+    private SessionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SessionEngine(bankWithOneQuestion(), 4, 64);
+    }
+
+    private static Map<String, List<Question>> bankWithOneQuestion() {
+        Map<String, List<Question>> bank = new HashMap<>();
+        bank.put("Math", new ArrayList<>(Arrays.asList(
+                new Question("Math", "What is 2 + 2?", Arrays.asList("1", "2", "4", "5"), 2))));
+        return bank;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.shutdown();
+    }
+
+    @Test
+    void testSessionIsAlwaysHashedToSameShard() {
+        int shard = engine.shardIndexFor("game-42");
+        assertEquals(shard, engine.shardIndexFor("game-42"));
+        assertTrue(shard >= 0 && shard < engine.getShardCount());
+    }
+
+    @Test
+    void testCommandsAreAppliedInOrder() throws Exception {
+        engine.createSession("s1", "Alice", "alice", "Bob", "bob").get();
+
+        assertNotNull(engine.serveQuestion("s1", "Math").get());
+        assertFalse(engine.submitAnswer("s1", 0).get());
+        engine.nextTurn("s1").get();
+
+        int[] scores = engine.execute("s1", session -> new int[]{
+                session.getModel().getGame().getPlayer1().getScore(),
+                session.getModel().getGame().getPlayer2().getScore()
+        }).get();
+        assertArrayEquals(new int[]{2, 3}, scores);
+        assertEquals("Bob", engine.execute("s1", s -> s.getModel().getCurrentPlayer().getName()).get());
+    }
+
+    @Test
+    void testSubmitWithoutQuestionFails() throws Exception {
+        engine.createSession("s2", "Alice", "alice", "Bob", "bob").get();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> engine.submitAnswer("s2", 0).get());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testUnansweredQuestionCostsALife() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64);
+        SessionEngine timed = new SessionEngine(bankWithOneQuestion(), 2, 64, timer, 50);
+        try {
+            timed.createSession("t1", "Alice", "alice", "Bob", "bob").get();
+            timed.serveQuestion("t1", "Math").get();
+            Thread.sleep(300);
+            assertEquals(2, timed.execute("t1", s -> s.getModel().getCurrentPlayer().getScore()).get());
+
+            // Answering in time cancels the deadline
+            timed.serveQuestion("t1", "Math").get();
+            assertTrue(timed.submitAnswer("t1", 2).get());
+            Thread.sleep(300);
+            assertEquals(2, timed.execute("t1", s -> s.getModel().getCurrentPlayer().getScore()).get());
+        } finally {
+            timed.shutdown();
+            timer.stop();
+        }
+    }
+
+    @Test
+    void testClosingSessionCancelsItsDeadline() throws Exception {
+        List<HashedWheelTimer.Timeout> deadlines = new ArrayList<>();
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64) {
+            @Override
+            public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+                Timeout timeout = super.newTimeout(task, delay, unit);
+                deadlines.add(timeout);
+                return timeout;
+            }
+        };
+        SessionEngine timed = new SessionEngine(bankWithOneQuestion(), 2, 64, timer, 10_000);
+        try {
+            timed.createSession("t2", "Alice", "alice", "Bob", "bob").get();
+            timed.serveQuestion("t2", "Math").get();
+            assertNotNull(timed.closeSession("t2").get());
+            assertEquals(1, deadlines.size());
+            assertTrue(deadlines.get(0).isCancelled());
+        } finally {
+            timed.shutdown();
+            timer.stop();
+        }
+    }
+
+    @Test
+    void testServingWithStoppedTimerFails() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64);
+        SessionEngine timed = new SessionEngine(bankWithOneQuestion(), 2, 64, timer, 50);
+        try {
+            timed.createSession("t3", "Alice", "alice", "Bob", "bob").get();
+            timer.stop();
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> timed.serveQuestion("t3", "Math").get());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            timed.shutdown();
+        }
+    }
+
+    @Test
+    void testManySessionsConcurrently() throws Exception {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String id = "game-" + i;
+            results.add(engine.createSession(id, "A", "a", "B", "b")
+                    .thenCompose(s -> engine.serveQuestion(id, "Math"))
+                    .thenCompose(q -> engine.submitAnswer(id, 2)));
+        }
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+
+    @Test
+    void testCommandFromShardThreadFailsInsteadOfBlockingOnFullQueue() throws Exception {
+        SessionEngine small = new SessionEngine(bankWithOneQuestion(), 1, 1);
+        try {
+            List<CompletableFuture<Integer>> nested = new ArrayList<>();
+            small.execute("s", session -> {
+                // The first fills the queue, the second finds no room
+                nested.add(small.execute("s", s -> 1));
+                nested.add(small.execute("s", s -> 2));
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, nested.get(0).get(5, TimeUnit.SECONDS));
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> nested.get(1).get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void testCommandAfterShutdownFails() throws Exception {
+        engine.shutdown();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> engine.execute("s", s -> 1).get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testFailingCommandDoesNotStopTheShard() throws Exception {
+        SessionShard shard = new SessionShard(0, 4);
+        shard.start();
+        try {
+            assertTrue(shard.offer("s", session -> {
+                throw new IllegalStateException("listener failed");
+            }));
+            assertEquals(1, shard.submit("s", session -> 1).get(5, TimeUnit.SECONDS));
+        } finally {
+            shard.stop();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.quiz.server;
+
+import com.quiz.model.GameSnapshotCodec;
+import com.quiz.model.QuizGame;
+import com.quiz.model.QuizModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SpectatorChannel class.
+ */
+class SpectatorChannelTest {
+    private ExecutorService executor;
+    private QuizModel model;
+    private SpectatorChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        channel = new SpectatorChannel(model, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+        executor.shutdownNow();
+    }
+
+    private static QuizGame decode(ByteBuffer frame) {
+        byte[] data = new byte[frame.remaining()];
+        frame.get(data);
+        try {
+            return GameSnapshotCodec.decode(data);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void testSpectatorsReceiveLatestState() throws InterruptedException {
+        int spectators = 1000;
+        CountDownLatch caughtUp = new CountDownLatch(spectators);
+        for (int i = 0; i < spectators; i++) {
+            channel.subscribe(frame -> {
+                if ("Bob".equals(decode(frame).getCurrentPlayer().getName())) {
+                    caughtUp.countDown();
+                }
+            });
+        }
+        model.nextTurn();
+        assertTrue(caughtUp.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSlowSpectatorIsConflatedWithoutBlockingGame() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<QuizGame> last = new AtomicReference<>();
+        SpectatorChannel.Subscription slow = channel.subscribe(frame -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            last.set(decode(frame));
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            model.nextTurn();
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline
+                && (last.get() == null || last.get().getCurrentPlayerIndex() != 0)) {
+            Thread.sleep(10);
+        }
+        // 100 turn switches from Alice end with Alice again
+        assertEquals(0, last.get().getCurrentPlayerIndex());
+        // States are skipped either before encoding or in the spectator's mailbox
+        assertTrue(slow.getDeliveredFrames() < 100);
+        assertTrue(channel.getPublishedFrames() <= 100);
+    }
+
+    @Test
+    void testUnsubscribe() {
+        SpectatorChannel.Subscription subscription = channel.subscribe(frame -> { });
+        assertEquals(1, channel.getSubscriberCount());
+        subscription.unsubscribe();
+        assertEquals(0, channel.getSubscriberCount());
+    }
+}
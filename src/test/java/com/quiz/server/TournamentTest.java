@@ -0,0 +1,156 @@
+package com.quiz.server;
+
+import com.quiz.model.Player;
+import com.quiz.model.Question;
+import com.quiz.model.QuizGame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Tournament class.
+ */
+class TournamentTest {
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("P" + i, "p" + i));
+        }
+        return players;
+    }
+
+    /**
+     * The better seed (lower number) always wins.
+     */
+    private static QuizGame favouriteWins(Player first, Player second) {
+        QuizGame game = new QuizGame(first, second);
+        int firstSeed = Integer.parseInt(first.getName().substring(1));
+        int secondSeed = Integer.parseInt(second.getName().substring(1));
+        if (firstSeed < secondSeed) {
+            game.switchPlayer();
+        }
+        while (!game.isGameOver()) {
+            game.penalizeCurrentPlayer();
+        }
+        return game;
+    }
+
+    @Test
+    void testTopSeedWinsPowerOfTwoBracket() {
+        Tournament tournament = new Tournament(players(64), TournamentTest::favouriteWins, pool);
+        assertEquals("P0", tournament.run().getName());
+        assertEquals(6, tournament.getRounds().size());
+        assertEquals(32, tournament.getRounds().get(0).getMatches());
+        assertEquals(0, tournament.getRounds().get(0).getByes());
+    }
+
+    @Test
+    void testByesForUnevenField() {
+        Tournament tournament = new Tournament(players(11), TournamentTest::favouriteWins, pool);
+        assertEquals("P0", tournament.run().getName());
+        Tournament.RoundResult first = tournament.getRounds().get(0);
+        assertEquals(5, first.getByes());
+        assertEquals(3, first.getMatches());
+        assertEquals(8, first.getWinners().size());
+    }
+
+    @Test
+    void testRoundsRunConcurrently() {
+        Tournament tournament = new Tournament(players(16), (a, b) -> {
+            Thread.sleep(100);
+            return favouriteWins(a, b);
+        }, pool);
+        List<Tournament.RoundResult> reported = new ArrayList<>();
+        tournament.setRoundListener(reported::add);
+        tournament.run();
+
+        assertEquals(4, reported.size());
+        // 8 matches of 100ms on 8 workers take roughly one match, not eight
+        assertTrue(reported.get(0).getDurationNanos() < 500_000_000L);
+    }
+
+    @Test
+    void testMatchWithoutWinnerFails() {
+        Tournament tournament = new Tournament(players(4), (a, b) -> new QuizGame(a, b), pool);
+        assertThrows(Tournament.TournamentException.class, tournament::run);
+    }
+
+    @Test
+    void testEntrantsAreNotChanged() {
+        List<Player> entrants = players(8);
+        for (Player player : entrants) {
+            player.setScore(1);
+        }
+        Player champion = new Tournament(entrants, TournamentTest::favouriteWins, pool).run();
+        assertSame(entrants.get(0), champion);
+        for (Player player : entrants) {
+            assertEquals(1, player.getScore());
+        }
+    }
+
+    @Test
+    void testWinnerMustHavePlayedTheMatch() {
+        Tournament tournament = new Tournament(players(2),
+                (a, b) -> favouriteWins(new Player("P0", "p0"), new Player("P1", "p1")), pool);
+        assertThrows(Tournament.TournamentException.class, tournament::run);
+    }
+
+    @Test
+    void testFailedMatchCancelsTheRestOfTheRound() throws InterruptedException {
+        Tournament tournament = new Tournament(players(8), (a, b) -> {
+            if (a.getName().equals("P0")) {
+                throw new IllegalStateException("server down");
+            }
+            Thread.sleep(10_000);
+            return favouriteWins(a, b);
+        }, pool);
+
+        long start = System.nanoTime();
+        assertThrows(Tournament.TournamentException.class, tournament::run);
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        // Cancelled matches are interrupted or never start, so the workers are free again
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMatchesArePlayedOnSessionEngine() throws Exception {
+        Map<String, List<Question>> bank = new HashMap<>();
+        bank.put("Math", new ArrayList<>(Arrays.asList(
+                new Question("Math", "What is 2 + 2?", Arrays.asList("1", "2", "4", "5"), 2))));
+        SessionEngine engine = new SessionEngine(bank, 2, 64);
+        try {
+            List<Player> entrants = players(8);
+            Tournament tournament = new Tournament(entrants,
+                    new SessionMatchRunner(engine, new String[]{"Math"}, 0.5, 10_000), pool);
+            assertTrue(entrants.contains(tournament.run()));
+            assertEquals(3, tournament.getRounds().size());
+            assertTrue(engine.getSessionIds().get().isEmpty());
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
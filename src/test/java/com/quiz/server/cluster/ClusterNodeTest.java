@@ -0,0 +1,197 @@
+package com.quiz.server.cluster;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizGame;
+import com.quiz.server.SessionEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ClusterNode class, running several nodes on localhost.
+ */
+class ClusterNodeTest {
+    private static final int SESSIONS = 60;
+
+    private final List<SessionEngine> engines = new ArrayList<>();
+    private final List<ClusterNode> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (ClusterNode node : nodes) {
+            node.close();
+        }
+        for (SessionEngine engine : engines) {
+            engine.shutdown();
+        }
+    }
+
+    private ClusterNode startNode() throws IOException {
+        Map<String, List<Question>> bank = new HashMap<>();
+        bank.put("Math", new ArrayList<>(Arrays.asList(
+                new Question("Math", "What is 2 + 2?", Arrays.asList("1", "2", "4", "5"), 2))));
+        SessionEngine engine = new SessionEngine(bank, 2, 64);
+        ClusterNode node = new ClusterNode(0, engine);
+        node.start();
+        engines.add(engine);
+        nodes.add(node);
+        return node;
+    }
+
+    private static String[] names(int i) {
+        return new String[]{"A" + i, "B" + i};
+    }
+
+    @Test
+    void testRingSpreadsSessions() {
+        ConsistentHashRing ring = new ConsistentHashRing(ConsistentHashRing.DEFAULT_VIRTUAL_NODES)
+                .withNode("n1").withNode("n2").withNode("n3");
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.ownerOf("session-" + i), 1, Integer::sum);
+        }
+        for (int count : counts.values()) {
+            assertTrue(count > 7_000 && count < 13_000, "unbalanced: " + counts);
+        }
+
+        // Removing a node only moves the sessions it owned
+        ConsistentHashRing smaller = ring.withoutNode("n3");
+        for (int i = 0; i < 1_000; i++) {
+            String owner = ring.ownerOf("session-" + i);
+            if (!"n3".equals(owner)) {
+                assertEquals(owner, smaller.ownerOf("session-" + i));
+            }
+        }
+    }
+
+    @Test
+    void testCommandsAreForwardedAndGamesMigrate() throws Exception {
+        ClusterNode first = startNode();
+        ClusterNode second = startNode();
+        second.join(first.getNodeId());
+        assertEquals(2, first.getRing().getNodes().size());
+
+        for (int i = 0; i < SESSIONS; i++) {
+            first.createSession("game-" + i, names(i), names(i));
+            assertNotNull(second.serveQuestion("game-" + i, "Math"));
+            assertFalse(second.submitAnswer("game-" + i, 0));
+            first.nextTurn("game-" + i);
+        }
+
+        // A third node takes over part of the sessions
+        ClusterNode third = startNode();
+        third.join(second.getNodeId());
+        int ownedByThird = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            if (third.isLocal("game-" + i)) {
+                ownedByThird++;
+            }
+            QuizGame game = third.getSnapshot("game-" + i);
+            assertEquals(2, game.getPlayer1().getScore());
+            assertEquals("B" + i, game.getCurrentPlayer().getName());
+        }
+        assertTrue(ownedByThird > 0);
+
+        // The first node leaves and hands its sessions over
+        first.leave();
+        for (int i = 0; i < SESSIONS; i++) {
+            QuizGame game = second.getSnapshot("game-" + i);
+            assertEquals(2, game.getPlayer1().getScore());
+            assertNotNull(third.serveQuestion("game-" + i, "Math"));
+            assertTrue(third.submitAnswer("game-" + i, 2));
+        }
+    }
+
+    @Test
+    void testSessionsStayWhenTheNewOwnerCannotTakeThem() throws Exception {
+        ClusterNode first = startNode();
+        for (int i = 0; i < SESSIONS; i++) {
+            first.createSession("game-" + i, names(i), names(i));
+        }
+
+        // The joining node refuses every migrated game
+        ClusterNode second = startNode();
+        engines.get(1).shutdown();
+        second.join(first.getNodeId());
+
+        int movable = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            if (!first.isLocal("game-" + i)) {
+                movable++;
+            }
+            assertNotNull(first.serveQuestion("game-" + i, "Math"));
+            assertTrue(first.submitAnswer("game-" + i, 2));
+        }
+        assertTrue(movable > 0);
+        assertEquals(SESSIONS, engines.get(0).getSessionIds().get().size());
+
+        // The joined node knows where the pinned sessions are
+        for (int i = 0; i < SESSIONS; i++) {
+            assertNotNull(second.serveQuestion("game-" + i, "Math"));
+            assertTrue(second.submitAnswer("game-" + i, 2));
+        }
+    }
+
+    @Test
+    void testCommandsSucceedWhileSessionsMove() throws Exception {
+        ClusterNode first = startNode();
+        ClusterNode client = startNode();
+        client.join(first.getNodeId());
+        for (int i = 0; i < SESSIONS; i++) {
+            client.createSession("game-" + i, names(i), names(i));
+        }
+
+        AtomicBoolean joined = new AtomicBoolean();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger turns = new AtomicInteger();
+        Thread commands = new Thread(() -> {
+            try {
+                while (!joined.get()) {
+                    for (int i = 0; i < SESSIONS; i++) {
+                        client.nextTurn("game-" + i);
+                        turns.incrementAndGet();
+                    }
+                }
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        commands.start();
+        ClusterNode third = startNode();
+        third.join(first.getNodeId());
+        joined.set(true);
+        commands.join();
+
+        assertNull(failure.get());
+        assertTrue(turns.get() > 0);
+        for (int i = 0; i < SESSIONS; i++) {
+            assertEquals(2, third.getSnapshot("game-" + i).getPlayerCount());
+        }
+    }
+
+    @Test
+    void testQuestionWithoutCategoryCrossesTheWire() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ClusterProtocol.writeQuestion(new DataOutputStream(bytes),
+                new Question(null, "What is 2 + 2?", Arrays.asList("3", "4"), 1));
+        Question read = ClusterProtocol.readQuestion(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertNull(read.getCategory());
+        assertEquals("What is 2 + 2?", read.getText());
+        assertEquals(1, read.getCorrectOptionIndex());
+    }
+}
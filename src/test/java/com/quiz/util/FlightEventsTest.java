@@ -0,0 +1,87 @@
+package com.quiz.util;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizModel;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FlightEvents class.
+ */
+class FlightEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static void playOneGame() {
+        QuizModel model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        model.addQuestion("BWL", new Question("BWL", "Was ist Umsatz?",
+                Arrays.asList("Menge mal Preis", "Gewinn", "Kosten", "Kapital"), 0));
+        Question question = model.getRandomQuestion("BWL");
+        model.submitAnswer(question, 0);
+        for (int i = 0; i < 3; i++) {
+            model.submitAnswer(question, 1);
+        }
+    }
+
+    private List<RecordedEvent> record(Consumer<Recording> configure) throws Exception {
+        Path file = tempDir.resolve("quiz.jfr");
+        try (Recording recording = new Recording()) {
+            configure.accept(recording);
+            recording.start();
+            playOneGame();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.quiz."))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testGameLifecycleIsRecorded() throws Exception {
+        List<RecordedEvent> events = record(recording -> { });
+
+        assertEquals(1, count(events, "com.quiz.GameStarted"));
+        assertEquals(1, count(events, "com.quiz.QuestionServed"));
+        assertEquals(4, count(events, "com.quiz.AnswerSubmitted"));
+        assertEquals(1, count(events, "com.quiz.GameEnded"));
+        RecordedEvent answer = first(events, "com.quiz.AnswerSubmitted");
+        assertEquals("BWL", answer.getString("category"));
+        assertEquals("Alice", answer.getString("player"));
+        assertTrue(answer.getBoolean("correct"));
+        assertEquals("Bob", first(events, "com.quiz.GameEnded").getString("winner"));
+    }
+
+    @Test
+    void testDisabledEventsAreNotWritten() throws Exception {
+        List<RecordedEvent> events = record(recording -> {
+            recording.disable(FlightEvents.AnswerSubmitted.class);
+            recording.disable(FlightEvents.GameStarted.class);
+        });
+        assertEquals(0, count(events, "com.quiz.AnswerSubmitted"));
+        assertEquals(0, count(events, "com.quiz.GameStarted"));
+        assertEquals(1, count(events, "com.quiz.QuestionServed"));
+    }
+
+    private static RecordedEvent first(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name))
+                .findFirst().orElseThrow(AssertionError::new);
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+}
@@ -0,0 +1,115 @@
+package com.quiz.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testLargeValuesKeepRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {1_000, 123_456, 50_000_000, 7_000_000_000L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            histogram.record(value);
+        }
+        for (int i = 0; i < values.length; i++) {
+            long reported = histogram.getValueAtPercentile(100.0 * (i + 1) / values.length);
+            assertTrue(reported >= values[i], "reported " + reported + " for " + values[i]);
+            assertTrue(reported <= values[i] + values[i] / 60, "reported " + reported + " for " + values[i]);
+        }
+    }
+
+    @Test
+    void testBucketsCoverAllValues() {
+        long previous = -1;
+        for (int index = 0; index < 3712; index++) {
+            long highest = LatencyHistogram.highestValueAt(index);
+            assertTrue(highest > previous);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+            assertEquals(index, LatencyHistogram.indexOf(previous + 1));
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    void testExpectedIntervalAddsMissedMeasurements() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordWithExpectedInterval(100, 10);
+        assertEquals(10, histogram.getCount());
+        assertEquals(10, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+    }
+
+    @Test
+    void testStripesAddUpAcrossThreads() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            long offset = t * 1000L;
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    histogram.record(offset + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(8000, histogram.getMax());
+        assertEquals(4000.5, histogram.getMean(), 1e-9);
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 4000 && median <= 4000 + 4000 / 60, "median " + median);
+
+        LatencyHistogram copy = new LatencyHistogram(1);
+        copy.add(histogram);
+        assertEquals(8000, copy.getCount());
+        assertEquals(median, copy.getValueAtPercentile(50));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void testAddAndReset() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(5);
+        b.record(500);
+        b.record(-3);
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(0, a.getMin());
+        assertEquals(500, a.getMax());
+        assertTrue(a.summary(TimeUnit.NANOSECONDS).startsWith("count=3 "));
+
+        a.reset();
+        assertEquals(0, a.getCount());
+        assertEquals(0, a.getValueAtPercentile(99));
+        assertEquals(0, a.getMin());
+    }
+}
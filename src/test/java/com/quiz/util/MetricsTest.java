@@ -0,0 +1,91 @@
+package com.quiz.util;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuizModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Metrics class.
+ */
+class MetricsTest {
+    private QuizModel model;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.reset();
+        model = new QuizModel();
+        model.initializeGame("Alice", "alice", "Bob", "bob");
+        model.addQuestion("BWL", new Question("BWL", "Was ist Umsatz?",
+                Arrays.asList("Menge mal Preis", "Gewinn", "Kosten", "Kapital"), 0));
+    }
+
+    @Test
+    void testModelOperationsAreRecorded() {
+        model.addObserver(() -> { });
+        Question question = model.getRandomQuestion("BWL");
+        model.submitAnswer(question, 1);
+        model.submitAnswer(question, 1);
+        model.submitAnswer(question, 1);
+
+        assertEquals(1, Metrics.GAMES_STARTED.sum());
+        assertEquals(1, Metrics.GAMES_FINISHED.sum());
+        assertEquals(1, Metrics.QUESTIONS_SERVED.sum());
+        assertEquals(1, Metrics.QUESTION_SELECTION.getCount());
+        assertEquals(3, Metrics.ANSWER_SUBMISSION.getCount());
+        assertEquals(3, Metrics.OBSERVER_DISPATCH.getCount());
+
+        model.resetGame();
+        assertEquals(2, Metrics.GAMES_STARTED.sum());
+    }
+
+    @Test
+    void testEmptyCategoryServesNothing() {
+        assertNull(model.getRandomQuestion("Datenbanken"));
+        assertEquals(0, Metrics.QUESTIONS_SERVED.sum());
+    }
+
+    @Test
+    void testQuestionsDrawnAheadAreOnlyServedWhenShown() {
+        Question shown = model.drawQuestion("BWL");
+        model.drawQuestion("BWL");
+        model.questionServed(shown);
+
+        assertEquals(2, Metrics.QUESTIONS_DRAWN.sum());
+        assertEquals(2, Metrics.QUESTION_SELECTION.getCount());
+        assertEquals(1, Metrics.QUESTIONS_SERVED.sum());
+    }
+
+    @Test
+    void testDumpListsAllMetrics() {
+        model.getRandomQuestion("BWL");
+        String dump = Metrics.dump();
+        assertTrue(dump.contains("games.started 1"));
+        assertTrue(dump.contains("questions.served 1"));
+        for (String name : new String[]{"questionSelection", "answerSubmission", "save", "load", "observerDispatch"}) {
+            assertTrue(dump.contains("latency." + name + " count="), name);
+        }
+    }
+
+    @Test
+    void testMBeansExposeTheMetrics() throws Exception {
+        Metrics.registerMBeans();
+        Metrics.registerMBeans();
+        model.getRandomQuestion("BWL");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName counters = new ObjectName("com.quiz:type=Counters");
+        assertEquals(1L, server.getAttribute(counters, "QuestionsServed"));
+        assertEquals(1L, server.getAttribute(new ObjectName("com.quiz:type=Latency,name=questionSelection"),
+                "Count"));
+        String dump = (String) server.invoke(counters, "dump", new Object[0], new String[0]);
+        assertTrue(dump.contains("questions.served 1"));
+    }
+}
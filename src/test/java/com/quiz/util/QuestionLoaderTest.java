@@ -0,0 +1,51 @@
+package com.quiz.util;
+
+import com.quiz.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuestionLoader class.
+ */
+class QuestionLoaderTest {
+
+    @Test
+    void testLoadSampleQuestions() throws IOException {
+        Map<String, List<Question>> bank = QuestionLoader.loadDirectory(
+                Paths.get("src/main/resources/questions"), ".json");
+        assertFalse(bank.isEmpty());
+        Question first = bank.get("Geography").get(0);
+        assertEquals("What is the capital of France?", first.getText());
+        assertEquals("Paris", first.getOptions().get(first.getCorrectOptionIndex()));
+    }
+
+    @Test
+    void testSkipsIncompleteEntriesAndKeepsCategoryOrder() {
+        Map<String, List<Question>> bank = new LinkedHashMap<>();
+        QuestionLoader.load(new StringReader("[{\"question\":\"Q1\",\"options\":[\"a\",\"b\"],"
+                + "\"correctAnswerIndex\":1,\"category\":\"Zoo\"},{\"question\":\"Q2\",\"category\":\"Zoo\"},"
+                + "{\"question\":\"Q3\",\"options\":[\"c\"],\"category\":\"Art\"}]"), bank);
+        assertEquals(List.of("Zoo", "Art"), List.copyOf(bank.keySet()));
+        assertEquals(1, bank.get("Zoo").size());
+        assertEquals(1, bank.get("Zoo").get(0).getCorrectOptionIndex());
+    }
+
+    @Test
+    void testMissingDirectoryAndInvalidFile(@TempDir Path dir) throws IOException {
+        assertTrue(QuestionLoader.loadDirectory(dir.resolve("missing"), ".json").isEmpty());
+        Files.write(dir.resolve("broken.json"), "{not json".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> QuestionLoader.loadDirectory(dir, ".json"));
+    }
+}
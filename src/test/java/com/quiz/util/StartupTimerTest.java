@@ -0,0 +1,25 @@
+package com.quiz.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StartupTimer class.
+ */
+class StartupTimerTest {
+
+    @Test
+    void testReportListsPhasesInOrder() throws InterruptedException {
+        StartupTimer timer = new StartupTimer();
+        assertTrue(timer.recordSinceLaunch("JVM start to main") >= 0);
+        long start = timer.start();
+        Thread.sleep(20);
+        assertTrue(timer.record("Phase", start) >= 20);
+
+        String[] lines = timer.summary().split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("JVM start to main"));
+        assertTrue(lines[1].startsWith("Phase"));
+    }
+}
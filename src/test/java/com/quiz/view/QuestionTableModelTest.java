@@ -0,0 +1,175 @@
+package com.quiz.view;
+
+import com.quiz.model.Question;
+import com.quiz.model.QuestionStore;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the QuestionTableModel class.
+ */
+class QuestionTableModelTest {
+
+    /**
+     * Store generating its questions on demand, so a large bank needs no memory.
+     */
+    private static class GeneratedStore implements QuestionStore {
+        private final int size;
+        private final int rareEvery;
+        private final Map<Integer, Question> updated = new HashMap<>();
+        private final AtomicInteger loaded = new AtomicInteger();
+
+        GeneratedStore(int size) {
+            this(size, 0);
+        }
+
+        GeneratedStore(int size, int rareEvery) {
+            this.size = size;
+            this.rareEvery = rareEvery;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Question> load(int from, int count) {
+            List<Question> page = new ArrayList<>();
+            for (int id = from; id < Math.min(size, from + count); id++) {
+                page.add(updated.getOrDefault(id, new Question(id % 2 == 0 ? "BWL" : "Datenbanken",
+                        "Question number " + id + (rareEvery > 0 && id % rareEvery == 0 ? " rare" : ""),
+                        List.of("yes", "no"), 0)));
+            }
+            loaded.addAndGet(page.size());
+            return page;
+        }
+
+        @Override
+        public synchronized void update(int id, Question question) {
+            updated.put(id, question);
+        }
+    }
+
+    private static <T> T onEdt(java.util.concurrent.Callable<T> action) throws Exception {
+        Object[] result = new Object[1];
+        Exception[] error = new Exception[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result[0] = action.call();
+            } catch (Exception e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    private static void awaitOnEdt(java.util.concurrent.Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!onEdt(condition)) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testRowsAreLoadedLazilyInPages() throws Exception {
+        GeneratedStore store = new GeneratedStore(500_000);
+        QuestionTableModel model = onEdt(() -> new QuestionTableModel(store, 100, 4));
+
+        assertEquals(500_000, (int) onEdt(model::getRowCount));
+        assertEquals(0, store.loaded.get());
+        assertEquals(QuestionTableModel.LOADING, onEdt(() -> model.getValueAt(250_123, 2)));
+        awaitOnEdt(() -> !QuestionTableModel.LOADING.equals(model.getValueAt(250_123, 2)));
+        assertEquals("Question number 250123", onEdt(() -> model.getValueAt(250_123, 2)));
+        assertEquals(100, store.loaded.get());
+    }
+
+    @Test
+    void testMemoryStaysBoundedWhileScrolling() throws Exception {
+        GeneratedStore store = new GeneratedStore(500_000);
+        QuestionTableModel model = onEdt(() -> new QuestionTableModel(store, 100, 4));
+        for (int row = 0; row < 500_000; row += 50_000) {
+            int visible = row;
+            onEdt(() -> model.getValueAt(visible, 2));
+            awaitOnEdt(() -> model.getQuestion(visible) != null);
+        }
+        assertEquals(10, (int) onEdt(model::getPageLoads));
+        assertTrue(onEdt(model::getCachedPageCount) <= 4);
+    }
+
+    @Test
+    void testFilterAndEdit() throws Exception {
+        GeneratedStore store = new GeneratedStore(1000);
+        QuestionTableModel model = onEdt(() -> new QuestionTableModel(store, 100, 4));
+        onEdt(() -> {
+            model.filter("number 99");
+            return null;
+        });
+        // Matches 99 and, by prefix, 990-999
+        awaitOnEdt(() -> model.getRowCount() == 11);
+        assertEquals(99, (int) onEdt(() -> model.getQuestionId(0)));
+
+        awaitOnEdt(() -> model.getQuestion(0) != null);
+        assertTrue(onEdt(() -> model.isCellEditable(0, 2)));
+        onEdt(() -> {
+            model.setValueAt("Renamed", 0, 2);
+            return null;
+        });
+        assertEquals("Renamed", store.load(99, 1).get(0).getText());
+        assertEquals("Renamed", onEdt(() -> model.getValueAt(0, 2)));
+
+        onEdt(() -> {
+            model.filter("renamed");
+            return null;
+        });
+        awaitOnEdt(() -> model.getRowCount() == 1);
+        onEdt(() -> {
+            model.filter("");
+            return null;
+        });
+        assertEquals(1000, (int) onEdt(model::getRowCount));
+    }
+
+    @Test
+    void testScatteredMatchesStayLoaded() throws Exception {
+        GeneratedStore store = new GeneratedStore(20_000, 200);
+        QuestionTableModel model = onEdt(() -> new QuestionTableModel(store, 100, 4));
+        onEdt(() -> {
+            model.filter("rare");
+            return null;
+        });
+        awaitOnEdt(() -> model.getRowCount() == 100);
+
+        // The 30 visible rows come from 30 pages, more than the 4 kept
+        java.util.concurrent.Callable<Boolean> paint = () -> {
+            boolean loaded = true;
+            for (int row = 0; row < 30; row++) {
+                loaded &= !QuestionTableModel.LOADING.equals(model.getValueAt(row, 2));
+            }
+            return loaded;
+        };
+        awaitOnEdt(paint);
+        int loads = onEdt(model::getPageLoads);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(onEdt(paint));
+            Thread.sleep(5);
+        }
+        assertEquals(loads, (int) onEdt(model::getPageLoads));
+        assertEquals("Question number 200 rare", onEdt(() -> model.getValueAt(1, 2)));
+        assertTrue(onEdt(model::getCachedPageCount) <= 4);
+    }
+}
@@ -0,0 +1,60 @@
+package com.quiz.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TextLayoutCache class.
+ */
+class TextLayoutCacheTest {
+    private static final Font FONT = new Font(Font.DIALOG, Font.PLAIN, 14);
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+    private static final String LONG_TEXT =
+            "Welche Schicht des OSI-Modells ist fuer die Wegewahl zwischen verschiedenen Netzen zustaendig?";
+
+    @Test
+    void testSameTextAndWidthIsMeasuredOnce() {
+        TextLayoutCache cache = new TextLayoutCache(8);
+        TextLayoutCache.WrappedText first = cache.get(LONG_TEXT, FONT, FRC, 300);
+        TextLayoutCache.WrappedText second = cache.get(new String(LONG_TEXT), FONT, FRC, 300);
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testNarrowerWidthWrapsIntoMoreLines() {
+        TextLayoutCache cache = new TextLayoutCache(8);
+        TextLayoutCache.WrappedText wide = cache.get(LONG_TEXT, FONT, FRC, 2000);
+        TextLayoutCache.WrappedText narrow = cache.get(LONG_TEXT, FONT, FRC, 150);
+        assertEquals(1, wide.getLineCount());
+        assertTrue(narrow.getLineCount() > 1);
+        assertTrue(narrow.getHeight() > wide.getHeight());
+        assertTrue(narrow.getWidth() <= 150);
+    }
+
+    @Test
+    void testLineBreaksStartParagraphs() {
+        TextLayoutCache cache = new TextLayoutCache(8);
+        assertEquals(3, cache.get("a\n\nb", FONT, FRC, 500).getLineCount());
+        assertEquals(0, cache.get("", FONT, FRC, 500).getLineCount());
+        assertEquals(0, cache.get(null, FONT, FRC, 500).getHeight());
+    }
+
+    @Test
+    void testLeastRecentlyUsedLayoutIsEvicted() {
+        TextLayoutCache cache = new TextLayoutCache(2);
+        TextLayoutCache.WrappedText a = cache.get("a", FONT, FRC, 100);
+        cache.get("b", FONT, FRC, 100);
+        cache.get("a", FONT, FRC, 100);
+        cache.get("c", FONT, FRC, 100);
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get("a", FONT, FRC, 100));
+        cache.get("b", FONT, FRC, 100);
+        assertEquals(4, cache.getMisses());
+    }
+}